@@ -0,0 +1,121 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Jacob Lubecki
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jlubecki.soundcloud.webapi.android;
+
+import com.jlubecki.soundcloud.webapi.android.call.FanOut;
+import com.jlubecki.soundcloud.webapi.android.call.Futures;
+import com.jlubecki.soundcloud.webapi.android.models.Track;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import okhttp3.mockwebserver.MockWebServer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the ways of making the same call against a local server: a {@link retrofit2.Call}, the
+ * blocking service and the future service, one call per thread and as a fan-out of
+ * {@link #BATCH} calls from a single thread.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class CallBenchmark {
+
+  static final int BATCH = 16;
+  static final int THREADS = 8;
+
+  private MockWebServer server;
+  private SoundCloudService service;
+  private SoundCloudBlockingService blocking;
+  private SoundCloudAsyncService async;
+  private List<String> ids;
+
+  @Setup public void setUp() throws IOException {
+    server = FixtureServer.start();
+
+    SoundCloudAPI api = FixtureServer.api(server)
+        .setMaxRequests(BATCH * THREADS)
+        .setMaxRequestsPerHost(BATCH * THREADS)
+        .build();
+
+    service = api.getService();
+    blocking = api.getBlockingService();
+    async = api.getAsyncService();
+
+    ids = new ArrayList<>();
+    for (int i = 0; i < BATCH; i++) {
+      ids.add(String.valueOf(143510403 + i));
+    }
+  }
+
+  @TearDown public void tearDown() throws IOException {
+    server.shutdown();
+  }
+
+  @Benchmark @Threads(THREADS) public Track call() throws IOException {
+    return service.getTrack("143510403").execute().body();
+  }
+
+  @Benchmark @Threads(THREADS) public Track blocking() throws IOException {
+    return blocking.getTrack("143510403");
+  }
+
+  @Benchmark @Threads(THREADS) public Track async() {
+    return async.getTrack("143510403").join();
+  }
+
+  @Benchmark public List<Track> blockingFanOut() throws IOException {
+    return FanOut.map(ids, BATCH, new FanOut.Task<String, Track>() {
+      @Override public Track run(String id) throws IOException {
+        return blocking.getTrack(id);
+      }
+    });
+  }
+
+  @Benchmark public List<Track> asyncFanOut() {
+    List<CompletableFuture<Track>> futures = new ArrayList<>(BATCH);
+    for (String id : ids) {
+      futures.add(async.getTrack(id));
+    }
+
+    return Futures.allOf(futures).join();
+  }
+}
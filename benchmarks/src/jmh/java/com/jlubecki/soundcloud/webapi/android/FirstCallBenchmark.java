@@ -0,0 +1,93 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Jacob Lubecki
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jlubecki.soundcloud.webapi.android;
+
+import com.jlubecki.soundcloud.webapi.android.models.Track;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import okhttp3.ConnectionPool;
+import okhttp3.mockwebserver.MockWebServer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Latency of the first call of a new instance, with and without {@link SoundCloudAPI#prewarm()}.
+ * Every measurement gets a fresh connection pool. Against a local server this only saves the TCP
+ * connect; against the API it saves DNS and the TLS handshake as well.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@Fork(1)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 20)
+@Measurement(iterations = 100)
+public class FirstCallBenchmark {
+
+  @Param({"false", "true"})
+  public boolean prewarm;
+
+  private MockWebServer server;
+  private SoundCloudService service;
+
+  @Setup(Level.Trial) public void startServer() throws IOException {
+    server = FixtureServer.start();
+  }
+
+  @TearDown(Level.Trial) public void stopServer() throws IOException {
+    server.shutdown();
+  }
+
+  @Setup(Level.Iteration) public void setUp() throws InterruptedException {
+    ConnectionPool pool = new ConnectionPool();
+    SoundCloudAPI api = FixtureServer.api(server)
+        .setConnectionPool(pool)
+        .build();
+
+    service = api.getService();
+
+    if (prewarm) {
+      api.prewarm();
+
+      while (pool.idleConnectionCount() == 0) {
+        Thread.sleep(1);
+      }
+    }
+  }
+
+  @Benchmark public Track firstCall() throws IOException {
+    return service.getTrack("143510403").execute().body();
+  }
+}
@@ -0,0 +1,74 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Jacob Lubecki
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jlubecki.soundcloud.webapi.android;
+
+import com.google.gson.JsonParser;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+
+/**
+ * A local server that answers every request with the first track of the search page fixture, so
+ * call benchmarks measure the client rather than the payload.
+ */
+final class FixtureServer {
+
+  private FixtureServer() {
+  }
+
+  static MockWebServer start() throws IOException {
+    byte[] tracks = Fixtures.read(Fixtures.TRACKS);
+    final String track = new JsonParser()
+        .parse(new InputStreamReader(new ByteArrayInputStream(tracks), "UTF-8"))
+        .getAsJsonArray()
+        .get(0)
+        .toString();
+
+    MockWebServer server = new MockWebServer();
+    server.setDispatcher(new Dispatcher() {
+      @Override public MockResponse dispatch(RecordedRequest request) {
+        // Prewarming sends a HEAD request, which must not get a body.
+        if ("HEAD".equals(request.getMethod())) {
+          return new MockResponse();
+        }
+
+        return new MockResponse().setBody(track);
+      }
+    });
+
+    server.start();
+
+    return server;
+  }
+
+  static SoundCloudAPI.Builder api(MockWebServer server) {
+    return new SoundCloudAPI.Builder("a1b2c3d4e5f6a1b2c3d4e5f6a1b2c3d4")
+        .setBaseUrl(server.url("/").toString());
+  }
+}
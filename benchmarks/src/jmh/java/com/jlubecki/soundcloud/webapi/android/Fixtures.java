@@ -0,0 +1,70 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Jacob Lubecki
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jlubecki.soundcloud.webapi.android;
+
+import com.google.gson.Gson;
+import com.google.gson.stream.JsonReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import okio.Okio;
+
+/**
+ * Responses the benchmarks parse, in the shape the SoundCloud API returns them: a 200 track search
+ * page, a 200 user followers page and a playlist with 50 tracks.
+ */
+final class Fixtures {
+
+  static final String TRACKS = "tracks.json";
+  static final String USERS = "users.json";
+  static final String PLAYLIST = "playlist.json";
+
+  private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+  private Fixtures() {
+  }
+
+  static byte[] read(String name) throws IOException {
+    InputStream in = Fixtures.class.getResourceAsStream("/fixtures/" + name);
+    if (in == null) {
+      throw new IOException("Missing fixture " + name);
+    }
+
+    try {
+      return Okio.buffer(Okio.source(in)).readByteArray();
+    } finally {
+      in.close();
+    }
+  }
+
+  /**
+   * Reads the bytes through a character stream, like the converter reads a response body.
+   */
+  static JsonReader reader(Gson gson, byte[] json) {
+    return gson.newJsonReader(new InputStreamReader(new ByteArrayInputStream(json), UTF_8));
+  }
+}
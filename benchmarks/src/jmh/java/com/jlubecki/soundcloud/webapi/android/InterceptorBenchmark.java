@@ -0,0 +1,163 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Jacob Lubecki
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jlubecki.soundcloud.webapi.android;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import okhttp3.Call;
+import okhttp3.Connection;
+import okhttp3.Interceptor;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Runs the interceptor that signs every request, without a network behind it. A request built by
+ * the service needs its client ID and token added, while a {@code next_href} already carries the
+ * client ID and a scoped call already carries its token.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class InterceptorBenchmark {
+
+  private Interceptor interceptor;
+  private StubChain unsigned;
+  private StubChain nextPage;
+  private StubChain signed;
+
+  @Setup public void setUp() {
+    SoundCloudAPI api = new SoundCloudAPI.Builder("a1b2c3d4e5f6a1b2c3d4e5f6a1b2c3d4")
+        .setToken("1-138878-67635546-e2d5b6c7a8f9e0d1")
+        .build();
+
+    // Without other options the signing interceptor is the client's only one.
+    List<Interceptor> interceptors = api.getHttpClient().interceptors();
+    interceptor = interceptors.get(interceptors.size() - 1);
+
+    unsigned = new StubChain(new Request.Builder()
+        .url("https://api.soundcloud.com/tracks?q=night%20drive&limit=200")
+        .build());
+
+    nextPage = new StubChain(new Request.Builder()
+        .url("https://api.soundcloud.com/tracks?q=night%20drive&limit=200&linked_partitioning=1"
+            + "&client_id=a1b2c3d4e5f6a1b2c3d4e5f6a1b2c3d4&cursor=1460745219000")
+        .build());
+
+    signed = new StubChain(nextPage.request.newBuilder()
+        .header("Authorization", "OAuth 1-138878-67635546-e2d5b6c7a8f9e0d1")
+        .build());
+  }
+
+  @Benchmark public Request unsigned() throws IOException {
+    interceptor.intercept(unsigned);
+    return unsigned.proceeded;
+  }
+
+  @Benchmark public Request nextPage() throws IOException {
+    interceptor.intercept(nextPage);
+    return nextPage.proceeded;
+  }
+
+  @Benchmark public Request signed() throws IOException {
+    interceptor.intercept(signed);
+    return signed.proceeded;
+  }
+
+  /**
+   * Keeps the request it was asked to proceed with and answers with the same response every time,
+   * so only the interceptor's allocations are measured.
+   */
+  private static final class StubChain implements Interceptor.Chain {
+    final Request request;
+    final Response response;
+    Request proceeded;
+
+    StubChain(Request request) {
+      this.request = request;
+      this.response = new Response.Builder()
+          .request(request)
+          .protocol(Protocol.HTTP_1_1)
+          .code(200)
+          .message("OK")
+          .build();
+    }
+
+    @Override public Request request() {
+      return request;
+    }
+
+    @Override public Response proceed(Request request) {
+      proceeded = request;
+      return response;
+    }
+
+    @Override public Connection connection() {
+      return null;
+    }
+
+    @Override public Call call() {
+      return null;
+    }
+
+    @Override public int connectTimeoutMillis() {
+      return 0;
+    }
+
+    @Override public Interceptor.Chain withConnectTimeout(int timeout, TimeUnit unit) {
+      return this;
+    }
+
+    @Override public int readTimeoutMillis() {
+      return 0;
+    }
+
+    @Override public Interceptor.Chain withReadTimeout(int timeout, TimeUnit unit) {
+      return this;
+    }
+
+    @Override public int writeTimeoutMillis() {
+      return 0;
+    }
+
+    @Override public Interceptor.Chain withWriteTimeout(int timeout, TimeUnit unit) {
+      return this;
+    }
+  }
+}
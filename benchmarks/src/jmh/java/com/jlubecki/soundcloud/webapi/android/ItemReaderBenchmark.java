@@ -0,0 +1,122 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Jacob Lubecki
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jlubecki.soundcloud.webapi.android;
+
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+import com.jlubecki.soundcloud.webapi.android.json.ItemReader;
+import com.jlubecki.soundcloud.webapi.android.json.ItemReaderConverterFactory;
+import com.jlubecki.soundcloud.webapi.android.json.SoundCloudGson;
+import com.jlubecki.soundcloud.webapi.android.models.Track;
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import okhttp3.MediaType;
+import okhttp3.ResponseBody;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import retrofit2.Converter;
+import retrofit2.converter.gson.GsonConverterFactory;
+
+/**
+ * Compares reading a page of tracks item by item with parsing the whole list, through the same
+ * converters Retrofit uses. The first item benchmarks measure how long a caller waits before it
+ * can show something; the sum benchmarks read the whole page without keeping the items. Run with
+ * the gc profiler to compare the bytes allocated per page.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ItemReaderBenchmark {
+
+  private static final MediaType JSON = MediaType.parse("application/json");
+
+  private Converter<ResponseBody, List<Track>> listConverter;
+  private Converter<ResponseBody, ItemReader<Track>> readerConverter;
+
+  private byte[] tracks;
+
+  @SuppressWarnings("unchecked")
+  @Setup public void setUp() throws IOException {
+    Gson gson = SoundCloudGson.create();
+    Annotation[] annotations = new Annotation[0];
+
+    listConverter = (Converter<ResponseBody, List<Track>>) GsonConverterFactory.create(gson)
+        .responseBodyConverter(new TypeToken<List<Track>>() {}.getType(), annotations, null);
+    readerConverter = (Converter<ResponseBody, ItemReader<Track>>)
+        new ItemReaderConverterFactory(gson)
+            .responseBodyConverter(new TypeToken<ItemReader<Track>>() {}.getType(), annotations,
+                null);
+
+    tracks = Fixtures.read(Fixtures.TRACKS);
+  }
+
+  @Benchmark public Track firstItemFromList() throws IOException {
+    return listConverter.convert(ResponseBody.create(JSON, tracks)).get(0);
+  }
+
+  @Benchmark public Track firstItemFromReader() throws IOException {
+    ItemReader<Track> reader = readerConverter.convert(ResponseBody.create(JSON, tracks));
+
+    try {
+      return reader.next();
+    } finally {
+      reader.close();
+    }
+  }
+
+  @Benchmark public long sumFromList() throws IOException {
+    long sum = 0;
+
+    for (Track track : listConverter.convert(ResponseBody.create(JSON, tracks))) {
+      sum += track.title.length();
+    }
+
+    return sum;
+  }
+
+  @Benchmark public long sumFromReader() throws IOException {
+    ItemReader<Track> reader = readerConverter.convert(ResponseBody.create(JSON, tracks));
+    long sum = 0;
+
+    while (reader.hasNext()) {
+      sum += reader.next().title.length();
+    }
+
+    return sum;
+  }
+}
@@ -0,0 +1,115 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Jacob Lubecki
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jlubecki.soundcloud.webapi.android;
+
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+import com.jlubecki.soundcloud.webapi.android.json.SoundCloudGson;
+import com.jlubecki.soundcloud.webapi.android.models.Track;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Sorts and aggregates a page of tracks by their numeric fields, parsing the string fields the
+ * way callers had to before, and through the accessors that the adapters fill while decoding.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class NumericFieldBenchmark {
+
+  private static final Comparator<Track> BY_PARSED_STRING = new Comparator<Track>() {
+    @Override public int compare(Track a, Track b) {
+      return Long.compare(parse(a.playback_count), parse(b.playback_count));
+    }
+  };
+
+  private static final Comparator<Track> BY_ACCESSOR = new Comparator<Track>() {
+    @Override public int compare(Track a, Track b) {
+      return Long.compare(a.getPlaybackCount(), b.getPlaybackCount());
+    }
+  };
+
+  private List<Track> tracks;
+
+  @Setup public void setUp() throws IOException {
+    Gson gson = SoundCloudGson.create();
+    tracks = gson.getAdapter(new TypeToken<List<Track>>() {})
+        .read(Fixtures.reader(gson, Fixtures.read(Fixtures.TRACKS)));
+  }
+
+  private static long parse(String value) {
+    return value != null ? Long.parseLong(value) : -1;
+  }
+
+  @Benchmark public List<Track> sortByParsedString() {
+    List<Track> sorted = new ArrayList<>(tracks);
+    Collections.sort(sorted, BY_PARSED_STRING);
+    return sorted;
+  }
+
+  @Benchmark public List<Track> sortByAccessor() {
+    List<Track> sorted = new ArrayList<>(tracks);
+    Collections.sort(sorted, BY_ACCESSOR);
+    return sorted;
+  }
+
+  @Benchmark public long sumByParsedString() {
+    long total = 0;
+
+    for (Track track : tracks) {
+      total += parse(track.duration) + parse(track.favoritings_count);
+    }
+
+    return total;
+  }
+
+  @Benchmark public long sumByAccessor() {
+    long total = 0;
+
+    for (Track track : tracks) {
+      total += track.getDuration() + track.getFavoritingsCount();
+    }
+
+    return total;
+  }
+}
@@ -0,0 +1,91 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Jacob Lubecki
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jlubecki.soundcloud.webapi.android;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.reflect.TypeToken;
+import com.jlubecki.soundcloud.webapi.android.json.SoundCloudGson;
+import com.jlubecki.soundcloud.webapi.android.models.Playlist;
+import com.jlubecki.soundcloud.webapi.android.models.Track;
+import com.jlubecki.soundcloud.webapi.android.models.User;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Parses whole responses with the adapters the converter uses. Run with the gc profiler to see
+ * bytes allocated per page next to the throughput.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ParsingBenchmark {
+
+  private Gson gson;
+  private TypeAdapter<List<Track>> tracksAdapter;
+  private TypeAdapter<List<User>> usersAdapter;
+  private TypeAdapter<Playlist> playlistAdapter;
+
+  private byte[] tracks;
+  private byte[] users;
+  private byte[] playlist;
+
+  @Setup public void setUp() throws IOException {
+    gson = SoundCloudGson.create();
+    tracksAdapter = gson.getAdapter(new TypeToken<List<Track>>() {});
+    usersAdapter = gson.getAdapter(new TypeToken<List<User>>() {});
+    playlistAdapter = gson.getAdapter(Playlist.class);
+
+    tracks = Fixtures.read(Fixtures.TRACKS);
+    users = Fixtures.read(Fixtures.USERS);
+    playlist = Fixtures.read(Fixtures.PLAYLIST);
+  }
+
+  @Benchmark public List<Track> tracks() throws IOException {
+    return tracksAdapter.read(Fixtures.reader(gson, tracks));
+  }
+
+  @Benchmark public List<User> users() throws IOException {
+    return usersAdapter.read(Fixtures.reader(gson, users));
+  }
+
+  @Benchmark public Playlist playlist() throws IOException {
+    return playlistAdapter.read(Fixtures.reader(gson, playlist));
+  }
+}
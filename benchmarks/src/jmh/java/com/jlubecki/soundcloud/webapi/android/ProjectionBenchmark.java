@@ -0,0 +1,88 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Jacob Lubecki
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jlubecki.soundcloud.webapi.android;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.reflect.TypeToken;
+import com.jlubecki.soundcloud.webapi.android.json.Projection;
+import com.jlubecki.soundcloud.webapi.android.json.SoundCloudGson;
+import com.jlubecki.soundcloud.webapi.android.models.Track;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Decodes a 200 track search page in full and with the fields a track list shows. Run with the gc
+ * profiler to compare the bytes allocated per page.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ProjectionBenchmark {
+
+  private static final TypeToken<List<Track>> TRACKS = new TypeToken<List<Track>>() {};
+
+  private Gson fullGson;
+  private Gson projectedGson;
+  private TypeAdapter<List<Track>> fullAdapter;
+  private TypeAdapter<List<Track>> projectedAdapter;
+
+  private byte[] tracks;
+
+  @Setup public void setUp() throws IOException {
+    Projection projection = new Projection.Builder()
+        .include(Track.class, "id", "title", "stream_url", "artwork_url", "duration")
+        .build();
+
+    fullGson = SoundCloudGson.create();
+    projectedGson = SoundCloudGson.create(projection);
+    fullAdapter = fullGson.getAdapter(TRACKS);
+    projectedAdapter = projectedGson.getAdapter(TRACKS);
+
+    tracks = Fixtures.read(Fixtures.TRACKS);
+  }
+
+  @Benchmark public List<Track> full() throws IOException {
+    return fullAdapter.read(Fixtures.reader(fullGson, tracks));
+  }
+
+  @Benchmark public List<Track> projected() throws IOException {
+    return projectedAdapter.read(Fixtures.reader(projectedGson, tracks));
+  }
+}
@@ -0,0 +1,114 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Jacob Lubecki
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jlubecki.soundcloud.webapi.android;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.reflect.TypeToken;
+import com.jlubecki.soundcloud.webapi.android.models.Track;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Decodes pages of tracks into a cache and reports the heap they retain as the
+ * {@code retainedBytes} counter. The generated adapters pool the fields with few distinct values,
+ * while reflection gives every track its own copies. The score itself includes the collections run
+ * to measure the heap, so only the counter is of interest. Counters are summed over measurement
+ * iterations, so there is one, and each invocation overwrites the last.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 1, time = 2)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class RetainedHeapBenchmark {
+
+  private static final int PAGES = 20;
+
+  @Param public Binding binding;
+
+  private Gson gson;
+  private TypeAdapter<List<Track>> adapter;
+  private byte[] tracks;
+
+  /**
+   * Heap retained by the pages cached in the last invocation.
+   */
+  @State(Scope.Thread)
+  @AuxCounters(AuxCounters.Type.EVENTS)
+  public static class Retained {
+    public long retainedBytes;
+
+    @Setup(Level.Iteration) public void reset() {
+      retainedBytes = 0;
+    }
+  }
+
+  @Setup public void setUp() throws IOException {
+    gson = binding.create();
+    adapter = gson.getAdapter(new TypeToken<List<Track>>() {});
+    tracks = Fixtures.read(Fixtures.TRACKS);
+  }
+
+  @Benchmark public List<List<Track>> cachePages(Retained retained) throws IOException {
+    long before = usedHeap();
+
+    List<List<Track>> cache = new ArrayList<>(PAGES);
+    for (int i = 0; i < PAGES; i++) {
+      cache.add(adapter.read(Fixtures.reader(gson, tracks)));
+    }
+
+    retained.retainedBytes = usedHeap() - before;
+    return cache;
+  }
+
+  private static long usedHeap() {
+    MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+
+    for (int i = 0; i < 3; i++) {
+      System.gc();
+    }
+
+    return memory.getHeapMemoryUsage().getUsed();
+  }
+}
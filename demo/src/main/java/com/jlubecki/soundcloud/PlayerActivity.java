@@ -45,9 +45,6 @@ import com.jlubecki.soundcloud.webapi.android.query.TrackQuery;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
-import retrofit2.Call;
-import retrofit2.Callback;
-import retrofit2.Response;
 
 import static com.jlubecki.soundcloud.Constants.AUTH_TOKEN_KEY;
 import static com.jlubecki.soundcloud.Constants.CLIENT_ID;
@@ -60,8 +57,8 @@ public class PlayerActivity extends AppCompatActivity {
 
     private static final String TAG = "PlayerActivity";
 
+    private SoundCloudAPI api;
     private SoundCloudService soundcloud;
-    private List<Track> tracks;
 
     private String searchString;
     private final ArrayList<String> trackTitles = new ArrayList<>();
@@ -82,7 +79,7 @@ public class PlayerActivity extends AppCompatActivity {
         final String token = preferences.getString(AUTH_TOKEN_KEY, null);
 
         if (token != null) {
-            SoundCloudAPI api = new SoundCloudAPI(CLIENT_ID);
+            api = new SoundCloudAPI(CLIENT_ID);
             api.setToken(token);
 
             soundcloud = api.getService();
@@ -132,16 +129,18 @@ public class PlayerActivity extends AppCompatActivity {
         });
     }
 
-    private void createSongList() {
-        trackTitles.clear();
-        trackUrls.clear();
+    /**
+     * Picks the streamable tracks out of a search result. Runs on a parsing thread.
+     */
+    private static SongList createSongList(List<Track> tracks) {
+        SongList songs = new SongList();
 
         if(tracks != null) {
             for (Track track : tracks) {
                 if (track.title != null && !track.title.isEmpty()) {
                     if (track.is_streamable) {
-                        trackTitles.add(track.title);
-                        trackUrls.add(track.stream_url);
+                        songs.titles.add(track.title);
+                        songs.urls.add(track.stream_url);
                     } else {
                         Log.w(TAG, "Error getting track title.", new IllegalStateException());
                     }
@@ -151,6 +150,15 @@ public class PlayerActivity extends AppCompatActivity {
             }
         }
 
+        return songs;
+    }
+
+    private void showSongList(SongList songs) {
+        trackTitles.clear();
+        trackTitles.addAll(songs.titles);
+        trackUrls.clear();
+        trackUrls.addAll(songs.urls);
+
         songsListAdapter.notifyDataSetChanged();
     }
 
@@ -206,21 +214,29 @@ public class PlayerActivity extends AppCompatActivity {
                 .setQuery(searchString)
                 .build();
 
-        soundcloud.searchTracks(query.createMap()).enqueue(new Callback<List<Track>>() {
-            @Override
-            public void onResponse(Call<List<Track>> call, Response<List<Track>> response) {
-                tracks = response.body();
-
-                Log.i(TAG, response.raw().toString());
+        // Parsing and filtering happen on a worker thread. Only the finished list reaches the UI.
+        api.enqueue(soundcloud.searchTracks(query.createMap()),
+                new SoundCloudAPI.Mapper<List<Track>, SongList>() {
+                    @Override
+                    public SongList map(List<Track> tracks) {
+                        return createSongList(tracks);
+                    }
+                }, new SoundCloudAPI.ResultCallback<SongList>() {
+                    @Override
+                    public void onResult(SongList songs) {
+                        showSongList(songs);
+                    }
 
-                createSongList();
-            }
+                    @Override
+                    public void onFailure(Throwable t) {
+                        Log.e(TAG, "Failed to load tracks.", t);
+                    }
+                });
+    }
 
-            @Override
-            public void onFailure(Call<List<Track>> call, Throwable t) {
-                Log.e(TAG, "Failed to load tracks.", t);
-            }
-        });
+    private static class SongList {
+        final ArrayList<String> titles = new ArrayList<>();
+        final ArrayList<String> urls = new ArrayList<>();
     }
 
     @Override
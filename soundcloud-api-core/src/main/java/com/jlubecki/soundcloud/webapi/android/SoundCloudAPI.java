@@ -0,0 +1,1106 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015 Jacob Lubecki
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jlubecki.soundcloud.webapi.android;
+
+import com.google.gson.Gson;
+import java.io.IOException;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import com.jlubecki.soundcloud.webapi.android.cache.EntityCache;
+import com.jlubecki.soundcloud.webapi.android.cache.EntityCacheCallAdapterFactory;
+import com.jlubecki.soundcloud.webapi.android.cache.HttpResponseCache;
+import com.jlubecki.soundcloud.webapi.android.call.BlockingCallAdapterFactory;
+import com.jlubecki.soundcloud.webapi.android.call.CircuitBreakerCallAdapterFactory;
+import com.jlubecki.soundcloud.webapi.android.call.CoalescingCallAdapterFactory;
+import com.jlubecki.soundcloud.webapi.android.call.CompletableFutureCallAdapterFactory;
+import com.jlubecki.soundcloud.webapi.android.call.PublisherCallAdapterFactory;
+import com.jlubecki.soundcloud.webapi.android.call.RetryCallAdapterFactory;
+import com.jlubecki.soundcloud.webapi.android.http.CredentialScope;
+import com.jlubecki.soundcloud.webapi.android.http.Prewarmer;
+import com.jlubecki.soundcloud.webapi.android.http.RateLimiter;
+import com.jlubecki.soundcloud.webapi.android.http.RequestSigner;
+import com.jlubecki.soundcloud.webapi.android.http.SharedClient;
+import com.jlubecki.soundcloud.webapi.android.json.ItemReaderConverterFactory;
+import com.jlubecki.soundcloud.webapi.android.json.Projection;
+import com.jlubecki.soundcloud.webapi.android.json.SoundCloudGson;
+import com.jlubecki.soundcloud.webapi.android.metrics.MetricsEventListener;
+import com.jlubecki.soundcloud.webapi.android.metrics.MetricsInterceptor;
+import com.jlubecki.soundcloud.webapi.android.metrics.MetricsRegistry;
+import com.jlubecki.soundcloud.webapi.android.metrics.ParseTimeConverterFactory;
+import com.jlubecki.soundcloud.webapi.android.metrics.TimingExecutor;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.HttpUrl;
+import okhttp3.Interceptor;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import retrofit2.Call;
+import retrofit2.Converter;
+import retrofit2.HttpException;
+import retrofit2.Retrofit;
+import retrofit2.converter.gson.GsonConverterFactory;
+
+/**
+ * Class which builds a {@link SoundCloudService} to access the SoundCloud API. To make
+ * authenticated requests, obtain an access token, for example with the
+ * {@code ChromeTabsSoundCloudAuthenticator} of the Android module, and then call
+ * {@link #setToken(String)}.
+ *
+ * Every instance shares one connection pool and dispatcher unless a {@link Builder} is used to
+ * provide different ones, so TLS sessions and sockets are reused between instances.
+ *
+ * Constructing an instance is cheap. Gson, the client and the Retrofit adapter are built the first
+ * time they're needed, or in the background by {@link #prepare(Executor)}.
+ *
+ * Instances are thread safe. A token set with {@link #setToken(String)} is used by every call
+ * created after it returns, on any thread. Servers that make calls on behalf of many users should
+ * share one instance and use {@link #getService(String)} instead, which binds a token to each call
+ * without changing the instance.
+ */
+public class SoundCloudAPI {
+
+  public static final String SOUNDCLOUD_API_ENDPOINT = "https://api.soundcloud.com/";
+
+  private final RequestSigner signer;
+  private volatile String authorization;
+
+  private Builder builder; // Guarded by this. Released once the stack is built.
+  private volatile Stack stack;
+
+  /**
+   * Creates a {@link SoundCloudService}. Serializes with JSON.
+   *
+   * @param clientId Client ID provided by SoundCloud.
+   */
+  public SoundCloudAPI(String clientId) {
+    this(new Builder(clientId));
+  }
+
+  /**
+   * Keeps the configuration only. Gson, the client and the Retrofit adapter are built on first
+   * use, so constructing an instance on the main thread is cheap.
+   */
+  private SoundCloudAPI(Builder builder) {
+    this.signer = new RequestSigner(builder.clientId);
+    this.authorization = RequestSigner.authorization(builder.token);
+    this.builder = builder;
+  }
+
+  private Stack stack() {
+    Stack result = stack;
+
+    if (result == null) {
+      synchronized (this) {
+        result = stack;
+
+        if (result == null) {
+          stack = result = new Stack(builder);
+          builder = null;
+        }
+      }
+    }
+
+    return result;
+  }
+
+  /**
+   * Builds the stack in the background, so that it is ready by the time it's first used.
+   *
+   * @param executor Executor to build the stack on.
+   * @return A future that completes with the same service as {@link #getService()}.
+   */
+  public Future<SoundCloudService> prepare(Executor executor) {
+    FutureTask<SoundCloudService> task = new FutureTask<>(new Callable<SoundCloudService>() {
+      @Override public SoundCloudService call() {
+        return getService();
+      }
+    });
+
+    executor.execute(task);
+
+    return task;
+  }
+
+  /**
+   * Transforms the body of a successful response, for example into view models.
+   */
+  public interface Mapper<T, R> {
+    R map(T body) throws Exception;
+  }
+
+  /**
+   * Receives the result of {@link #enqueue(Call, Mapper, ResultCallback)}.
+   */
+  public interface ResultCallback<R> {
+    void onResult(R result);
+
+    /**
+     * @param t The I/O error, an {@link HttpException} for an unsuccessful response, or the
+     *          exception thrown by the {@link Mapper}.
+     */
+    void onFailure(Throwable t);
+  }
+
+  /**
+   * Runs a call, parses its response and maps the body on the parsing executor, and delivers only
+   * the mapped result on the callback executor. Compared to mapping in a
+   * {@link retrofit2.Callback}, this keeps both parsing and mapping off the main thread.
+   *
+   * The call runs synchronously on a parsing thread, which is therefore busy until the response
+   * has been read. Canceling the call delivers a failure as usual.
+   *
+   * @param call A call created by this instance's service.
+   * @param mapper Transforms the parsed body.
+   * @param callback Receives the mapped result.
+   */
+  public <T, R> void enqueue(final Call<T> call, final Mapper<? super T, ? extends R> mapper,
+      final ResultCallback<? super R> callback) {
+
+    final Stack current = stack();
+
+    current.parsingExecutor.execute(new Runnable() {
+      @Override public void run() {
+        R result = null;
+        Throwable failure = null;
+
+        try {
+          retrofit2.Response<T> response = call.execute();
+
+          if (response.isSuccessful()) {
+            result = mapper.map(response.body());
+          } else {
+            failure = new HttpException(response);
+          }
+        } catch (Exception e) {
+          failure = e;
+        }
+
+        final R deliveredResult = result;
+        final Throwable deliveredFailure = failure;
+
+        Runnable deliver = new Runnable() {
+          @Override public void run() {
+            if (deliveredFailure != null) {
+              callback.onFailure(deliveredFailure);
+            } else {
+              callback.onResult(deliveredResult);
+            }
+          }
+        };
+
+        if (current.callbackExecutor != null) {
+          current.callbackExecutor.execute(deliver);
+        } else {
+          deliver.run();
+        }
+      }
+    });
+  }
+
+  /**
+   * Gives access to a {@link SoundCloudService}.
+   *
+   * @return The {@link SoundCloudService} created by this {@link SoundCloudAPI}.
+   */
+  public SoundCloudService getService() {
+    return stack().service;
+  }
+
+  /**
+   * Gives access to a {@link SoundCloudService} whose calls are made on behalf of the user that the
+   * token belongs to, regardless of the token set with {@link #setToken(String)}. Views share this
+   * instance's Retrofit adapter, client and connections and hold nothing but the token, so they
+   * can be created per request.
+   *
+   * @param token The OAuth token of the user to make calls for.
+   * @return A {@link SoundCloudService} bound to the token.
+   */
+  public SoundCloudService getService(String token) {
+    return scope(SoundCloudService.class, token);
+  }
+
+  /**
+   * Gives access to a {@link SoundCloudService} that only decodes the fields named by the
+   * projection, skipping the values of all others. Services are cheap to get once a projection has
+   * been used, so they can be fetched per call as well as kept. Calls go through the same client,
+   * limits and policies as those of {@link #getService()}, but never through the entity cache or
+   * coalesced requests, since their models are incomplete.
+   *
+   * @param projection The fields to decode.
+   * @return A {@link SoundCloudService} whose models only have the projected fields set.
+   */
+  public SoundCloudService getService(Projection projection) {
+    return stack().projectedAdapter(projection).create(SoundCloudService.class);
+  }
+
+  /**
+   * Gives access to a {@link SoundCloudAsyncService}, whose methods return a
+   * {@link java.util.concurrent.CompletableFuture} and start their call right away. Calls go
+   * through the same caches, limits and policies as those of {@link #getService()}. Requires
+   * Android API 24 or later.
+   *
+   * @return The {@link SoundCloudAsyncService} created by this {@link SoundCloudAPI}.
+   */
+  public SoundCloudAsyncService getAsyncService() {
+    return stack().asyncService();
+  }
+
+  /**
+   * Gives access to a {@link SoundCloudAsyncService} whose calls are made on behalf of the user
+   * that the token belongs to, like {@link #getService(String)}.
+   *
+   * @param token The OAuth token of the user to make calls for.
+   * @return A {@link SoundCloudAsyncService} bound to the token.
+   */
+  public SoundCloudAsyncService getAsyncService(String token) {
+    return scope(SoundCloudAsyncService.class, token);
+  }
+
+  /**
+   * Gives access to a {@link SoundCloudStreamService}, whose methods return a
+   * {@link org.reactivestreams.Publisher} that walks every page of a list. Items are parsed and
+   * delivered on the parsing executor as the subscriber requests them.
+   *
+   * @return The {@link SoundCloudStreamService} created by this {@link SoundCloudAPI}.
+   */
+  public SoundCloudStreamService getStreamService() {
+    return stack().streamService();
+  }
+
+  /**
+   * Gives access to a {@link SoundCloudStreamService} whose calls are made on behalf of the user
+   * that the token belongs to, like {@link #getService(String)}.
+   *
+   * @param token The OAuth token of the user to make calls for.
+   * @return A {@link SoundCloudStreamService} bound to the token.
+   */
+  public SoundCloudStreamService getStreamService(String token) {
+    return scope(SoundCloudStreamService.class, token);
+  }
+
+  /**
+   * Gives access to a {@link SoundCloudReaderService}, whose methods return a call for an
+   * {@link com.jlubecki.soundcloud.webapi.android.json.ItemReader} that parses the items of a page
+   * one at a time as they are read from the network. Callbacks of enqueued calls run on a
+   * background thread, so the reader can be read from them.
+   *
+   * @return The {@link SoundCloudReaderService} created by this {@link SoundCloudAPI}.
+   */
+  public SoundCloudReaderService getReaderService() {
+    return stack().readerService();
+  }
+
+  /**
+   * Gives access to a {@link SoundCloudReaderService} whose calls are made on behalf of the user
+   * that the token belongs to, like {@link #getService(String)}.
+   *
+   * @param token The OAuth token of the user to make calls for.
+   * @return A {@link SoundCloudReaderService} bound to the token.
+   */
+  public SoundCloudReaderService getReaderService(String token) {
+    return scope(SoundCloudReaderService.class, token);
+  }
+
+  /**
+   * Gives access to a {@link SoundCloudReaderService} that only decodes the fields named by the
+   * projection, like {@link #getService(Projection)}.
+   *
+   * @param projection The fields to decode.
+   * @return A {@link SoundCloudReaderService} whose models only have the projected fields set.
+   */
+  public SoundCloudReaderService getReaderService(Projection projection) {
+    return stack().projectedAdapter(projection).create(SoundCloudReaderService.class);
+  }
+
+  /**
+   * Gives access to a {@link SoundCloudBlockingService}, whose methods block until the response
+   * has been parsed and return its body. The number of blocking calls in flight at once is limited
+   * by {@link Builder#setBlockingCalls(BlockingCallAdapterFactory)}. Meant for servers, never call
+   * it from the main thread.
+   *
+   * @return The {@link SoundCloudBlockingService} created by this {@link SoundCloudAPI}.
+   */
+  public SoundCloudBlockingService getBlockingService() {
+    return stack().blockingService();
+  }
+
+  /**
+   * Gives access to a {@link SoundCloudBlockingService} whose calls are made on behalf of the user
+   * that the token belongs to, like {@link #getService(String)}.
+   *
+   * @param token The OAuth token of the user to make calls for.
+   * @return A {@link SoundCloudBlockingService} bound to the token.
+   */
+  public SoundCloudBlockingService getBlockingService(String token) {
+    return scope(SoundCloudBlockingService.class, token);
+  }
+
+  private <S> S scope(final Class<S> type, String token) {
+    if (token == null) {
+      throw new NullPointerException("token == null");
+    }
+
+    final String scopedAuthorization = RequestSigner.authorization(token);
+
+    return type.cast(Proxy.newProxyInstance(type.getClassLoader(),
+        new Class<?>[] { type }, new InvocationHandler() {
+          @Override public Object invoke(Object proxy, Method method, Object[] args)
+              throws Throwable {
+
+            if (method.getDeclaringClass() == Object.class) {
+              return method.invoke(this, args);
+            }
+
+            Object target = stack().service(type);
+
+            String previous = CredentialScope.enter(scopedAuthorization);
+            try {
+              return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+              throw e.getCause();
+            } finally {
+              CredentialScope.exit(previous);
+            }
+          }
+        }));
+  }
+
+  /**
+   * Gives access to the {@link OkHttpClient} used by this {@link SoundCloudAPI}. The client
+   * includes the interceptor that adds this instance's credentials to every request, so it should
+   * not be passed to {@link Builder#setClient(OkHttpClient)}. It can be passed to
+   * {@code SoundCloudAuthenticator.setHttpClient(OkHttpClient)} on Android, which shares only its
+   * connections.
+   *
+   * @return The client that executes requests for the {@link SoundCloudService}.
+   */
+  public OkHttpClient getHttpClient() {
+    return stack().client;
+  }
+
+  /**
+   * Resolves the API host and opens a connection to it in the background, so the first call
+   * doesn't wait for DNS, TCP and TLS. Safe to call from the main thread, since it only builds a
+   * client and leaves Gson and the Retrofit adapter for the first call. Calls made before the
+   * connection is ready simply open their own.
+   *
+   * The connection is kept in this instance's pool, which a {@code SoundCloudAuthenticator} shares
+   * unless either of them was given a different client.
+   */
+  public void prewarm() {
+    Stack current;
+    Builder pending;
+
+    synchronized (this) {
+      pending = builder;
+      current = stack;
+    }
+
+    if (current != null) {
+      Prewarmer.prewarm(current.client, current.baseUrl);
+    } else {
+      // Only the pool matters here, so none of the stack's dispatcher or interceptors is built.
+      OkHttpClient base = pending.client != null ? pending.client : SharedClient.get();
+
+      if (pending.connectionPool != null) {
+        base = base.newBuilder().connectionPool(pending.connectionPool).build();
+      }
+
+      Prewarmer.prewarm(base, HttpUrl.parse(pending.baseUrl));
+    }
+  }
+
+  /**
+   * Sets the auth token needed by the service in order to make authenticated requests.
+   *
+   * @param token The OAuth token to use for authenticated requests.
+   */
+  public void setToken(String token) {
+    this.authorization = RequestSigner.authorization(token);
+  }
+
+  private class SoundCloudInterceptor implements Interceptor {
+    @Override public Response intercept(Interceptor.Chain chain) throws IOException {
+      return chain.proceed(signer.sign(chain.request(), authorization));
+    }
+  }
+
+  /**
+   * Everything that is expensive to create: Gson, the client, the Retrofit adapter and the service
+   * proxy.
+   */
+  private final class Stack {
+    final OkHttpClient client;
+    final HttpUrl baseUrl;
+    final Retrofit adapter;
+    final SoundCloudService service;
+    final Executor callbackExecutor;
+    final Executor parsingExecutor;
+    private final Builder builder;
+    private final BlockingCallAdapterFactory blockingCalls;
+
+    // Guarded by this.
+    private final Map<Projection, Retrofit> projectedAdapters = new HashMap<>();
+    private SoundCloudAsyncService asyncService;
+    private SoundCloudStreamService streamService;
+    private SoundCloudReaderService readerService;
+    private SoundCloudBlockingService blockingService;
+
+    Stack(Builder builder) {
+      this.builder = builder;
+      baseUrl = HttpUrl.parse(builder.baseUrl);
+
+      client = builder.newClientBuilder()
+          .addInterceptor(new SoundCloudInterceptor())
+          .build();
+
+      parsingExecutor = builder.parsingExecutor != null
+          ? builder.parsingExecutor
+          : client.dispatcher().executorService();
+
+      blockingCalls = builder.blockingCalls != null
+          ? builder.blockingCalls
+          : new BlockingCallAdapterFactory(BlockingCallAdapterFactory.DEFAULT_MAX_CONCURRENT_CALLS);
+
+      Retrofit.Builder adapterBuilder = newAdapterBuilder(SoundCloudGson.create());
+
+      // Coalescing wraps the call it is given, while the entity cache wraps the call returned by
+      // the factories after it. So the entity cache ends up outside of coalescing even though it's
+      // added first, and answers a lookup before the request can join a flight.
+      if (builder.entityCache != null) {
+        adapterBuilder.addCallAdapterFactory(new EntityCacheCallAdapterFactory(builder.entityCache,
+            new EntityCacheCallAdapterFactory.CredentialFunction() {
+              @Override public String credential(Request request) {
+                String auth = request.header(RequestSigner.AUTHORIZATION);
+                return auth != null ? auth : authorization;
+              }
+            }));
+      }
+
+      if (builder.coalesceRequests) {
+        adapterBuilder.addCallAdapterFactory(new CoalescingCallAdapterFactory(
+            new CoalescingCallAdapterFactory.KeyFunction() {
+              @Override public String key(Request request) {
+                String auth = request.header(RequestSigner.AUTHORIZATION);
+                if (auth == null) {
+                  auth = authorization;
+                }
+
+                String url = signer.sign(request.url()).toString();
+
+                return auth != null ? url + ' ' + auth : url;
+              }
+            }));
+      }
+
+      if (builder.callbackExecutor != null) {
+        adapterBuilder.callbackExecutor(builder.callbackExecutor);
+      }
+
+      Retrofit built = adapterBuilder.build();
+
+      // The platform's executor is only known once built, so it's wrapped in a second pass.
+      if (builder.metricsRegistry != MetricsRegistry.NONE && built.callbackExecutor() != null) {
+        built = built.newBuilder()
+            .callbackExecutor(new TimingExecutor(built.callbackExecutor(),
+                builder.metricsRegistry, TimingExecutor.CALLBACKS))
+            .build();
+      }
+
+      adapter = built;
+      callbackExecutor = adapter.callbackExecutor();
+
+      service = adapter.create(SoundCloudService.class);
+    }
+
+    /**
+     * Sets up everything but the factories that hand one response to several callers, which a
+     * projection can't take part in.
+     */
+    private Retrofit.Builder newAdapterBuilder(Gson gson) {
+      Converter.Factory converterFactory = GsonConverterFactory.create(gson);
+      if (builder.metricsRegistry != MetricsRegistry.NONE) {
+        converterFactory = new ParseTimeConverterFactory(converterFactory, builder.metricsRegistry,
+            SoundCloudService.class);
+      }
+
+      Retrofit.Builder adapterBuilder = new Retrofit.Builder()
+          .callFactory(new CredentialScope.CallFactory(client))
+          .baseUrl(baseUrl)
+          .addConverterFactory(new ItemReaderConverterFactory(gson))
+          .addConverterFactory(converterFactory);
+
+      // Registered first, so the call behind a future or a blocking method passes through every
+      // factory below. Left out where CompletableFuture doesn't exist, since it is consulted for
+      // every method.
+      if (CompletableFutureCallAdapterFactory.isSupported()) {
+        adapterBuilder.addCallAdapterFactory(new CompletableFutureCallAdapterFactory());
+      }
+
+      adapterBuilder.addCallAdapterFactory(blockingCalls)
+          .addCallAdapterFactory(new PublisherCallAdapterFactory(gson, parsingExecutor))
+          .addCallAdapterFactory(new CredentialScope.CallAdapterFactory());
+
+      // Retries sit beneath coalescing, so callers sharing a request share its retries and hedges.
+      if (builder.retries != null) {
+        adapterBuilder.addCallAdapterFactory(builder.retries);
+      }
+
+      // Breakers see one outcome per call after its retries, and reject before any are made.
+      if (builder.circuitBreakers != null) {
+        adapterBuilder.addCallAdapterFactory(builder.circuitBreakers);
+      }
+
+      return adapterBuilder;
+    }
+
+    /**
+     * Shares the client, limits and policies of this stack, but not its entity cache or coalesced
+     * requests, which would hand partly decoded models to callers expecting whole ones.
+     */
+    synchronized Retrofit projectedAdapter(Projection projection) {
+      Retrofit projected = projectedAdapters.get(projection);
+
+      if (projected == null) {
+        Retrofit.Builder adapterBuilder = newAdapterBuilder(SoundCloudGson.create(projection));
+        if (callbackExecutor != null) {
+          adapterBuilder.callbackExecutor(callbackExecutor);
+        }
+
+        projected = adapterBuilder.build();
+        projectedAdapters.put(projection, projected);
+      }
+
+      return projected;
+    }
+
+    /**
+     * Created on first use, since its proxy can't be defined where CompletableFuture is missing.
+     */
+    synchronized SoundCloudAsyncService asyncService() {
+      if (asyncService == null) {
+        asyncService = adapter.create(SoundCloudAsyncService.class);
+      }
+
+      return asyncService;
+    }
+
+    synchronized SoundCloudStreamService streamService() {
+      if (streamService == null) {
+        streamService = adapter.create(SoundCloudStreamService.class);
+      }
+
+      return streamService;
+    }
+
+    synchronized SoundCloudReaderService readerService() {
+      if (readerService == null) {
+        readerService = adapter.create(SoundCloudReaderService.class);
+      }
+
+      return readerService;
+    }
+
+    synchronized SoundCloudBlockingService blockingService() {
+      if (blockingService == null) {
+        blockingService = adapter.create(SoundCloudBlockingService.class);
+      }
+
+      return blockingService;
+    }
+
+    Object service(Class<?> type) {
+      if (type == SoundCloudAsyncService.class) {
+        return asyncService();
+      } else if (type == SoundCloudStreamService.class) {
+        return streamService();
+      } else if (type == SoundCloudReaderService.class) {
+        return readerService();
+      } else if (type == SoundCloudBlockingService.class) {
+        return blockingService();
+      }
+
+      return service;
+    }
+  }
+
+  /**
+   * Builds a {@link SoundCloudAPI} with a customized HTTP stack. Clients derived from the same base
+   * client share its connection pool and dispatcher. Passing the same {@link ConnectionPool} or
+   * {@link Dispatcher} to several builders shares them as well.
+   */
+  public static class Builder {
+
+    private final String clientId;
+    private String token;
+    private String baseUrl = SOUNDCLOUD_API_ENDPOINT;
+    private OkHttpClient client;
+    private ConnectionPool connectionPool;
+    private Dispatcher dispatcher;
+    private int maxRequests = -1;
+    private int maxRequestsPerHost = -1;
+    private long connectTimeoutMillis = -1;
+    private long readTimeoutMillis = -1;
+    private long writeTimeoutMillis = -1;
+    private List<Protocol> protocols;
+    private HttpResponseCache responseCache;
+    private EntityCache entityCache;
+    private boolean coalesceRequests;
+    private RateLimiter rateLimiter;
+    private RetryCallAdapterFactory retries;
+    private CircuitBreakerCallAdapterFactory circuitBreakers;
+    private BlockingCallAdapterFactory blockingCalls;
+    private MetricsRegistry metricsRegistry = MetricsRegistry.NONE;
+    private Executor callbackExecutor;
+    private ExecutorService parsingExecutor;
+
+    /**
+     * Creates a new Builder.
+     *
+     * @param clientId Client ID provided by SoundCloud.
+     */
+    public Builder(String clientId) {
+      this.clientId = clientId;
+    }
+
+    /**
+     * Copies another builder, so a built {@link SoundCloudAPI} isn't affected by later changes to
+     * the builder it was built from.
+     */
+    private Builder(Builder other) {
+      clientId = other.clientId;
+      token = other.token;
+      baseUrl = other.baseUrl;
+      client = other.client;
+      connectionPool = other.connectionPool;
+      dispatcher = other.dispatcher;
+      maxRequests = other.maxRequests;
+      maxRequestsPerHost = other.maxRequestsPerHost;
+      connectTimeoutMillis = other.connectTimeoutMillis;
+      readTimeoutMillis = other.readTimeoutMillis;
+      writeTimeoutMillis = other.writeTimeoutMillis;
+      protocols = other.protocols;
+      responseCache = other.responseCache;
+      entityCache = other.entityCache;
+      coalesceRequests = other.coalesceRequests;
+      rateLimiter = other.rateLimiter;
+      retries = other.retries;
+      circuitBreakers = other.circuitBreakers;
+      blockingCalls = other.blockingCalls;
+      metricsRegistry = other.metricsRegistry;
+      callbackExecutor = other.callbackExecutor;
+      parsingExecutor = other.parsingExecutor;
+    }
+
+    /**
+     * Sets the auth token used to make authenticated requests.
+     *
+     * @param token The OAuth token to use for authenticated requests.
+     * @return The instance of the builder that was just updated.
+     */
+    public Builder setToken(String token) {
+      this.token = token;
+
+      return this;
+    }
+
+    /**
+     * Sets the client that requests are derived from. Its connection pool, dispatcher and
+     * interceptors are kept unless they are overridden by this builder.
+     *
+     * @param client The client to share.
+     * @return The instance of the builder that was just updated.
+     */
+    public Builder setClient(OkHttpClient client) {
+      this.client = client;
+
+      return this;
+    }
+
+    /**
+     * Sets the connection pool that idle connections are kept in.
+     *
+     * @param connectionPool The pool to share.
+     * @return The instance of the builder that was just updated.
+     */
+    public Builder setConnectionPool(ConnectionPool connectionPool) {
+      this.connectionPool = connectionPool;
+
+      return this;
+    }
+
+    /**
+     * Sets the dispatcher that runs asynchronous calls. Any limits set on this builder are applied
+     * to the given dispatcher, so they affect every client that shares it.
+     *
+     * @param dispatcher The dispatcher to share.
+     * @return The instance of the builder that was just updated.
+     */
+    public Builder setDispatcher(Dispatcher dispatcher) {
+      this.dispatcher = dispatcher;
+
+      return this;
+    }
+
+    /**
+     * Sets the maximum number of asynchronous calls that run at once. If no dispatcher was given,
+     * a new one is created for the built {@link SoundCloudAPI}.
+     *
+     * @param maxRequests The maximum number of concurrent calls.
+     * @return The instance of the builder that was just updated.
+     */
+    public Builder setMaxRequests(int maxRequests) {
+      if (maxRequests < 1) {
+        throw new IllegalArgumentException("maxRequests < 1: " + maxRequests);
+      }
+
+      this.maxRequests = maxRequests;
+
+      return this;
+    }
+
+    /**
+     * Sets the maximum number of asynchronous calls that run at once against a single host. The
+     * default dispatcher allows 5. If no dispatcher was given, a new one is created for the built
+     * {@link SoundCloudAPI}.
+     *
+     * @param maxRequestsPerHost The maximum number of concurrent calls per host.
+     * @return The instance of the builder that was just updated.
+     */
+    public Builder setMaxRequestsPerHost(int maxRequestsPerHost) {
+      if (maxRequestsPerHost < 1) {
+        throw new IllegalArgumentException("maxRequestsPerHost < 1: " + maxRequestsPerHost);
+      }
+
+      this.maxRequestsPerHost = maxRequestsPerHost;
+
+      return this;
+    }
+
+    /**
+     * Sets how long to wait for a new connection, including its TLS handshake. Defaults to the
+     * base client's, which is 10 seconds for the shared one.
+     *
+     * @param timeout The timeout, or 0 for none.
+     * @param unit Unit of the timeout.
+     * @return The instance of the builder that was just updated.
+     */
+    public Builder setConnectTimeout(long timeout, TimeUnit unit) {
+      this.connectTimeoutMillis = unit.toMillis(timeout);
+
+      return this;
+    }
+
+    /**
+     * Sets how long a connection may go without receiving data while waiting for a response.
+     * Defaults to the base client's, which is 10 seconds for the shared one.
+     *
+     * @param timeout The timeout, or 0 for none.
+     * @param unit Unit of the timeout.
+     * @return The instance of the builder that was just updated.
+     */
+    public Builder setReadTimeout(long timeout, TimeUnit unit) {
+      this.readTimeoutMillis = unit.toMillis(timeout);
+
+      return this;
+    }
+
+    /**
+     * Sets how long a connection may take to accept each write of a request. Defaults to the
+     * base client's, which is 10 seconds for the shared one.
+     *
+     * @param timeout The timeout, or 0 for none.
+     * @param unit Unit of the timeout.
+     * @return The instance of the builder that was just updated.
+     */
+    public Builder setWriteTimeout(long timeout, TimeUnit unit) {
+      this.writeTimeoutMillis = unit.toMillis(timeout);
+
+      return this;
+    }
+
+    /**
+     * Sets whether HTTP/2 may be negotiated. With HTTP/2 every request to the API host is
+     * multiplexed over a single connection.
+     *
+     * @param enabled false to restrict connections to HTTP/1.1.
+     * @return The instance of the builder that was just updated.
+     */
+    public Builder setHttp2Enabled(boolean enabled) {
+      if (enabled) {
+        this.protocols = Arrays.asList(Protocol.HTTP_2, Protocol.HTTP_1_1);
+      } else {
+        this.protocols = Collections.singletonList(Protocol.HTTP_1_1);
+      }
+
+      return this;
+    }
+
+    /**
+     * Sets a disk cache for responses. Stale responses are revalidated with conditional requests.
+     *
+     * @param responseCache The cache to store responses in.
+     * @return The instance of the builder that was just updated.
+     */
+    public Builder setResponseCache(HttpResponseCache responseCache) {
+      this.responseCache = responseCache;
+
+      return this;
+    }
+
+    /**
+     * Sets an in memory cache for tracks, users and groups. Lookups by ID are served from it and
+     * every entity returned by other endpoints is stored in it. Entities are kept per credential,
+     * so users sharing this instance through {@link #getService(String)} never see each other's.
+     *
+     * @param entityCache The cache to store parsed entities in.
+     * @return The instance of the builder that was just updated.
+     */
+    public Builder setEntityCache(EntityCache entityCache) {
+      this.entityCache = entityCache;
+
+      return this;
+    }
+
+    /**
+     * Sets whether identical GET requests that are in flight at the same time share one network
+     * call and one parsed result. Callers then receive the same model objects, which should be
+     * treated as read only.
+     *
+     * @param enabled true to coalesce identical requests.
+     * @return The instance of the builder that was just updated.
+     */
+    public Builder setRequestCoalescing(boolean enabled) {
+      this.coalesceRequests = enabled;
+
+      return this;
+    }
+
+    /**
+     * Sets a client side rate limiter. Requests over the limit wait for a permit instead of
+     * failing, and requests rejected with a 429 are queued again.
+     *
+     * @param rateLimiter The limiter to share between every request.
+     * @return The instance of the builder that was just updated.
+     */
+    public Builder setRateLimiter(RateLimiter rateLimiter) {
+      this.rateLimiter = rateLimiter;
+
+      return this;
+    }
+
+    /**
+     * Sets the policies that failed and slow GET calls are retried and hedged with.
+     *
+     * @param retries The retry policies and budget to share between every call.
+     * @return The instance of the builder that was just updated.
+     */
+    public Builder setRetries(RetryCallAdapterFactory retries) {
+      this.retries = retries;
+
+      return this;
+    }
+
+    /**
+     * Sets circuit breakers that reject calls to endpoints that keep failing or timing out.
+     *
+     * @param circuitBreakers The breakers and fallbacks to share between every call.
+     * @return The instance of the builder that was just updated.
+     */
+    public Builder setCircuitBreakers(CircuitBreakerCallAdapterFactory circuitBreakers) {
+      this.circuitBreakers = circuitBreakers;
+
+      return this;
+    }
+
+    /**
+     * Sets the limit on calls made through {@link SoundCloudAPI#getBlockingService()} that are in
+     * flight at once. Defaults to
+     * {@link BlockingCallAdapterFactory#DEFAULT_MAX_CONCURRENT_CALLS}.
+     *
+     * @param blockingCalls The limit to share between every blocking call.
+     * @return The instance of the builder that was just updated.
+     */
+    public Builder setBlockingCalls(BlockingCallAdapterFactory blockingCalls) {
+      this.blockingCalls = blockingCalls;
+
+      return this;
+    }
+
+    /**
+     * Sets the registry that latency, status codes, response sizes, parse times and the duration
+     * of each connection phase are recorded in, per {@link SoundCloudService} method. Defaults to
+     * {@link MetricsRegistry#NONE}, which installs nothing.
+     *
+     * @param metricsRegistry The registry to record measurements in.
+     * @return The instance of the builder that was just updated.
+     */
+    public Builder setMetricsRegistry(MetricsRegistry metricsRegistry) {
+      if (metricsRegistry == null) {
+        throw new NullPointerException("metricsRegistry == null");
+      }
+
+      this.metricsRegistry = metricsRegistry;
+
+      return this;
+    }
+
+    /**
+     * Sets the executor that {@link retrofit2.Callback callbacks} are delivered on. On Android the
+     * default is the main thread. On the JVM, callbacks run on the thread that parsed the response.
+     *
+     * @param callbackExecutor The executor to deliver callbacks on.
+     * @return The instance of the builder that was just updated.
+     */
+    public Builder setCallbackExecutor(Executor callbackExecutor) {
+      this.callbackExecutor = callbackExecutor;
+
+      return this;
+    }
+
+    /**
+     * Sets the executor that asynchronous calls run on. Responses are parsed on the thread that
+     * ran the call, so this is also where parsing and the mapping done by
+     * {@link SoundCloudAPI#enqueue(Call, Mapper, ResultCallback)} happen. A new dispatcher is
+     * created around it, so it can't be combined with {@link #setDispatcher(Dispatcher)}.
+     *
+     * @param parsingExecutor The executor to run and parse calls on.
+     * @return The instance of the builder that was just updated.
+     */
+    public Builder setParsingExecutor(ExecutorService parsingExecutor) {
+      this.parsingExecutor = parsingExecutor;
+
+      return this;
+    }
+
+    /**
+     * Points the service at a different host, for tests.
+     */
+    Builder setBaseUrl(String baseUrl) {
+      this.baseUrl = baseUrl;
+
+      return this;
+    }
+
+    /**
+     * Creates a {@link SoundCloudAPI} with the current configuration. The HTTP stack is built on
+     * first use, or in the background with {@link SoundCloudAPI#prepare(Executor)}.
+     *
+     * @return A new {@link SoundCloudAPI}.
+     */
+    public SoundCloudAPI build() {
+      return new SoundCloudAPI(new Builder(this));
+    }
+
+    /**
+     * Creates a builder from the base client with every configured option applied. Options that
+     * were not configured are inherited, which keeps the base client's pool and dispatcher.
+     */
+    OkHttpClient.Builder newClientBuilder() {
+      OkHttpClient base = client != null ? client : SharedClient.get();
+      OkHttpClient.Builder clientBuilder = base.newBuilder();
+
+      if (connectionPool != null) {
+        clientBuilder.connectionPool(connectionPool);
+      }
+
+      if (dispatcher != null && parsingExecutor != null) {
+        throw new IllegalStateException("A dispatcher and a parsing executor can't both be set.");
+      }
+
+      Dispatcher target = dispatcher;
+      if (parsingExecutor != null) {
+        target = new Dispatcher(parsingExecutor);
+      } else if (target == null && (maxRequests != -1 || maxRequestsPerHost != -1)) {
+        target = new Dispatcher();
+      }
+
+      if (target != null) {
+        if (maxRequests != -1) {
+          target.setMaxRequests(maxRequests);
+        }
+
+        if (maxRequestsPerHost != -1) {
+          target.setMaxRequestsPerHost(maxRequestsPerHost);
+        }
+
+        clientBuilder.dispatcher(target);
+      }
+
+      if (connectTimeoutMillis != -1) {
+        clientBuilder.connectTimeout(connectTimeoutMillis, TimeUnit.MILLISECONDS);
+      }
+
+      if (readTimeoutMillis != -1) {
+        clientBuilder.readTimeout(readTimeoutMillis, TimeUnit.MILLISECONDS);
+      }
+
+      if (writeTimeoutMillis != -1) {
+        clientBuilder.writeTimeout(writeTimeoutMillis, TimeUnit.MILLISECONDS);
+      }
+
+      if (protocols != null) {
+        clientBuilder.protocols(protocols);
+      }
+
+      // Added first, so latency includes time spent in the cache and waiting for permits.
+      if (metricsRegistry != MetricsRegistry.NONE) {
+        MetricsInterceptor metrics = new MetricsInterceptor(metricsRegistry);
+
+        clientBuilder.addInterceptor(metrics)
+            .addNetworkInterceptor(metrics.getNetworkInterceptor())
+            .eventListenerFactory(new MetricsEventListener.Factory(metricsRegistry,
+                base.eventListenerFactory()));
+      }
+
+      if (responseCache != null) {
+        clientBuilder.cache(responseCache.getCache())
+            .addInterceptor(responseCache.getStatsInterceptor())
+            .addNetworkInterceptor(responseCache.getNetworkInterceptor());
+      }
+
+      if (rateLimiter != null) {
+        clientBuilder.addInterceptor(rateLimiter.getInterceptor());
+      }
+
+      return clientBuilder;
+    }
+  }
+}
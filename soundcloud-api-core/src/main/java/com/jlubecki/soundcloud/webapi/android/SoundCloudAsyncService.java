@@ -0,0 +1,536 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Jacob Lubecki
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jlubecki.soundcloud.webapi.android;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import com.jlubecki.soundcloud.webapi.android.models.Comment;
+import com.jlubecki.soundcloud.webapi.android.models.Comments;
+import com.jlubecki.soundcloud.webapi.android.models.Connection;
+import com.jlubecki.soundcloud.webapi.android.models.Connections;
+import com.jlubecki.soundcloud.webapi.android.models.Group;
+import com.jlubecki.soundcloud.webapi.android.models.Groups;
+import com.jlubecki.soundcloud.webapi.android.models.Playlist;
+import com.jlubecki.soundcloud.webapi.android.models.Playlists;
+import com.jlubecki.soundcloud.webapi.android.models.SecretToken;
+import com.jlubecki.soundcloud.webapi.android.models.Track;
+import com.jlubecki.soundcloud.webapi.android.models.Tracks;
+import com.jlubecki.soundcloud.webapi.android.models.User;
+import com.jlubecki.soundcloud.webapi.android.models.Users;
+import com.jlubecki.soundcloud.webapi.android.models.WebProfile;
+import com.jlubecki.soundcloud.webapi.android.models.WebProfiles;
+
+import retrofit2.http.Path;
+import retrofit2.http.GET;
+import retrofit2.http.Query;
+import retrofit2.http.QueryMap;
+
+/**
+ * Contains the same methods as {@link SoundCloudService}, returning a {@link CompletableFuture}
+ * instead of a {@link retrofit2.Call}. Obtained from {@link SoundCloudAPI#getAsyncService()}.
+ *
+ * Every call starts when its method is invoked. Canceling a future cancels its call. Futures
+ * complete on the thread that parsed the response, not the callback executor. Requires Android
+ * API 24 or later.
+ */
+@SuppressWarnings("unused") //
+public interface SoundCloudAsyncService {
+
+  /**
+   * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+   *
+   *                                       ~~ TRACKS ~~
+   *
+   * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+   */
+
+  /**
+   * Returns {@link Tracks} from a given query.
+   *
+   * @param query The phrase by which to search for tracks.
+   * @return A future that completes with the data.
+   */
+  @GET("tracks") CompletableFuture<List<Track>> searchTracks(@Query("q") String query);
+
+  /**
+   * Returns {@link Tracks} from a given set of query parameters.
+   *
+   * <ul>
+   * <li>q - string to search for</li>
+   * <li>tags - comma separated list of tags to search for</li>
+   * <li>filter - described by Track.Filter</li>
+   * <li>license - described by Track.License</li>
+   * <li>bpm[from] - minimum bpm of results</li>
+   * <li>bpm[to] - maximum bpm of results</li>
+   * <li>duration[from] - minimum duration of results, in milliseconds</li>
+   * <li>duration[to] - maximum duration of results, in milliseconds</li>
+   * <li>created_at[from] - earliest date of results, format: "yyyy-mm-dd hh:mm:ss"</li>
+   * <li>created_at[to] - latest date of results, format: "yyyy-mm-dd hh:mm:ss"</li>
+   * <li>ids - comma separated list of tracks ids</li>
+   * <li>genres - comma separated list of genres</li>
+   * <li>types - comma separated list of types described by Track.Type</li>
+   * </ul>
+   *
+   * @param queries {@link HashMap} of query params and corresponding values.
+   * @return A future that completes with the data.
+   */
+  @GET("tracks")
+  CompletableFuture<List<Track>> searchTracks(@QueryMap HashMap<String, String> queries);
+
+  /**
+   * Get a {@link Track} with a given ID.
+   *
+   * @param trackId ID of the track to get.
+   * @return A future that completes with the data.
+   */
+  @GET("tracks/{id}") CompletableFuture<Track> getTrack(@Path("id") String trackId);
+
+  /**
+   * Get {@link Comments} for a given track ID.
+   *
+   * @param trackId ID of track.
+   * @return A future that completes with the data.
+   */
+  @GET("tracks/{id}/comments")
+  CompletableFuture<List<Comment>> getTrackComments(@Path("id") String trackId);
+
+  /**
+   * Get a {@link Comment} for a given track.
+   *
+   * @param trackId ID of track containing the comment.
+   * @param commentId ID of the comment.
+   * @return A future that completes with the data.
+   */
+  @GET("tracks/{id}/comments/{comment-id}")
+  CompletableFuture<Comment> getTrackComment(
+      @Path("id") String trackId, @Path("comment-id") String commentId);
+
+  /**
+   * Returns a {@link Users} who favorited a track.
+   *
+   * @param trackId of the track to get favoriters from.
+   * @return A future that completes with the data.
+   */
+  @GET("tracks/{id}/favoriters")
+  CompletableFuture<List<User>> getTrackFavoriters(@Path("id") String trackId);
+
+  /**
+   * Returns a {@link User} with a given ID who favorited a track with a given ID.
+   *
+   * @param trackId ID of the track to get the favoriter from.
+   * @param userId ID of the user who favorited the track.
+   * @return A future that completes with the data.
+   */
+  @GET("tracks/{id}/favoriters/{user-id")
+  CompletableFuture<User> getTrackFavoriter(
+      @Path("id") String trackId, @Path("user-id") String userId);
+
+  /**
+   * Returns the secret token of a track for a given track ID.
+   *
+   * @param trackId ID of the track that contains the secret token.
+   * @return A future that completes with the data.
+   */
+  @GET("tracks/{id}/secret-token")
+  CompletableFuture<SecretToken> getTrackSecret(@Path("id") String trackId);
+
+  /**
+   * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+   *
+   *                                        ~~ USERS ~~
+   *
+   * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+   */
+
+  /**
+   * Returns a list of {@link Users} from a given query.
+   *
+   * @param query The phrase by which to search for users.
+   * @return A future that completes with the data.
+   */
+  @GET("users") CompletableFuture<List<User>> searchUsers(@Query("q") String query);
+
+  /**
+   * Gets a {@link User} with a given ID.
+   *
+   * @param userId ID of the user.
+   * @return A future that completes with the data.
+   */
+  @GET("users/{id}") CompletableFuture<User> getUser(@Path("id") String userId);
+
+  /**
+   * Returns {@link Tracks} for a user with a given ID.
+   *
+   * @param userId ID for the user to get tracks for.
+   * @return A future that completes with the data.
+   */
+  @GET("users/{id}/tracks") CompletableFuture<List<Track>> getUserTracks(@Path("id") String userId);
+
+  /**
+   * Returns {@link Playlists} for a user with a given ID.
+   *
+   * @param userId ID for the user to get playlists for.
+   * @return A future that completes with the data.
+   */
+  @GET("users/{id}/playlists")
+  CompletableFuture<List<Playlist>> getUserPlaylists(@Path("id") String userId);
+
+  /**
+   * Returns {@link Users} followed by a user with a given ID.
+   *
+   * @param userId ID of the user to get the followings for.
+   * @return A future that completes with the data.
+   */
+  @GET("users/{id}/followings")
+  CompletableFuture<List<User>> getUserFollowings(@Path("id") String userId);
+
+  /**
+   * Returns a {@link User} with a given ID followed by another user with a given ID.
+   *
+   * @param userId ID of the user to get list of followed users from.
+   * @param followedUserId ID of the followed user.
+   * @return A future that completes with the data.
+   */
+  @GET("users/{id}/followings/{following-id}")
+  CompletableFuture<User> getUserFollowing(
+      @Path("id") String userId, @Path("following-id") String followedUserId);
+
+  /**
+   * Returns {@link Users} followed by a user with a given ID.
+   *
+   * @param userId ID of a user to get the followers for.
+   * @return A future that completes with the data.
+   */
+  @GET("users/{id}/followers")
+  CompletableFuture<List<User>> getUserFollowers(@Path("id") String userId);
+
+  /**
+   * Returns a {@link User} followed by a user with a given ID.
+   *
+   * @param userId ID of the user to get the follower for.
+   * @param followerId ID of the follower.
+   * @return A future that completes with the data.
+   */
+  @GET("users/{id}/followers/{follower-id}")
+  CompletableFuture<User> getUserFollower(
+      @Path("id") String userId, @Path("follower-id") String followerId);
+
+  /**
+   * Returns {@link Comments} for a user with a given ID.
+   *
+   * @param userId ID of the user to get comments for.
+   * @return A future that completes with the data.
+   */
+  @GET("users/{id}/comments")
+  CompletableFuture<List<Comment>> getUserComments(@Path("id") String userId);
+
+  /**
+   * Returns favorited {@link Tracks} for a user with a given ID.
+   *
+   * @param userId ID of the user to get favorites for.
+   * @return A future that completes with the data.
+   */
+  @GET("users/{id}/favorites")
+  CompletableFuture<List<Track>> getUserFavorites(@Path("id") String userId);
+
+  /**
+   * Returns a favorited {@link Track} for a user with a given ID.
+   *
+   * @param userId ID of the user.
+   * @param favoriteId ID of the track in the user's favorites.
+   * @return A future that completes with the data.
+   */
+  @GET("users/{id}/favorites/{favorite-id}")
+  CompletableFuture<Track> getUserFavorite(
+      @Path("id") String userId, @Path("favorite-id") String favoriteId);
+
+  /**
+   * Returns a {@link Groups} that a user with a given ID is a part of.
+   *
+   * @param userId ID of the user.
+   * @return A future that completes with the data.
+   */
+  @GET("users/{id}/groups") CompletableFuture<List<Group>> getUserGroups(@Path("id") String userId);
+
+  /**
+   * Returns {@link WebProfiles} that a user with a given ID is a part of.
+   *
+   * @param userId ID of the user.
+   * @return A future that completes with the data.
+   */
+  @GET("users/{id}/web-profiles")
+  CompletableFuture<List<WebProfile>> getUserWebProfiles(@Path("id") String userId);
+
+  /**
+   * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+   *
+   *                                      ~~ PLAYLISTS ~~
+   *
+   * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+   */
+
+  /**
+   * Returns {@link Playlists} based on a given query.
+   *
+   * @param query The phrase by which to search for playlists.
+   * @return A future that completes with the data.
+   */
+  @GET("playlists") CompletableFuture<List<Playlist>> getPlaylists(@Query("q") String query);
+
+  /**
+   * Returns {@link Playlists} based on a given query with a representation parameter.
+   *
+   * @param query The phrase by which to search for playlists.
+   * @param representation Accepted values: "compact" or "id"
+   * @return A future that completes with the data.
+   */
+  @GET("playlists")
+  CompletableFuture<List<Playlist>> getPlaylists(
+      @Query("q") String query, @Query("representation") String representation);
+
+  /**
+   * Returns a secret token for a {@link Playlist}.
+   *
+   * @param id ID of the playlist to get the token for.
+   * @return A future that completes with the data.
+   */
+  @GET("playlists/{id}/secret-token")
+  CompletableFuture<SecretToken> getPlaylistSecret(@Path("id") String id);
+
+  /**
+   * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+   *
+   * ~~ GROUPS ~~
+   *
+   * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+   */
+
+  /**
+   * Returns {@link Groups} based on a given query.
+   *
+   * @param query The phrase by which to search for groups.
+   * @return A future that completes with the data.
+   */
+  @GET("groups") CompletableFuture<List<Group>> searchGroups(@Query("q") String query);
+
+  /**
+   * Returns a {@link Group} with a given ID.
+   *
+   * @param id ID of the group to get.
+   * @return A future that completes with the data.
+   */
+  @GET("groups/{id}") CompletableFuture<Group> getGroup(@Path("id") String id);
+
+  /**
+   * Returns {@link Users} that moderate a group with a given ID.
+   *
+   * @param id ID of the group to get moderators for.
+   * @return A future that completes with the data.
+   */
+  @GET("groups/{id}/moderators")
+  CompletableFuture<List<User>> getGroupModerators(@Path("id") String id);
+
+  /**
+   * Returns {@link Users} that are in a group with a given ID.
+   *
+   * @param id ID of the group to get members for.
+   * @return A future that completes with the data.
+   */
+  @GET("groups/{id}/members") CompletableFuture<List<User>> getGroupMembers(@Path("id") String id);
+
+  /**
+   * Returns {@link Users} that contribute to a group with a given ID.
+   *
+   * @param id ID of the group to get contributors for.
+   * @return A future that completes with the data.
+   */
+  @GET("groups/{id}/contributors")
+  CompletableFuture<List<User>> getGroupContributors(@Path("id") String id);
+
+  /**
+   * Returns all {@link Users} that are associated with a group with a given ID.
+   *
+   * @param id ID of the group to get all users for.
+   * @return A future that completes with the data.
+   */
+  @GET("groups/{id}/users") CompletableFuture<List<User>> getGroupUsers(@Path("id") String id);
+
+  /**
+   * Returns {@link Tracks} that were submitted to a group with a given ID, but have not yet been
+   * approved.
+   *
+   * @param id ID of the group to get pending tracks for.
+   * @return A future that completes with the data.
+   */
+  @GET("groups/{id}/pending_tracks")
+  CompletableFuture<List<Track>> getGroupPendingTracks(@Path("id") String id);
+
+  /**
+   * Returns a {@link Track} that was submitted to a group with a given ID, but has not yet been
+   * approved.
+   *
+   * @param id ID of the group to get a pending track for.
+   * @param trackId ID of the pending track that was submitted to a group.
+   * @return A future that completes with the data.
+   */
+  @GET("groups/{id}/pending_tracks/{pending-id}")
+  CompletableFuture<Track> getGroupPendingTrack(
+      @Path("id") String id, @Path("pending-id") String trackId);
+
+  /**
+   * Returns {@link Tracks} that were contributed to a group with a given ID. For moderators.
+   *
+   * @param id ID of the group to get pending tracks for.
+   * @return A future that completes with the data.
+   */
+  @GET("groups/{id}/contributions")
+  CompletableFuture<List<Track>> getGroupContributions(@Path("id") String id);
+
+  /**
+   * Returns a {@link Track} that was contributed to a group with a given ID. For moderators.
+   *
+   * @param id ID of the group to get a contribution for.
+   * @param trackId ID of the contribution.
+   * @return A future that completes with the data.
+   */
+  @GET("groups/{id}/pending_tracks/{contribution-id}")
+  CompletableFuture<Track> getGroupContribution(
+      @Path("id") String id, @Path("contribution-id") String trackId);
+
+  /**
+   * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+   *
+   *                                          ~~ Me ~~
+   *
+   * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+   */
+
+  /**
+   * Gets the authenticated {@link User}.
+   *
+   * @return A future that completes with the data.
+   */
+  @GET("me") CompletableFuture<User> getMe();
+
+  /**
+   * Returns {@link Tracks} for the authenticated user.
+   *
+   * @return A future that completes with the data.
+   */
+  @GET("me/tracks") CompletableFuture<List<Track>> getMyTracks();
+
+  /**
+   * Returns {@link Playlists} for the authenticated user.
+   *
+   * @return A future that completes with the data.
+   */
+  @GET("me/playlists") CompletableFuture<List<Playlist>> getMyPlaylists();
+
+  /**
+   * Returns {@link Users} followed by the authenticated user.
+   *
+   * @return A future that completes with the data.
+   */
+  @GET("me/followings") CompletableFuture<List<User>> getMyFollowings();
+
+  /**
+   * Returns a {@link User} followed by the authenticated user.
+   *
+   * @param followedUserId ID of the followed user.
+   * @return A future that completes with the data.
+   */
+  @GET("me/followings/{following-id}")
+  CompletableFuture<User> getMyFollowing(@Path("following-id") String followedUserId);
+
+  /**
+   * Returns {@link Users} followed by the authenticated user.
+   *
+   * @return A future that completes with the data.
+   */
+  @GET("me/followers") CompletableFuture<List<User>> getMyFollowers();
+
+  /**
+   * Returns a {@link User} followed by the authenticated user.
+   *
+   * @param followerId ID of the follower.
+   * @return A future that completes with the data.
+   */
+  @GET("me/followers/{follower-id}")
+  CompletableFuture<User> getMyFollower(@Path("follower-id") String followerId);
+
+  /**
+   * Returns {@link Comments} for the authenticated user.
+   *
+   * @return A future that completes with the data.
+   */
+  @GET("me/comments") CompletableFuture<List<Comment>> getMyComments();
+
+  /**
+   * Returns favorited {@link Tracks} for the authenticated user.
+   *
+   * @return A future that completes with the data.
+   */
+  @GET("me/favorites") CompletableFuture<List<Track>> getMyFavorites();
+
+  /**
+   * Returns a favorited {@link Track} for the authenticated user.
+   *
+   * @param favoriteId ID of the track in the user's favorites.
+   * @return A future that completes with the data.
+   */
+  @GET("me/favorites/{favorite-id}")
+  CompletableFuture<List<Track>> getMyFavorite(@Path("favorite-id") String favoriteId);
+
+  /**
+   * Returns a list of groups that the authenticated user is a part of.
+   *
+   * @return A future that completes with the data.
+   */
+  @GET("me/groups") CompletableFuture<List<Group>> getMyGroups();
+
+  /**
+   * Returns a list of web profiles that the authenticated user has.
+   *
+   * @return A future that completes with the data.
+   */
+  @GET("me/web-profiles") CompletableFuture<List<WebProfile>> getMyWebProfiles();
+
+  /**
+   * Returns {@link Connections} for the authenticated user.
+   *
+   * @return A future that completes with the data.
+   */
+  @GET("me/connections") CompletableFuture<List<Connection>> getMyConnections();
+
+  /**
+   * Returns a {@link Connection} for the authenticated user.
+   *
+   * @param connectionId ID of the connection.
+   * @return A future that completes with the data.
+   */
+  @GET("me/connections") CompletableFuture<Connection> getMyConnection(String connectionId);
+}
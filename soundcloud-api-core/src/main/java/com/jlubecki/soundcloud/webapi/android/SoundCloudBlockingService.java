@@ -0,0 +1,538 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Jacob Lubecki
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jlubecki.soundcloud.webapi.android;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+
+import com.jlubecki.soundcloud.webapi.android.models.Comment;
+import com.jlubecki.soundcloud.webapi.android.models.Comments;
+import com.jlubecki.soundcloud.webapi.android.models.Connection;
+import com.jlubecki.soundcloud.webapi.android.models.Connections;
+import com.jlubecki.soundcloud.webapi.android.models.Group;
+import com.jlubecki.soundcloud.webapi.android.models.Groups;
+import com.jlubecki.soundcloud.webapi.android.models.Playlist;
+import com.jlubecki.soundcloud.webapi.android.models.Playlists;
+import com.jlubecki.soundcloud.webapi.android.models.SecretToken;
+import com.jlubecki.soundcloud.webapi.android.models.Track;
+import com.jlubecki.soundcloud.webapi.android.models.Tracks;
+import com.jlubecki.soundcloud.webapi.android.models.User;
+import com.jlubecki.soundcloud.webapi.android.models.Users;
+import com.jlubecki.soundcloud.webapi.android.models.WebProfile;
+import com.jlubecki.soundcloud.webapi.android.models.WebProfiles;
+
+import retrofit2.http.Path;
+import retrofit2.http.GET;
+import retrofit2.http.Query;
+import retrofit2.http.QueryMap;
+
+/**
+ * Contains the same methods as {@link SoundCloudService}, returning the parsed body directly. Each
+ * method blocks the calling thread until the response has been parsed, and throws an
+ * {@link retrofit2.HttpException} for an unsuccessful response. Obtained from
+ * {@link SoundCloudAPI#getBlockingService()}.
+ *
+ * Meant for servers that run every call on a thread of its own, ideally a virtual thread from
+ * {@link com.jlubecki.soundcloud.webapi.android.call.VirtualThreads}. Never call it from the main
+ * thread.
+ */
+@SuppressWarnings("unused") //
+public interface SoundCloudBlockingService {
+
+  /**
+   * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+   *
+   *                                       ~~ TRACKS ~~
+   *
+   * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+   */
+
+  /**
+   * Returns {@link Tracks} from a given query.
+   *
+   * @param query The phrase by which to search for tracks.
+   * @return The data.
+   */
+  @GET("tracks") List<Track> searchTracks(@Query("q") String query) throws IOException;
+
+  /**
+   * Returns {@link Tracks} from a given set of query parameters.
+   *
+   * <ul>
+   * <li>q - string to search for</li>
+   * <li>tags - comma separated list of tags to search for</li>
+   * <li>filter - described by Track.Filter</li>
+   * <li>license - described by Track.License</li>
+   * <li>bpm[from] - minimum bpm of results</li>
+   * <li>bpm[to] - maximum bpm of results</li>
+   * <li>duration[from] - minimum duration of results, in milliseconds</li>
+   * <li>duration[to] - maximum duration of results, in milliseconds</li>
+   * <li>created_at[from] - earliest date of results, format: "yyyy-mm-dd hh:mm:ss"</li>
+   * <li>created_at[to] - latest date of results, format: "yyyy-mm-dd hh:mm:ss"</li>
+   * <li>ids - comma separated list of tracks ids</li>
+   * <li>genres - comma separated list of genres</li>
+   * <li>types - comma separated list of types described by Track.Type</li>
+   * </ul>
+   *
+   * @param queries {@link HashMap} of query params and corresponding values.
+   * @return The data.
+   */
+  @GET("tracks")
+  List<Track> searchTracks(@QueryMap HashMap<String, String> queries) throws IOException;
+
+  /**
+   * Get a {@link Track} with a given ID.
+   *
+   * @param trackId ID of the track to get.
+   * @return The data.
+   */
+  @GET("tracks/{id}") Track getTrack(@Path("id") String trackId) throws IOException;
+
+  /**
+   * Get {@link Comments} for a given track ID.
+   *
+   * @param trackId ID of track.
+   * @return The data.
+   */
+  @GET("tracks/{id}/comments")
+  List<Comment> getTrackComments(@Path("id") String trackId) throws IOException;
+
+  /**
+   * Get a {@link Comment} for a given track.
+   *
+   * @param trackId ID of track containing the comment.
+   * @param commentId ID of the comment.
+   * @return The data.
+   */
+  @GET("tracks/{id}/comments/{comment-id}")
+  Comment getTrackComment(
+      @Path("id") String trackId, @Path("comment-id") String commentId) throws IOException;
+
+  /**
+   * Returns a {@link Users} who favorited a track.
+   *
+   * @param trackId of the track to get favoriters from.
+   * @return The data.
+   */
+  @GET("tracks/{id}/favoriters")
+  List<User> getTrackFavoriters(@Path("id") String trackId) throws IOException;
+
+  /**
+   * Returns a {@link User} with a given ID who favorited a track with a given ID.
+   *
+   * @param trackId ID of the track to get the favoriter from.
+   * @param userId ID of the user who favorited the track.
+   * @return The data.
+   */
+  @GET("tracks/{id}/favoriters/{user-id")
+  User getTrackFavoriter(
+      @Path("id") String trackId, @Path("user-id") String userId) throws IOException;
+
+  /**
+   * Returns the secret token of a track for a given track ID.
+   *
+   * @param trackId ID of the track that contains the secret token.
+   * @return The data.
+   */
+  @GET("tracks/{id}/secret-token")
+  SecretToken getTrackSecret(@Path("id") String trackId) throws IOException;
+
+  /**
+   * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+   *
+   *                                        ~~ USERS ~~
+   *
+   * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+   */
+
+  /**
+   * Returns a list of {@link Users} from a given query.
+   *
+   * @param query The phrase by which to search for users.
+   * @return The data.
+   */
+  @GET("users") List<User> searchUsers(@Query("q") String query) throws IOException;
+
+  /**
+   * Gets a {@link User} with a given ID.
+   *
+   * @param userId ID of the user.
+   * @return The data.
+   */
+  @GET("users/{id}") User getUser(@Path("id") String userId) throws IOException;
+
+  /**
+   * Returns {@link Tracks} for a user with a given ID.
+   *
+   * @param userId ID for the user to get tracks for.
+   * @return The data.
+   */
+  @GET("users/{id}/tracks") List<Track> getUserTracks(@Path("id") String userId) throws IOException;
+
+  /**
+   * Returns {@link Playlists} for a user with a given ID.
+   *
+   * @param userId ID for the user to get playlists for.
+   * @return The data.
+   */
+  @GET("users/{id}/playlists")
+  List<Playlist> getUserPlaylists(@Path("id") String userId) throws IOException;
+
+  /**
+   * Returns {@link Users} followed by a user with a given ID.
+   *
+   * @param userId ID of the user to get the followings for.
+   * @return The data.
+   */
+  @GET("users/{id}/followings")
+  List<User> getUserFollowings(@Path("id") String userId) throws IOException;
+
+  /**
+   * Returns a {@link User} with a given ID followed by another user with a given ID.
+   *
+   * @param userId ID of the user to get list of followed users from.
+   * @param followedUserId ID of the followed user.
+   * @return The data.
+   */
+  @GET("users/{id}/followings/{following-id}")
+  User getUserFollowing(
+      @Path("id") String userId, @Path("following-id") String followedUserId) throws IOException;
+
+  /**
+   * Returns {@link Users} followed by a user with a given ID.
+   *
+   * @param userId ID of a user to get the followers for.
+   * @return The data.
+   */
+  @GET("users/{id}/followers")
+  List<User> getUserFollowers(@Path("id") String userId) throws IOException;
+
+  /**
+   * Returns a {@link User} followed by a user with a given ID.
+   *
+   * @param userId ID of the user to get the follower for.
+   * @param followerId ID of the follower.
+   * @return The data.
+   */
+  @GET("users/{id}/followers/{follower-id}")
+  User getUserFollower(
+      @Path("id") String userId, @Path("follower-id") String followerId) throws IOException;
+
+  /**
+   * Returns {@link Comments} for a user with a given ID.
+   *
+   * @param userId ID of the user to get comments for.
+   * @return The data.
+   */
+  @GET("users/{id}/comments")
+  List<Comment> getUserComments(@Path("id") String userId) throws IOException;
+
+  /**
+   * Returns favorited {@link Tracks} for a user with a given ID.
+   *
+   * @param userId ID of the user to get favorites for.
+   * @return The data.
+   */
+  @GET("users/{id}/favorites")
+  List<Track> getUserFavorites(@Path("id") String userId) throws IOException;
+
+  /**
+   * Returns a favorited {@link Track} for a user with a given ID.
+   *
+   * @param userId ID of the user.
+   * @param favoriteId ID of the track in the user's favorites.
+   * @return The data.
+   */
+  @GET("users/{id}/favorites/{favorite-id}")
+  Track getUserFavorite(
+      @Path("id") String userId, @Path("favorite-id") String favoriteId) throws IOException;
+
+  /**
+   * Returns a {@link Groups} that a user with a given ID is a part of.
+   *
+   * @param userId ID of the user.
+   * @return The data.
+   */
+  @GET("users/{id}/groups") List<Group> getUserGroups(@Path("id") String userId) throws IOException;
+
+  /**
+   * Returns {@link WebProfiles} that a user with a given ID is a part of.
+   *
+   * @param userId ID of the user.
+   * @return The data.
+   */
+  @GET("users/{id}/web-profiles")
+  List<WebProfile> getUserWebProfiles(@Path("id") String userId) throws IOException;
+
+  /**
+   * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+   *
+   *                                      ~~ PLAYLISTS ~~
+   *
+   * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+   */
+
+  /**
+   * Returns {@link Playlists} based on a given query.
+   *
+   * @param query The phrase by which to search for playlists.
+   * @return The data.
+   */
+  @GET("playlists") List<Playlist> getPlaylists(@Query("q") String query) throws IOException;
+
+  /**
+   * Returns {@link Playlists} based on a given query with a representation parameter.
+   *
+   * @param query The phrase by which to search for playlists.
+   * @param representation Accepted values: "compact" or "id"
+   * @return The data.
+   */
+  @GET("playlists")
+  List<Playlist> getPlaylists(
+      @Query("q") String query, @Query("representation") String representation) throws IOException;
+
+  /**
+   * Returns a secret token for a {@link Playlist}.
+   *
+   * @param id ID of the playlist to get the token for.
+   * @return The data.
+   */
+  @GET("playlists/{id}/secret-token")
+  SecretToken getPlaylistSecret(@Path("id") String id) throws IOException;
+
+  /**
+   * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+   *
+   * ~~ GROUPS ~~
+   *
+   * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+   */
+
+  /**
+   * Returns {@link Groups} based on a given query.
+   *
+   * @param query The phrase by which to search for groups.
+   * @return The data.
+   */
+  @GET("groups") List<Group> searchGroups(@Query("q") String query) throws IOException;
+
+  /**
+   * Returns a {@link Group} with a given ID.
+   *
+   * @param id ID of the group to get.
+   * @return The data.
+   */
+  @GET("groups/{id}") Group getGroup(@Path("id") String id) throws IOException;
+
+  /**
+   * Returns {@link Users} that moderate a group with a given ID.
+   *
+   * @param id ID of the group to get moderators for.
+   * @return The data.
+   */
+  @GET("groups/{id}/moderators")
+  List<User> getGroupModerators(@Path("id") String id) throws IOException;
+
+  /**
+   * Returns {@link Users} that are in a group with a given ID.
+   *
+   * @param id ID of the group to get members for.
+   * @return The data.
+   */
+  @GET("groups/{id}/members") List<User> getGroupMembers(@Path("id") String id) throws IOException;
+
+  /**
+   * Returns {@link Users} that contribute to a group with a given ID.
+   *
+   * @param id ID of the group to get contributors for.
+   * @return The data.
+   */
+  @GET("groups/{id}/contributors")
+  List<User> getGroupContributors(@Path("id") String id) throws IOException;
+
+  /**
+   * Returns all {@link Users} that are associated with a group with a given ID.
+   *
+   * @param id ID of the group to get all users for.
+   * @return The data.
+   */
+  @GET("groups/{id}/users") List<User> getGroupUsers(@Path("id") String id) throws IOException;
+
+  /**
+   * Returns {@link Tracks} that were submitted to a group with a given ID, but have not yet been
+   * approved.
+   *
+   * @param id ID of the group to get pending tracks for.
+   * @return The data.
+   */
+  @GET("groups/{id}/pending_tracks")
+  List<Track> getGroupPendingTracks(@Path("id") String id) throws IOException;
+
+  /**
+   * Returns a {@link Track} that was submitted to a group with a given ID, but has not yet been
+   * approved.
+   *
+   * @param id ID of the group to get a pending track for.
+   * @param trackId ID of the pending track that was submitted to a group.
+   * @return The data.
+   */
+  @GET("groups/{id}/pending_tracks/{pending-id}")
+  Track getGroupPendingTrack(
+      @Path("id") String id, @Path("pending-id") String trackId) throws IOException;
+
+  /**
+   * Returns {@link Tracks} that were contributed to a group with a given ID. For moderators.
+   *
+   * @param id ID of the group to get pending tracks for.
+   * @return The data.
+   */
+  @GET("groups/{id}/contributions")
+  List<Track> getGroupContributions(@Path("id") String id) throws IOException;
+
+  /**
+   * Returns a {@link Track} that was contributed to a group with a given ID. For moderators.
+   *
+   * @param id ID of the group to get a contribution for.
+   * @param trackId ID of the contribution.
+   * @return The data.
+   */
+  @GET("groups/{id}/pending_tracks/{contribution-id}")
+  Track getGroupContribution(
+      @Path("id") String id, @Path("contribution-id") String trackId) throws IOException;
+
+  /**
+   * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+   *
+   *                                          ~~ Me ~~
+   *
+   * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+   */
+
+  /**
+   * Gets the authenticated {@link User}.
+   *
+   * @return The data.
+   */
+  @GET("me") User getMe() throws IOException;
+
+  /**
+   * Returns {@link Tracks} for the authenticated user.
+   *
+   * @return The data.
+   */
+  @GET("me/tracks") List<Track> getMyTracks() throws IOException;
+
+  /**
+   * Returns {@link Playlists} for the authenticated user.
+   *
+   * @return The data.
+   */
+  @GET("me/playlists") List<Playlist> getMyPlaylists() throws IOException;
+
+  /**
+   * Returns {@link Users} followed by the authenticated user.
+   *
+   * @return The data.
+   */
+  @GET("me/followings") List<User> getMyFollowings() throws IOException;
+
+  /**
+   * Returns a {@link User} followed by the authenticated user.
+   *
+   * @param followedUserId ID of the followed user.
+   * @return The data.
+   */
+  @GET("me/followings/{following-id}")
+  User getMyFollowing(@Path("following-id") String followedUserId) throws IOException;
+
+  /**
+   * Returns {@link Users} followed by the authenticated user.
+   *
+   * @return The data.
+   */
+  @GET("me/followers") List<User> getMyFollowers() throws IOException;
+
+  /**
+   * Returns a {@link User} followed by the authenticated user.
+   *
+   * @param followerId ID of the follower.
+   * @return The data.
+   */
+  @GET("me/followers/{follower-id}")
+  User getMyFollower(@Path("follower-id") String followerId) throws IOException;
+
+  /**
+   * Returns {@link Comments} for the authenticated user.
+   *
+   * @return The data.
+   */
+  @GET("me/comments") List<Comment> getMyComments() throws IOException;
+
+  /**
+   * Returns favorited {@link Tracks} for the authenticated user.
+   *
+   * @return The data.
+   */
+  @GET("me/favorites") List<Track> getMyFavorites() throws IOException;
+
+  /**
+   * Returns a favorited {@link Track} for the authenticated user.
+   *
+   * @param favoriteId ID of the track in the user's favorites.
+   * @return The data.
+   */
+  @GET("me/favorites/{favorite-id}")
+  List<Track> getMyFavorite(@Path("favorite-id") String favoriteId) throws IOException;
+
+  /**
+   * Returns a list of groups that the authenticated user is a part of.
+   *
+   * @return The data.
+   */
+  @GET("me/groups") List<Group> getMyGroups() throws IOException;
+
+  /**
+   * Returns a list of web profiles that the authenticated user has.
+   *
+   * @return The data.
+   */
+  @GET("me/web-profiles") List<WebProfile> getMyWebProfiles() throws IOException;
+
+  /**
+   * Returns {@link Connections} for the authenticated user.
+   *
+   * @return The data.
+   */
+  @GET("me/connections") List<Connection> getMyConnections() throws IOException;
+
+  /**
+   * Returns a {@link Connection} for the authenticated user.
+   *
+   * @param connectionId ID of the connection.
+   * @return The data.
+   */
+  @GET("me/connections") Connection getMyConnection(String connectionId) throws IOException;
+}
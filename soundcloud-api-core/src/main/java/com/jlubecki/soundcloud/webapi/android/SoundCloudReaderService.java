@@ -0,0 +1,402 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Jacob Lubecki
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jlubecki.soundcloud.webapi.android;
+
+import java.util.HashMap;
+
+import com.jlubecki.soundcloud.webapi.android.json.ItemReader;
+import com.jlubecki.soundcloud.webapi.android.models.Comment;
+import com.jlubecki.soundcloud.webapi.android.models.Comments;
+import com.jlubecki.soundcloud.webapi.android.models.Connection;
+import com.jlubecki.soundcloud.webapi.android.models.Connections;
+import com.jlubecki.soundcloud.webapi.android.models.Group;
+import com.jlubecki.soundcloud.webapi.android.models.Groups;
+import com.jlubecki.soundcloud.webapi.android.models.Playlist;
+import com.jlubecki.soundcloud.webapi.android.models.Playlists;
+import com.jlubecki.soundcloud.webapi.android.models.Track;
+import com.jlubecki.soundcloud.webapi.android.models.Tracks;
+import com.jlubecki.soundcloud.webapi.android.models.User;
+import com.jlubecki.soundcloud.webapi.android.models.Users;
+import com.jlubecki.soundcloud.webapi.android.models.WebProfile;
+import com.jlubecki.soundcloud.webapi.android.models.WebProfiles;
+
+import retrofit2.Call;
+import retrofit2.SkipCallbackExecutor;
+import retrofit2.http.Path;
+import retrofit2.http.GET;
+import retrofit2.http.Query;
+import retrofit2.http.QueryMap;
+
+/**
+ * Contains the methods of {@link SoundCloudService} that return a list, returning an
+ * {@link ItemReader} over the items of the page instead. Obtained from
+ * {@link SoundCloudAPI#getReaderService()}.
+ *
+ * A reader parses one item at a time straight from the response body, so the first item is
+ * available as soon as it arrives and memory doesn't grow with the size of the page. The body
+ * stays open until the reader reaches the end of the page or is closed.
+ *
+ * Reading blocks on the network, so callbacks of calls made with {@link Call#enqueue} are run on
+ * the background thread that received the response rather than on the callback executor.
+ */
+@SuppressWarnings("unused") //
+public interface SoundCloudReaderService {
+
+  /**
+   * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+   *
+   *                                       ~~ TRACKS ~~
+   *
+   * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+   */
+
+  /**
+   * Returns {@link Tracks} from a given query.
+   *
+   * @param query The phrase by which to search for tracks.
+   * @return A reader over the items of the page.
+   */
+  @SkipCallbackExecutor
+  @GET("tracks") Call<ItemReader<Track>> searchTracks(@Query("q") String query);
+
+  /**
+   * Returns {@link Tracks} from a given set of query parameters.
+   *
+   * <ul>
+   * <li>q - string to search for</li>
+   * <li>tags - comma separated list of tags to search for</li>
+   * <li>filter - described by Track.Filter</li>
+   * <li>license - described by Track.License</li>
+   * <li>bpm[from] - minimum bpm of results</li>
+   * <li>bpm[to] - maximum bpm of results</li>
+   * <li>duration[from] - minimum duration of results, in milliseconds</li>
+   * <li>duration[to] - maximum duration of results, in milliseconds</li>
+   * <li>created_at[from] - earliest date of results, format: "yyyy-mm-dd hh:mm:ss"</li>
+   * <li>created_at[to] - latest date of results, format: "yyyy-mm-dd hh:mm:ss"</li>
+   * <li>ids - comma separated list of tracks ids</li>
+   * <li>genres - comma separated list of genres</li>
+   * <li>types - comma separated list of types described by Track.Type</li>
+   * </ul>
+   *
+   * @param queries {@link HashMap} of query params and corresponding values.
+   * @return A reader over the items of the page.
+   */
+  @SkipCallbackExecutor
+  @GET("tracks") Call<ItemReader<Track>> searchTracks(@QueryMap HashMap<String, String> queries);
+
+  /**
+   * Get {@link Comments} for a given track ID.
+   *
+   * @param trackId ID of track.
+   * @return A reader over the items of the page.
+   */
+  @SkipCallbackExecutor
+  @GET("tracks/{id}/comments") Call<ItemReader<Comment>> getTrackComments(
+      @Path("id") String trackId);
+
+  /**
+   * Returns a {@link Users} who favorited a track.
+   *
+   * @param trackId of the track to get favoriters from.
+   * @return A reader over the items of the page.
+   */
+  @SkipCallbackExecutor
+  @GET("tracks/{id}/favoriters") Call<ItemReader<User>> getTrackFavoriters(
+      @Path("id") String trackId);
+
+  /**
+   * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+   *
+   *                                        ~~ USERS ~~
+   *
+   * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+   */
+
+  /**
+   * Returns a list of {@link Users} from a given query.
+   *
+   * @param query The phrase by which to search for users.
+   * @return A reader over the items of the page.
+   */
+  @SkipCallbackExecutor
+  @GET("users") Call<ItemReader<User>> searchUsers(@Query("q") String query);
+
+  /**
+   * Returns {@link Tracks} for a user with a given ID.
+   *
+   * @param userId ID for the user to get tracks for.
+   * @return A reader over the items of the page.
+   */
+  @SkipCallbackExecutor
+  @GET("users/{id}/tracks") Call<ItemReader<Track>> getUserTracks(@Path("id") String userId);
+
+  /**
+   * Returns {@link Playlists} for a user with a given ID.
+   *
+   * @param userId ID for the user to get playlists for.
+   * @return A reader over the items of the page.
+   */
+  @SkipCallbackExecutor
+  @GET("users/{id}/playlists") Call<ItemReader<Playlist>> getUserPlaylists(
+      @Path("id") String userId);
+
+  /**
+   * Returns {@link Users} followed by a user with a given ID.
+   *
+   * @param userId ID of the user to get the followings for.
+   * @return A reader over the items of the page.
+   */
+  @SkipCallbackExecutor
+  @GET("users/{id}/followings") Call<ItemReader<User>> getUserFollowings(@Path("id") String userId);
+
+  /**
+   * Returns {@link Users} followed by a user with a given ID.
+   *
+   * @param userId ID of a user to get the followers for.
+   * @return A reader over the items of the page.
+   */
+  @SkipCallbackExecutor
+  @GET("users/{id}/followers") Call<ItemReader<User>> getUserFollowers(@Path("id") String userId);
+
+  /**
+   * Returns {@link Comments} for a user with a given ID.
+   *
+   * @param userId ID of the user to get comments for.
+   * @return A reader over the items of the page.
+   */
+  @SkipCallbackExecutor
+  @GET("users/{id}/comments") Call<ItemReader<Comment>> getUserComments(@Path("id") String userId);
+
+  /**
+   * Returns favorited {@link Tracks} for a user with a given ID.
+   *
+   * @param userId ID of the user to get favorites for.
+   * @return A reader over the items of the page.
+   */
+  @SkipCallbackExecutor
+  @GET("users/{id}/favorites") Call<ItemReader<Track>> getUserFavorites(@Path("id") String userId);
+
+  /**
+   * Returns a {@link Groups} that a user with a given ID is a part of.
+   *
+   * @param userId ID of the user.
+   * @return A reader over the items of the page.
+   */
+  @SkipCallbackExecutor
+  @GET("users/{id}/groups") Call<ItemReader<Group>> getUserGroups(@Path("id") String userId);
+
+  /**
+   * Returns {@link WebProfiles} that a user with a given ID is a part of.
+   *
+   * @param userId ID of the user.
+   * @return A reader over the items of the page.
+   */
+  @SkipCallbackExecutor
+  @GET("users/{id}/web-profiles") Call<ItemReader<WebProfile>> getUserWebProfiles(
+      @Path("id") String userId);
+
+  /**
+   * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+   *
+   *                                      ~~ PLAYLISTS ~~
+   *
+   * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+   */
+
+  /**
+   * Returns {@link Playlists} based on a given query.
+   *
+   * @param query The phrase by which to search for playlists.
+   * @return A reader over the items of the page.
+   */
+  @SkipCallbackExecutor
+  @GET("playlists") Call<ItemReader<Playlist>> getPlaylists(@Query("q") String query);
+
+  /**
+   * Returns {@link Playlists} based on a given query with a representation parameter.
+   *
+   * @param query The phrase by which to search for playlists.
+   * @param representation Accepted values: "compact" or "id"
+   * @return A reader over the items of the page.
+   */
+  @SkipCallbackExecutor
+  @GET("playlists") Call<ItemReader<Playlist>> getPlaylists(@Query("q") String query,
+      @Query("representation") String representation);
+
+  /**
+   * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+   *
+   * ~~ GROUPS ~~
+   *
+   * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+   */
+
+  /**
+   * Returns {@link Groups} based on a given query.
+   *
+   * @param query The phrase by which to search for groups.
+   * @return A reader over the items of the page.
+   */
+  @SkipCallbackExecutor
+  @GET("groups") Call<ItemReader<Group>> searchGroups(@Query("q") String query);
+
+  /**
+   * Returns {@link Users} that moderate a group with a given ID.
+   *
+   * @param id ID of the group to get moderators for.
+   * @return A reader over the items of the page.
+   */
+  @SkipCallbackExecutor
+  @GET("groups/{id}/moderators") Call<ItemReader<User>> getGroupModerators(@Path("id") String id);
+
+  /**
+   * Returns {@link Users} that are in a group with a given ID.
+   *
+   * @param id ID of the group to get members for.
+   * @return A reader over the items of the page.
+   */
+  @SkipCallbackExecutor
+  @GET("groups/{id}/members") Call<ItemReader<User>> getGroupMembers(@Path("id") String id);
+
+  /**
+   * Returns {@link Users} that contribute to a group with a given ID.
+   *
+   * @param id ID of the group to get contributors for.
+   * @return A reader over the items of the page.
+   */
+  @SkipCallbackExecutor
+  @GET("groups/{id}/contributors") Call<ItemReader<User>> getGroupContributors(
+      @Path("id") String id);
+
+  /**
+   * Returns all {@link Users} that are associated with a group with a given ID.
+   *
+   * @param id ID of the group to get all users for.
+   * @return A reader over the items of the page.
+   */
+  @SkipCallbackExecutor
+  @GET("groups/{id}/users") Call<ItemReader<User>> getGroupUsers(@Path("id") String id);
+
+  /**
+   * Returns {@link Tracks} that were submitted to a group with a given ID, but have not yet been
+   * approved.
+   *
+   * @param id ID of the group to get pending tracks for.
+   * @return A reader over the items of the page.
+   */
+  @SkipCallbackExecutor
+  @GET("groups/{id}/pending_tracks") Call<ItemReader<Track>> getGroupPendingTracks(
+      @Path("id") String id);
+
+  /**
+   * Returns {@link Tracks} that were contributed to a group with a given ID. For moderators.
+   *
+   * @param id ID of the group to get pending tracks for.
+   * @return A reader over the items of the page.
+   */
+  @SkipCallbackExecutor
+  @GET("groups/{id}/contributions") Call<ItemReader<Track>> getGroupContributions(
+      @Path("id") String id);
+
+  /**
+   * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+   *
+   *                                          ~~ Me ~~
+   *
+   * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+   */
+
+  /**
+   * Returns {@link Tracks} for the authenticated user.
+   *
+   * @return A reader over the items of the page.
+   */
+  @SkipCallbackExecutor
+  @GET("me/tracks") Call<ItemReader<Track>> getMyTracks();
+
+  /**
+   * Returns {@link Playlists} for the authenticated user.
+   *
+   * @return A reader over the items of the page.
+   */
+  @SkipCallbackExecutor
+  @GET("me/playlists") Call<ItemReader<Playlist>> getMyPlaylists();
+
+  /**
+   * Returns {@link Users} followed by the authenticated user.
+   *
+   * @return A reader over the items of the page.
+   */
+  @SkipCallbackExecutor
+  @GET("me/followings") Call<ItemReader<User>> getMyFollowings();
+
+  /**
+   * Returns {@link Users} followed by the authenticated user.
+   *
+   * @return A reader over the items of the page.
+   */
+  @SkipCallbackExecutor
+  @GET("me/followers") Call<ItemReader<User>> getMyFollowers();
+
+  /**
+   * Returns {@link Comments} for the authenticated user.
+   *
+   * @return A reader over the items of the page.
+   */
+  @SkipCallbackExecutor
+  @GET("me/comments") Call<ItemReader<Comment>> getMyComments();
+
+  /**
+   * Returns favorited {@link Tracks} for the authenticated user.
+   *
+   * @return A reader over the items of the page.
+   */
+  @SkipCallbackExecutor
+  @GET("me/favorites") Call<ItemReader<Track>> getMyFavorites();
+
+  /**
+   * Returns a list of groups that the authenticated user is a part of.
+   *
+   * @return A reader over the items of the page.
+   */
+  @SkipCallbackExecutor
+  @GET("me/groups") Call<ItemReader<Group>> getMyGroups();
+
+  /**
+   * Returns a list of web profiles that the authenticated user has.
+   *
+   * @return A reader over the items of the page.
+   */
+  @SkipCallbackExecutor
+  @GET("me/web-profiles") Call<ItemReader<WebProfile>> getMyWebProfiles();
+
+  /**
+   * Returns {@link Connections} for the authenticated user.
+   *
+   * @return A reader over the items of the page.
+   */
+  @SkipCallbackExecutor
+  @GET("me/connections") Call<ItemReader<Connection>> getMyConnections();
+}
@@ -0,0 +1,362 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Jacob Lubecki
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jlubecki.soundcloud.webapi.android;
+
+import java.util.HashMap;
+
+import com.jlubecki.soundcloud.webapi.android.models.Comment;
+import com.jlubecki.soundcloud.webapi.android.models.Comments;
+import com.jlubecki.soundcloud.webapi.android.models.Connection;
+import com.jlubecki.soundcloud.webapi.android.models.Connections;
+import com.jlubecki.soundcloud.webapi.android.models.Group;
+import com.jlubecki.soundcloud.webapi.android.models.Groups;
+import com.jlubecki.soundcloud.webapi.android.models.Playlist;
+import com.jlubecki.soundcloud.webapi.android.models.Playlists;
+import com.jlubecki.soundcloud.webapi.android.models.Track;
+import com.jlubecki.soundcloud.webapi.android.models.Tracks;
+import com.jlubecki.soundcloud.webapi.android.models.User;
+import com.jlubecki.soundcloud.webapi.android.models.Users;
+import com.jlubecki.soundcloud.webapi.android.models.WebProfile;
+import com.jlubecki.soundcloud.webapi.android.models.WebProfiles;
+
+import org.reactivestreams.Publisher;
+
+import retrofit2.http.Path;
+import retrofit2.http.GET;
+import retrofit2.http.Query;
+import retrofit2.http.QueryMap;
+
+/**
+ * Contains the methods of {@link SoundCloudService} that return a list, returning a
+ * {@link Publisher} of its items instead. Obtained from {@link SoundCloudAPI#getStreamService()}.
+ *
+ * A publisher walks every page of the result, requesting the next one only once the previous one
+ * was consumed. Items are parsed one at a time as they are requested, so a slow subscriber holds
+ * back reading from the network instead of buffering a page. Each subscription starts from the
+ * first page.
+ */
+@SuppressWarnings("unused") //
+public interface SoundCloudStreamService {
+
+  /**
+   * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+   *
+   *                                       ~~ TRACKS ~~
+   *
+   * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+   */
+
+  /**
+   * Returns {@link Tracks} from a given query.
+   *
+   * @param query The phrase by which to search for tracks.
+   * @return A publisher that emits every item across all pages.
+   */
+  @GET("tracks") Publisher<Track> searchTracks(@Query("q") String query);
+
+  /**
+   * Returns {@link Tracks} from a given set of query parameters.
+   *
+   * <ul>
+   * <li>q - string to search for</li>
+   * <li>tags - comma separated list of tags to search for</li>
+   * <li>filter - described by Track.Filter</li>
+   * <li>license - described by Track.License</li>
+   * <li>bpm[from] - minimum bpm of results</li>
+   * <li>bpm[to] - maximum bpm of results</li>
+   * <li>duration[from] - minimum duration of results, in milliseconds</li>
+   * <li>duration[to] - maximum duration of results, in milliseconds</li>
+   * <li>created_at[from] - earliest date of results, format: "yyyy-mm-dd hh:mm:ss"</li>
+   * <li>created_at[to] - latest date of results, format: "yyyy-mm-dd hh:mm:ss"</li>
+   * <li>ids - comma separated list of tracks ids</li>
+   * <li>genres - comma separated list of genres</li>
+   * <li>types - comma separated list of types described by Track.Type</li>
+   * </ul>
+   *
+   * @param queries {@link HashMap} of query params and corresponding values.
+   * @return A publisher that emits every item across all pages.
+   */
+  @GET("tracks") Publisher<Track> searchTracks(@QueryMap HashMap<String, String> queries);
+
+  /**
+   * Get {@link Comments} for a given track ID.
+   *
+   * @param trackId ID of track.
+   * @return A publisher that emits every item across all pages.
+   */
+  @GET("tracks/{id}/comments") Publisher<Comment> getTrackComments(@Path("id") String trackId);
+
+  /**
+   * Returns a {@link Users} who favorited a track.
+   *
+   * @param trackId of the track to get favoriters from.
+   * @return A publisher that emits every item across all pages.
+   */
+  @GET("tracks/{id}/favoriters") Publisher<User> getTrackFavoriters(@Path("id") String trackId);
+
+  /**
+   * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+   *
+   *                                        ~~ USERS ~~
+   *
+   * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+   */
+
+  /**
+   * Returns a list of {@link Users} from a given query.
+   *
+   * @param query The phrase by which to search for users.
+   * @return A publisher that emits every item across all pages.
+   */
+  @GET("users") Publisher<User> searchUsers(@Query("q") String query);
+
+  /**
+   * Returns {@link Tracks} for a user with a given ID.
+   *
+   * @param userId ID for the user to get tracks for.
+   * @return A publisher that emits every item across all pages.
+   */
+  @GET("users/{id}/tracks") Publisher<Track> getUserTracks(@Path("id") String userId);
+
+  /**
+   * Returns {@link Playlists} for a user with a given ID.
+   *
+   * @param userId ID for the user to get playlists for.
+   * @return A publisher that emits every item across all pages.
+   */
+  @GET("users/{id}/playlists") Publisher<Playlist> getUserPlaylists(@Path("id") String userId);
+
+  /**
+   * Returns {@link Users} followed by a user with a given ID.
+   *
+   * @param userId ID of the user to get the followings for.
+   * @return A publisher that emits every item across all pages.
+   */
+  @GET("users/{id}/followings") Publisher<User> getUserFollowings(@Path("id") String userId);
+
+  /**
+   * Returns {@link Users} followed by a user with a given ID.
+   *
+   * @param userId ID of a user to get the followers for.
+   * @return A publisher that emits every item across all pages.
+   */
+  @GET("users/{id}/followers") Publisher<User> getUserFollowers(@Path("id") String userId);
+
+  /**
+   * Returns {@link Comments} for a user with a given ID.
+   *
+   * @param userId ID of the user to get comments for.
+   * @return A publisher that emits every item across all pages.
+   */
+  @GET("users/{id}/comments") Publisher<Comment> getUserComments(@Path("id") String userId);
+
+  /**
+   * Returns favorited {@link Tracks} for a user with a given ID.
+   *
+   * @param userId ID of the user to get favorites for.
+   * @return A publisher that emits every item across all pages.
+   */
+  @GET("users/{id}/favorites") Publisher<Track> getUserFavorites(@Path("id") String userId);
+
+  /**
+   * Returns a {@link Groups} that a user with a given ID is a part of.
+   *
+   * @param userId ID of the user.
+   * @return A publisher that emits every item across all pages.
+   */
+  @GET("users/{id}/groups") Publisher<Group> getUserGroups(@Path("id") String userId);
+
+  /**
+   * Returns {@link WebProfiles} that a user with a given ID is a part of.
+   *
+   * @param userId ID of the user.
+   * @return A publisher that emits every item across all pages.
+   */
+  @GET("users/{id}/web-profiles") Publisher<WebProfile> getUserWebProfiles(
+      @Path("id") String userId);
+
+  /**
+   * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+   *
+   *                                      ~~ PLAYLISTS ~~
+   *
+   * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+   */
+
+  /**
+   * Returns {@link Playlists} based on a given query.
+   *
+   * @param query The phrase by which to search for playlists.
+   * @return A publisher that emits every item across all pages.
+   */
+  @GET("playlists") Publisher<Playlist> getPlaylists(@Query("q") String query);
+
+  /**
+   * Returns {@link Playlists} based on a given query with a representation parameter.
+   *
+   * @param query The phrase by which to search for playlists.
+   * @param representation Accepted values: "compact" or "id"
+   * @return A publisher that emits every item across all pages.
+   */
+  @GET("playlists") Publisher<Playlist> getPlaylists(@Query("q") String query,
+      @Query("representation") String representation);
+
+  /**
+   * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+   *
+   * ~~ GROUPS ~~
+   *
+   * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+   */
+
+  /**
+   * Returns {@link Groups} based on a given query.
+   *
+   * @param query The phrase by which to search for groups.
+   * @return A publisher that emits every item across all pages.
+   */
+  @GET("groups") Publisher<Group> searchGroups(@Query("q") String query);
+
+  /**
+   * Returns {@link Users} that moderate a group with a given ID.
+   *
+   * @param id ID of the group to get moderators for.
+   * @return A publisher that emits every item across all pages.
+   */
+  @GET("groups/{id}/moderators") Publisher<User> getGroupModerators(@Path("id") String id);
+
+  /**
+   * Returns {@link Users} that are in a group with a given ID.
+   *
+   * @param id ID of the group to get members for.
+   * @return A publisher that emits every item across all pages.
+   */
+  @GET("groups/{id}/members") Publisher<User> getGroupMembers(@Path("id") String id);
+
+  /**
+   * Returns {@link Users} that contribute to a group with a given ID.
+   *
+   * @param id ID of the group to get contributors for.
+   * @return A publisher that emits every item across all pages.
+   */
+  @GET("groups/{id}/contributors") Publisher<User> getGroupContributors(@Path("id") String id);
+
+  /**
+   * Returns all {@link Users} that are associated with a group with a given ID.
+   *
+   * @param id ID of the group to get all users for.
+   * @return A publisher that emits every item across all pages.
+   */
+  @GET("groups/{id}/users") Publisher<User> getGroupUsers(@Path("id") String id);
+
+  /**
+   * Returns {@link Tracks} that were submitted to a group with a given ID, but have not yet been
+   * approved.
+   *
+   * @param id ID of the group to get pending tracks for.
+   * @return A publisher that emits every item across all pages.
+   */
+  @GET("groups/{id}/pending_tracks") Publisher<Track> getGroupPendingTracks(
+      @Path("id") String id);
+
+  /**
+   * Returns {@link Tracks} that were contributed to a group with a given ID. For moderators.
+   *
+   * @param id ID of the group to get pending tracks for.
+   * @return A publisher that emits every item across all pages.
+   */
+  @GET("groups/{id}/contributions") Publisher<Track> getGroupContributions(@Path("id") String id);
+
+  /**
+   * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+   *
+   *                                          ~~ Me ~~
+   *
+   * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+   */
+
+  /**
+   * Returns {@link Tracks} for the authenticated user.
+   *
+   * @return A publisher that emits every item across all pages.
+   */
+  @GET("me/tracks") Publisher<Track> getMyTracks();
+
+  /**
+   * Returns {@link Playlists} for the authenticated user.
+   *
+   * @return A publisher that emits every item across all pages.
+   */
+  @GET("me/playlists") Publisher<Playlist> getMyPlaylists();
+
+  /**
+   * Returns {@link Users} followed by the authenticated user.
+   *
+   * @return A publisher that emits every item across all pages.
+   */
+  @GET("me/followings") Publisher<User> getMyFollowings();
+
+  /**
+   * Returns {@link Users} followed by the authenticated user.
+   *
+   * @return A publisher that emits every item across all pages.
+   */
+  @GET("me/followers") Publisher<User> getMyFollowers();
+
+  /**
+   * Returns {@link Comments} for the authenticated user.
+   *
+   * @return A publisher that emits every item across all pages.
+   */
+  @GET("me/comments") Publisher<Comment> getMyComments();
+
+  /**
+   * Returns favorited {@link Tracks} for the authenticated user.
+   *
+   * @return A publisher that emits every item across all pages.
+   */
+  @GET("me/favorites") Publisher<Track> getMyFavorites();
+
+  /**
+   * Returns a list of groups that the authenticated user is a part of.
+   *
+   * @return A publisher that emits every item across all pages.
+   */
+  @GET("me/groups") Publisher<Group> getMyGroups();
+
+  /**
+   * Returns a list of web profiles that the authenticated user has.
+   *
+   * @return A publisher that emits every item across all pages.
+   */
+  @GET("me/web-profiles") Publisher<WebProfile> getMyWebProfiles();
+
+  /**
+   * Returns {@link Connections} for the authenticated user.
+   *
+   * @return A publisher that emits every item across all pages.
+   */
+  @GET("me/connections") Publisher<Connection> getMyConnections();
+}
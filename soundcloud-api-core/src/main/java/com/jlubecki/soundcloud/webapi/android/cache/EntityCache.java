@@ -0,0 +1,350 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Jacob Lubecki
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jlubecki.soundcloud.webapi.android.cache;
+
+import com.jlubecki.soundcloud.webapi.android.models.Group;
+import com.jlubecki.soundcloud.webapi.android.models.Track;
+import com.jlubecki.soundcloud.webapi.android.models.User;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In memory cache of parsed {@link Track}, {@link User} and {@link Group} objects keyed by their
+ * ID and the credential they were fetched with. Each type has its own least recently used region
+ * with a maximum size and a time to live.
+ *
+ * Entities fetched for one user are never served to another, since private tracks and fields like
+ * {@link Track#user_favorite} depend on who asked. Entities fetched without a credential are kept
+ * under a null credential. Cached objects are shared between every caller with the same
+ * credential, so they should be treated as read only.
+ *
+ * All methods are thread safe.
+ */
+public class EntityCache {
+
+  public static final int DEFAULT_MAX_ENTRIES = 500;
+  public static final long DEFAULT_TTL_MINUTES = 5;
+
+  private final Region<Track> tracks;
+  private final Region<User> users;
+  private final Region<Group> groups;
+
+  /**
+   * Creates a cache that holds up to {@link #DEFAULT_MAX_ENTRIES} entries of each type for
+   * {@link #DEFAULT_TTL_MINUTES} minutes.
+   */
+  public EntityCache() {
+    this(DEFAULT_MAX_ENTRIES, DEFAULT_TTL_MINUTES, TimeUnit.MINUTES);
+  }
+
+  /**
+   * Creates a cache with the same bounds for every type.
+   *
+   * @param maxEntriesPerType Maximum number of entries kept for each type.
+   * @param ttl How long an entry may be served after it was stored.
+   * @param unit Unit of the ttl.
+   */
+  public EntityCache(int maxEntriesPerType, long ttl, TimeUnit unit) {
+    tracks = new Region<>(maxEntriesPerType, unit.toNanos(ttl));
+    users = new Region<>(maxEntriesPerType, unit.toNanos(ttl));
+    groups = new Region<>(maxEntriesPerType, unit.toNanos(ttl));
+  }
+
+  /**
+   * Changes the bounds for a single type. Existing entries are trimmed to the new size.
+   *
+   * @param type {@link Track}, {@link User} or {@link Group}.
+   * @param maxEntries Maximum number of entries kept for the type.
+   * @param ttl How long an entry may be served after it was stored.
+   * @param unit Unit of the ttl.
+   * @return This cache, so policies can be chained.
+   */
+  public EntityCache setPolicy(Class<?> type, int maxEntries, long ttl, TimeUnit unit) {
+    region(type).setPolicy(maxEntries, unit.toNanos(ttl));
+
+    return this;
+  }
+
+  /**
+   * @param type The class of the entity.
+   * @return true if entities of the given type can be cached.
+   */
+  public static boolean isCacheable(Class<?> type) {
+    return type == Track.class || type == User.class || type == Group.class;
+  }
+
+  /**
+   * Looks up an entity that was stored without a credential.
+   *
+   * @param type {@link Track}, {@link User} or {@link Group}.
+   * @param id ID of the entity.
+   * @return The entity, or null if it isn't cached or has expired.
+   */
+  public <T> T get(Class<T> type, String id) {
+    return get(type, null, id);
+  }
+
+  /**
+   * Looks up an entity that was stored with the given credential.
+   *
+   * @param type {@link Track}, {@link User} or {@link Group}.
+   * @param credential The {@code Authorization} the entity was fetched with, or null.
+   * @param id ID of the entity.
+   * @return The entity, or null if it isn't cached or has expired.
+   */
+  public <T> T get(Class<T> type, String credential, String id) {
+    return type.cast(region(type).get(credential, id));
+  }
+
+  /**
+   * Stores an entity under its ID without a credential. Entities without an ID are ignored.
+   *
+   * @param entity A {@link Track}, {@link User} or {@link Group}.
+   */
+  public void put(Object entity) {
+    put(null, entity);
+  }
+
+  /**
+   * Stores an entity under its ID for the given credential. Entities without an ID are ignored.
+   *
+   * @param credential The {@code Authorization} the entity was fetched with, or null.
+   * @param entity A {@link Track}, {@link User} or {@link Group}.
+   */
+  public void put(String credential, Object entity) {
+    if (entity instanceof Track) {
+      tracks.put(credential, ((Track) entity).id, (Track) entity);
+    } else if (entity instanceof User) {
+      users.put(credential, ((User) entity).id, (User) entity);
+    } else if (entity instanceof Group) {
+      groups.put(credential, ((Group) entity).id, (Group) entity);
+    }
+  }
+
+  /**
+   * Removes a single entity for every credential.
+   *
+   * @param type {@link Track}, {@link User} or {@link Group}.
+   * @param id ID of the entity.
+   */
+  public void invalidate(Class<?> type, String id) {
+    region(type).remove(id);
+  }
+
+  /**
+   * Removes every entity. Stats are not reset.
+   */
+  public void clear() {
+    tracks.clear();
+    users.clear();
+    groups.clear();
+  }
+
+  /**
+   * @param type {@link Track}, {@link User} or {@link Group}.
+   * @return A snapshot of the counters for the given type.
+   */
+  public Stats getStats(Class<?> type) {
+    return region(type).stats();
+  }
+
+  private Region<?> region(Class<?> type) {
+    if (type == Track.class) {
+      return tracks;
+    } else if (type == User.class) {
+      return users;
+    } else if (type == Group.class) {
+      return groups;
+    }
+
+    throw new IllegalArgumentException("Type can't be cached: " + type);
+  }
+
+  /**
+   * Snapshot of the counters for one type of entity.
+   */
+  public static class Stats {
+    public final long hitCount;
+    public final long missCount;
+    public final long putCount;
+    public final long evictionCount;
+    public final long expirationCount;
+    public final int size;
+
+    Stats(long hitCount, long missCount, long putCount, long evictionCount, long expirationCount,
+        int size) {
+      this.hitCount = hitCount;
+      this.missCount = missCount;
+      this.putCount = putCount;
+      this.evictionCount = evictionCount;
+      this.expirationCount = expirationCount;
+      this.size = size;
+    }
+
+    @Override public String toString() {
+      return "Stats{hits=" + hitCount
+          + ", misses=" + missCount
+          + ", puts=" + putCount
+          + ", evictions=" + evictionCount
+          + ", expirations=" + expirationCount
+          + ", size=" + size
+          + '}';
+    }
+  }
+
+  /**
+   * ID of an entity and the credential it was fetched with.
+   */
+  private static final class Key {
+    final String credential;
+    final String id;
+
+    Key(String credential, String id) {
+      this.credential = credential;
+      this.id = id;
+    }
+
+    @Override public boolean equals(Object o) {
+      if (!(o instanceof Key)) {
+        return false;
+      }
+
+      Key other = (Key) o;
+      return id.equals(other.id)
+          && (credential == null ? other.credential == null : credential.equals(other.credential));
+    }
+
+    @Override public int hashCode() {
+      return 31 * id.hashCode() + (credential != null ? credential.hashCode() : 0);
+    }
+  }
+
+  private static class Entry<T> {
+    final T value;
+    final long storedAt;
+
+    Entry(T value, long storedAt) {
+      this.value = value;
+      this.storedAt = storedAt;
+    }
+  }
+
+  /**
+   * Access ordered map guarded by its own lock, so lookups of different types never contend.
+   */
+  private static class Region<T> {
+    private final LinkedHashMap<Key, Entry<T>> map = new LinkedHashMap<>(16, 0.75f, true);
+
+    private int maxEntries;
+    private long ttlNanos;
+
+    private long hitCount;
+    private long missCount;
+    private long putCount;
+    private long evictionCount;
+    private long expirationCount;
+
+    Region(int maxEntries, long ttlNanos) {
+      setPolicy(maxEntries, ttlNanos);
+    }
+
+    synchronized void setPolicy(int maxEntries, long ttlNanos) {
+      if (maxEntries < 0) {
+        throw new IllegalArgumentException("maxEntries < 0: " + maxEntries);
+      }
+
+      this.maxEntries = maxEntries;
+      this.ttlNanos = ttlNanos;
+
+      trim();
+    }
+
+    synchronized T get(String credential, String id) {
+      if (id == null) {
+        missCount++;
+        return null;
+      }
+
+      Key key = new Key(credential, id);
+      Entry<T> entry = map.get(key);
+
+      if (entry == null) {
+        missCount++;
+        return null;
+      }
+
+      if (System.nanoTime() - entry.storedAt > ttlNanos) {
+        map.remove(key);
+        expirationCount++;
+        missCount++;
+        return null;
+      }
+
+      hitCount++;
+      return entry.value;
+    }
+
+    synchronized void put(String credential, String id, T value) {
+      if (id == null || maxEntries == 0) {
+        return;
+      }
+
+      map.put(new Key(credential, id), new Entry<>(value, System.nanoTime()));
+      putCount++;
+
+      trim();
+    }
+
+    synchronized void remove(String id) {
+      Iterator<Key> iterator = map.keySet().iterator();
+
+      while (iterator.hasNext()) {
+        if (iterator.next().id.equals(id)) {
+          iterator.remove();
+        }
+      }
+    }
+
+    synchronized void clear() {
+      map.clear();
+    }
+
+    synchronized Stats stats() {
+      return new Stats(hitCount, missCount, putCount, evictionCount, expirationCount, map.size());
+    }
+
+    private void trim() {
+      Iterator<Map.Entry<Key, Entry<T>>> iterator = map.entrySet().iterator();
+
+      while (map.size() > maxEntries && iterator.hasNext()) {
+        iterator.next();
+        iterator.remove();
+        evictionCount++;
+      }
+    }
+  }
+}
@@ -0,0 +1,307 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Jacob Lubecki
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jlubecki.soundcloud.webapi.android.cache;
+
+import com.jlubecki.soundcloud.webapi.android.http.RequestSigner;
+import com.jlubecki.soundcloud.webapi.android.models.Group;
+import com.jlubecki.soundcloud.webapi.android.models.Track;
+import com.jlubecki.soundcloud.webapi.android.models.User;
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.concurrent.Executor;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import retrofit2.Call;
+import retrofit2.CallAdapter;
+import retrofit2.Callback;
+import retrofit2.Response;
+import retrofit2.Retrofit;
+import retrofit2.SkipCallbackExecutor;
+import retrofit2.http.GET;
+
+/**
+ * Serves {@link Track}, {@link User} and {@link Group} lookups by ID from an {@link EntityCache}
+ * and stores every entity returned by other endpoints, so a lookup after a search or list call is
+ * answered without a request or any parsing. Entities are cached per credential, so a lookup only
+ * returns entities that were fetched on behalf of the same user.
+ */
+public class EntityCacheCallAdapterFactory extends CallAdapter.Factory {
+
+  /**
+   * Finds the credential a request is made with, including credentials that are only added to the
+   * request after it leaves Retrofit.
+   */
+  public interface CredentialFunction {
+    String credential(Request request);
+  }
+
+  private final EntityCache cache;
+  private final CredentialFunction credentialFunction;
+
+  /**
+   * Keys entities by the {@code Authorization} header that Retrofit's request carries.
+   */
+  public EntityCacheCallAdapterFactory(EntityCache cache) {
+    this(cache, new CredentialFunction() {
+      @Override public String credential(Request request) {
+        return request.header(RequestSigner.AUTHORIZATION);
+      }
+    });
+  }
+
+  public EntityCacheCallAdapterFactory(EntityCache cache, CredentialFunction credentialFunction) {
+    this.cache = cache;
+    this.credentialFunction = credentialFunction;
+  }
+
+  @Override public CallAdapter<?, ?> get(Type returnType, Annotation[] annotations,
+      Retrofit retrofit) {
+
+    if (getRawType(returnType) != Call.class || !(returnType instanceof ParameterizedType)) {
+      return null;
+    }
+
+    Type responseType = getParameterUpperBound(0, (ParameterizedType) returnType);
+    Class<?> rawResponseType = getRawType(responseType);
+
+    Class<?> lookupType = null;
+    boolean isList = false;
+
+    if (EntityCache.isCacheable(rawResponseType)) {
+      lookupType = lookupType(annotations);
+
+      if (lookupType != null && lookupType != rawResponseType) {
+        lookupType = null;
+      }
+    } else if (rawResponseType == List.class && responseType instanceof ParameterizedType) {
+      Type itemType = getParameterUpperBound(0, (ParameterizedType) responseType);
+
+      if (!EntityCache.isCacheable(getRawType(itemType))) {
+        return null;
+      }
+
+      isList = true;
+    } else {
+      return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    CallAdapter<Object, Call<Object>> delegate =
+        (CallAdapter<Object, Call<Object>>) retrofit.nextCallAdapter(this, returnType, annotations);
+
+    Executor callbackExecutor = skipsCallbackExecutor(annotations)
+        ? null
+        : retrofit.callbackExecutor();
+
+    return new EntityCacheCallAdapter(delegate, lookupType, isList, callbackExecutor);
+  }
+
+  private static boolean skipsCallbackExecutor(Annotation[] annotations) {
+    for (Annotation annotation : annotations) {
+      if (annotation instanceof SkipCallbackExecutor) {
+        return true;
+      }
+    }
+
+    return false;
+  }
+
+  /**
+   * Finds the type that an endpoint looks up by ID, if it is one of the cached lookups.
+   */
+  private static Class<?> lookupType(Annotation[] annotations) {
+    for (Annotation annotation : annotations) {
+      if (annotation instanceof GET) {
+        String path = ((GET) annotation).value();
+
+        if ("tracks/{id}".equals(path)) {
+          return Track.class;
+        } else if ("users/{id}".equals(path)) {
+          return User.class;
+        } else if ("groups/{id}".equals(path)) {
+          return Group.class;
+        }
+      }
+    }
+
+    return null;
+  }
+
+  private final class EntityCacheCallAdapter implements CallAdapter<Object, Call<Object>> {
+    private final CallAdapter<Object, Call<Object>> delegate;
+    private final Class<?> lookupType;
+    private final boolean isList;
+    private final Executor callbackExecutor;
+
+    EntityCacheCallAdapter(CallAdapter<Object, Call<Object>> delegate, Class<?> lookupType,
+        boolean isList, Executor callbackExecutor) {
+      this.delegate = delegate;
+      this.lookupType = lookupType;
+      this.isList = isList;
+      this.callbackExecutor = callbackExecutor;
+    }
+
+    @Override public Type responseType() {
+      return delegate.responseType();
+    }
+
+    @Override public Call<Object> adapt(Call<Object> call) {
+      return new EntityCacheCall(delegate.adapt(call), this);
+    }
+  }
+
+  private final class EntityCacheCall implements Call<Object> {
+    private final Call<Object> delegate;
+    private final EntityCacheCallAdapter adapter;
+
+    private volatile boolean executed;
+    private volatile boolean canceled;
+
+    EntityCacheCall(Call<Object> delegate, EntityCacheCallAdapter adapter) {
+      this.delegate = delegate;
+      this.adapter = adapter;
+    }
+
+    @Override public Response<Object> execute() throws IOException {
+      final String credential = credentialFunction.credential(delegate.request());
+      Object cached = lookup(credential);
+
+      if (cached != null) {
+        executed = true;
+
+        return cachedResponse(cached);
+      }
+
+      Response<Object> response = delegate.execute();
+      store(credential, response);
+
+      return response;
+    }
+
+    @Override public void enqueue(final Callback<Object> callback) {
+      final String credential = credentialFunction.credential(delegate.request());
+      final Object cached = lookup(credential);
+
+      if (cached != null) {
+        executed = true;
+
+        Runnable deliver = new Runnable() {
+          @Override public void run() {
+            if (canceled) {
+              callback.onFailure(EntityCacheCall.this, new IOException("Canceled"));
+            } else {
+              callback.onResponse(EntityCacheCall.this, cachedResponse(cached));
+            }
+          }
+        };
+
+        if (adapter.callbackExecutor != null) {
+          adapter.callbackExecutor.execute(deliver);
+        } else {
+          deliver.run();
+        }
+
+        return;
+      }
+
+      delegate.enqueue(new Callback<Object>() {
+        @Override public void onResponse(Call<Object> call, Response<Object> response) {
+          store(credential, response);
+          callback.onResponse(EntityCacheCall.this, response);
+        }
+
+        @Override public void onFailure(Call<Object> call, Throwable t) {
+          callback.onFailure(EntityCacheCall.this, t);
+        }
+      });
+    }
+
+    @Override public boolean isExecuted() {
+      return executed || delegate.isExecuted();
+    }
+
+    @Override public void cancel() {
+      canceled = true;
+      delegate.cancel();
+    }
+
+    @Override public boolean isCanceled() {
+      return canceled || delegate.isCanceled();
+    }
+
+    @SuppressWarnings("CloneDoesntCallSuperClone")
+    @Override public Call<Object> clone() {
+      return new EntityCacheCall(delegate.clone(), adapter);
+    }
+
+    @Override public Request request() {
+      return delegate.request();
+    }
+
+    private Object lookup(String credential) {
+      if (adapter.lookupType == null) {
+        return null;
+      }
+
+      List<String> segments = delegate.request().url().pathSegments();
+
+      if (segments.size() != 2) {
+        return null;
+      }
+
+      return cache.get(adapter.lookupType, credential, segments.get(1));
+    }
+
+    private void store(String credential, Response<Object> response) {
+      Object body = response.body();
+
+      if (!response.isSuccessful() || body == null) {
+        return;
+      }
+
+      if (adapter.isList) {
+        for (Object item : (List<?>) body) {
+          cache.put(credential, item);
+        }
+      } else {
+        cache.put(credential, body);
+      }
+    }
+
+    private Response<Object> cachedResponse(Object body) {
+      okhttp3.Response raw = new okhttp3.Response.Builder()
+          .code(200)
+          .message("OK")
+          .protocol(Protocol.HTTP_1_1)
+          .request(delegate.request())
+          .build();
+
+      return Response.success(body, raw);
+    }
+  }
+}
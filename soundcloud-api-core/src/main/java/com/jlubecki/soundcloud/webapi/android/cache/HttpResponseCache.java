@@ -0,0 +1,289 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Jacob Lubecki
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jlubecki.soundcloud.webapi.android.cache;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import okhttp3.Cache;
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * Disk backed cache for responses from the SoundCloud API. Responses are stored and revalidated
+ * according to their cache headers, so a stale response with an ETag or Last-Modified header is
+ * revalidated with a conditional request instead of being downloaded again.
+ *
+ * SoundCloud does not send cache headers for every endpoint. A time to live can be set for an
+ * endpoint with {@link #setTtl(String, long, TimeUnit)}, which is used only when the server did not
+ * send any.
+ *
+ * One instance should be used per directory. Pass the same instance to every
+ * {@link com.jlubecki.soundcloud.webapi.android.SoundCloudAPI.Builder} that should share it.
+ */
+public class HttpResponseCache {
+
+  private final Cache cache;
+  private final List<TtlRule> ttlRules = new CopyOnWriteArrayList<>();
+
+  private final AtomicLong hitCount = new AtomicLong();
+  private final AtomicLong missCount = new AtomicLong();
+  private final AtomicLong revalidationCount = new AtomicLong();
+  private final AtomicLong notModifiedCount = new AtomicLong();
+  private final AtomicLong bytesSaved = new AtomicLong();
+
+  private final Interceptor statsInterceptor = new StatsInterceptor();
+  private final Interceptor networkInterceptor = new NetworkInterceptor();
+
+  /**
+   * Creates a cache.
+   *
+   * @param directory Directory to write responses to. Should be private to the application.
+   * @param maxSizeBytes Maximum size of the cache. The least recently used responses are evicted
+   *                     when it is exceeded.
+   */
+  public HttpResponseCache(File directory, long maxSizeBytes) {
+    this.cache = new Cache(directory, maxSizeBytes);
+  }
+
+  /**
+   * Sets how long responses from an endpoint may be used without revalidation when the server
+   * sends no cache headers. Endpoints are written the same way as in
+   * {@link com.jlubecki.soundcloud.webapi.android.SoundCloudService}, for example
+   * {@code "tracks/{id}"} or {@code "users/{id}/playlists"}.
+   *
+   * @param endpoint The relative path of the endpoint.
+   * @param ttl How long responses are fresh.
+   * @param unit Unit of the ttl.
+   * @return This cache, so rules can be chained.
+   */
+  public HttpResponseCache setTtl(String endpoint, long ttl, TimeUnit unit) {
+    ttlRules.add(new TtlRule(endpoint, unit.toSeconds(ttl)));
+
+    return this;
+  }
+
+  /**
+   * @return The underlying OkHttp cache.
+   */
+  public Cache getCache() {
+    return cache;
+  }
+
+  /**
+   * @return Interceptor that counts hits and misses. Should be added as an application interceptor.
+   */
+  public Interceptor getStatsInterceptor() {
+    return statsInterceptor;
+  }
+
+  /**
+   * @return Interceptor that applies ttl overrides and keeps responses to authenticated requests
+   *         apart. Should be added as a network interceptor.
+   */
+  public Interceptor getNetworkInterceptor() {
+    return networkInterceptor;
+  }
+
+  /**
+   * @return The number of responses served from disk without touching the network.
+   */
+  public long getHitCount() {
+    return hitCount.get();
+  }
+
+  /**
+   * @return The number of responses downloaded in full.
+   */
+  public long getMissCount() {
+    return missCount.get();
+  }
+
+  /**
+   * @return The number of conditional requests made to revalidate a stale response.
+   */
+  public long getRevalidationCount() {
+    return revalidationCount.get();
+  }
+
+  /**
+   * @return The number of revalidations that confirmed the stored response was still current.
+   */
+  public long getNotModifiedCount() {
+    return notModifiedCount.get();
+  }
+
+  /**
+   * @return The number of response body bytes that did not have to be downloaded, based on the
+   *         Content-Length of the stored responses that were served.
+   */
+  public long getBytesSaved() {
+    return bytesSaved.get();
+  }
+
+  /**
+   * Removes every stored response. Counters are not reset.
+   *
+   * @throws IOException if the cache directory could not be cleared.
+   */
+  public void evictAll() throws IOException {
+    cache.evictAll();
+  }
+
+  private class StatsInterceptor implements Interceptor {
+    @Override public Response intercept(Chain chain) throws IOException {
+      Response response = chain.proceed(chain.request());
+
+      Response networkResponse = response.networkResponse();
+      Response cacheResponse = response.cacheResponse();
+
+      if (networkResponse == null && cacheResponse != null) {
+        hitCount.incrementAndGet();
+        addBytesSaved(cacheResponse);
+      } else if (networkResponse != null && cacheResponse != null) {
+        revalidationCount.incrementAndGet();
+
+        if (networkResponse.code() == 304) {
+          notModifiedCount.incrementAndGet();
+          addBytesSaved(cacheResponse);
+        } else {
+          missCount.incrementAndGet();
+        }
+      } else if (networkResponse != null) {
+        missCount.incrementAndGet();
+      }
+
+      return response;
+    }
+
+    private void addBytesSaved(Response cacheResponse) {
+      String length = cacheResponse.header("Content-Length");
+
+      if (length != null) {
+        try {
+          bytesSaved.addAndGet(Long.parseLong(length));
+        } catch (NumberFormatException ignored) {
+          // Length is unknown, nothing to count.
+        }
+      }
+    }
+  }
+
+  private class NetworkInterceptor implements Interceptor {
+    @Override public Response intercept(Chain chain) throws IOException {
+      Request request = chain.request();
+      Response response = chain.proceed(request);
+
+      if (!"GET".equals(request.method()) || response.code() != 200) {
+        return response;
+      }
+
+      Response.Builder builder = null;
+
+      // Tokens are sent in a header rather than the URL, so responses for different users would
+      // share a cache key unless they vary by it.
+      if (request.header("Authorization") != null && !variesByAuthorization(response)) {
+        String vary = response.header("Vary");
+
+        builder = response.newBuilder()
+            .header("Vary", vary != null ? vary + ", Authorization" : "Authorization");
+      }
+
+      if (!ttlRules.isEmpty()
+          && response.header("Cache-Control") == null
+          && response.header("Expires") == null) {
+
+        List<String> segments = request.url().pathSegments();
+
+        for (TtlRule rule : ttlRules) {
+          if (rule.matches(segments)) {
+            if (builder == null) {
+              builder = response.newBuilder();
+            }
+
+            builder.header("Cache-Control", "max-age=" + rule.seconds);
+            break;
+          }
+        }
+      }
+
+      return builder != null ? builder.build() : response;
+    }
+
+    private boolean variesByAuthorization(Response response) {
+      for (String vary : response.headers("Vary")) {
+        for (String field : vary.split(",")) {
+          String name = field.trim();
+
+          if ("*".equals(name) || "Authorization".equalsIgnoreCase(name)) {
+            return true;
+          }
+        }
+      }
+
+      return false;
+    }
+  }
+
+  /**
+   * Matches request paths against an endpoint in which path parameters like {@code {id}} match any
+   * single segment.
+   */
+  private static class TtlRule {
+    final String[] segments;
+    final long seconds;
+
+    TtlRule(String endpoint, long seconds) {
+      String path = endpoint.startsWith("/") ? endpoint.substring(1) : endpoint;
+
+      this.segments = path.split("/");
+      this.seconds = seconds;
+    }
+
+    boolean matches(List<String> path) {
+      if (path.size() != segments.length) {
+        return false;
+      }
+
+      for (int i = 0; i < segments.length; i++) {
+        String segment = segments[i];
+
+        if (segment.startsWith("{") && segment.endsWith("}")) {
+          continue;
+        }
+
+        if (!segment.equals(path.get(i))) {
+          return false;
+        }
+      }
+
+      return true;
+    }
+  }
+}
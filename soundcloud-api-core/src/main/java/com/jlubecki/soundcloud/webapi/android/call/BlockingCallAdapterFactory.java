@@ -0,0 +1,177 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Jacob Lubecki
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.jlubecki.soundcloud.webapi.android.call;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import org.reactivestreams.Publisher;
+import retrofit2.Call;
+import retrofit2.CallAdapter;
+import retrofit2.HttpException;
+import retrofit2.Response;
+import retrofit2.Retrofit;
+
+/**
+ * Adapts methods that return a body or a {@link Response} directly, by executing the call on the
+ * calling thread. A body is only returned for a successful response, anything else throws an
+ * {@link HttpException}.
+ *
+ * The number of calls in flight at once is limited by a semaphore rather than by a thread pool,
+ * so callers can use a thread per call, like virtual threads, and simply wait for a permit. Calls
+ * run with {@link Call#execute()}, which the dispatcher's limits don't apply to.
+ *
+ * Like {@link CompletableFutureCallAdapterFactory}, it should be registered first, since the call
+ * it executes is adapted by every factory after it.
+ */
+public final class BlockingCallAdapterFactory extends CallAdapter.Factory {
+
+  public static final int DEFAULT_MAX_CONCURRENT_CALLS = 64;
+
+  private final Semaphore permits;
+  private final int maxConcurrentCalls;
+
+  /**
+   * @param maxConcurrentCalls Maximum number of blocking calls in flight at once.
+   */
+  public BlockingCallAdapterFactory(int maxConcurrentCalls) {
+    if (maxConcurrentCalls < 1) {
+      throw new IllegalArgumentException("maxConcurrentCalls < 1: " + maxConcurrentCalls);
+    }
+
+    this.maxConcurrentCalls = maxConcurrentCalls;
+    this.permits = new Semaphore(maxConcurrentCalls, true);
+  }
+
+  /**
+   * @return Maximum number of blocking calls in flight at once.
+   */
+  public int getMaxConcurrentCalls() {
+    return maxConcurrentCalls;
+  }
+
+  /**
+   * @return Number of blocking calls that could start right now without waiting.
+   */
+  public int getAvailablePermits() {
+    return permits.availablePermits();
+  }
+
+  /**
+   * @return Estimated number of callers waiting for a permit.
+   */
+  public int getQueueLength() {
+    return permits.getQueueLength();
+  }
+
+  @Override public CallAdapter<?, ?> get(Type returnType, Annotation[] annotations,
+      Retrofit retrofit) {
+
+    Class<?> rawType = getRawType(returnType);
+
+    // Left to the other factories.
+    if (rawType == Call.class
+        || rawType == Publisher.class
+        || Future.class.isAssignableFrom(rawType)) {
+      return null;
+    }
+
+    boolean wantsResponse = rawType == Response.class;
+
+    if (wantsResponse && !(returnType instanceof ParameterizedType)) {
+      throw new IllegalStateException(
+          "Response must be parameterized as Response<Foo> or Response<? extends Foo>");
+    }
+
+    Type bodyType = wantsResponse
+        ? getParameterUpperBound(0, (ParameterizedType) returnType)
+        : returnType;
+
+    // Blocking calls have no callbacks to deliver.
+    @SuppressWarnings("unchecked")
+    CallAdapter<Object, Call<Object>> delegate = (CallAdapter<Object, Call<Object>>)
+        retrofit.nextCallAdapter(this, Calls.callOf(bodyType),
+            Calls.skipCallbackExecutor(annotations));
+
+    return new BlockingCallAdapter(delegate, wantsResponse);
+  }
+
+  private final class BlockingCallAdapter implements CallAdapter<Object, Object> {
+    private final CallAdapter<Object, Call<Object>> delegate;
+    private final boolean wantsResponse;
+
+    BlockingCallAdapter(CallAdapter<Object, Call<Object>> delegate, boolean wantsResponse) {
+      this.delegate = delegate;
+      this.wantsResponse = wantsResponse;
+    }
+
+    @Override public Type responseType() {
+      return delegate.responseType();
+    }
+
+    /**
+     * Throws checked exceptions through the interface method, which declares them.
+     */
+    @Override public Object adapt(Call<Object> call) {
+      try {
+        return execute(delegate.adapt(call));
+      } catch (IOException e) {
+        return BlockingCallAdapterFactory.<RuntimeException>sneakyThrow(e);
+      }
+    }
+
+    private Object execute(Call<Object> call) throws IOException {
+      try {
+        permits.acquire();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new InterruptedIOException("Interrupted while waiting for a call permit.");
+      }
+
+      Response<Object> response;
+      try {
+        response = call.execute();
+      } finally {
+        permits.release();
+      }
+
+      if (wantsResponse) {
+        return response;
+      } else if (!response.isSuccessful()) {
+        throw new HttpException(response);
+      }
+
+      return response.body();
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <E extends Throwable> Object sneakyThrow(Throwable t) throws E {
+    throw (E) t;
+  }
+}
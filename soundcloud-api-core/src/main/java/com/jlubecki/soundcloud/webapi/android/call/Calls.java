@@ -0,0 +1,101 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Jacob Lubecki
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.jlubecki.soundcloud.webapi.android.call;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.Arrays;
+import retrofit2.Call;
+import retrofit2.SkipCallbackExecutor;
+
+/**
+ * Helpers for factories that adapt a method by asking Retrofit for the {@code Call<T>} adapter of
+ * the same method.
+ */
+final class Calls {
+
+  private static final Annotation SKIP_CALLBACK_EXECUTOR = new SkipCallbackExecutor() {
+    @Override public Class<? extends Annotation> annotationType() {
+      return SkipCallbackExecutor.class;
+    }
+  };
+
+  private Calls() {
+  }
+
+  /**
+   * @return {@code Call<bodyType>}.
+   */
+  static ParameterizedType callOf(Type bodyType) {
+    return new CallType(bodyType);
+  }
+
+  /**
+   * @return The annotations plus {@link SkipCallbackExecutor}, so the call isn't wrapped to
+   *         deliver its callbacks on the callback executor.
+   */
+  static Annotation[] skipCallbackExecutor(Annotation[] annotations) {
+    Annotation[] result = Arrays.copyOf(annotations, annotations.length + 1);
+    result[annotations.length] = SKIP_CALLBACK_EXECUTOR;
+
+    return result;
+  }
+
+  private static final class CallType implements ParameterizedType {
+    private final Type bodyType;
+
+    CallType(Type bodyType) {
+      this.bodyType = bodyType;
+    }
+
+    @Override public Type[] getActualTypeArguments() {
+      return new Type[] { bodyType };
+    }
+
+    @Override public Type getRawType() {
+      return Call.class;
+    }
+
+    @Override public Type getOwnerType() {
+      return null;
+    }
+
+    @Override public boolean equals(Object other) {
+      return other instanceof ParameterizedType
+          && ((ParameterizedType) other).getRawType() == Call.class
+          && ((ParameterizedType) other).getOwnerType() == null
+          && Arrays.equals(getActualTypeArguments(),
+              ((ParameterizedType) other).getActualTypeArguments());
+    }
+
+    @Override public int hashCode() {
+      return bodyType.hashCode() ^ Call.class.hashCode();
+    }
+
+    @Override public String toString() {
+      return "retrofit2.Call<" + bodyType + ">";
+    }
+  }
+}
@@ -0,0 +1,206 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Jacob Lubecki
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jlubecki.soundcloud.webapi.android.call;
+
+/**
+ * Circuit breaker for a single endpoint. See {@link CircuitBreakerPolicy} for how it trips and
+ * recovers.
+ *
+ * Every call that is let through receives the breaker's current generation, which changes with
+ * every state transition, so the outcome of a call that started before a transition doesn't count
+ * towards the new state.
+ */
+public class CircuitBreaker {
+
+  public enum State {
+    CLOSED, OPEN, HALF_OPEN
+  }
+
+  static final long REJECTED = -1;
+
+  private final CircuitBreakerPolicy policy;
+
+  // Guarded by this.
+  private final boolean[] failed;
+  private final boolean[] slow;
+  private int next;
+  private int size;
+  private int failureCount;
+  private int slowCount;
+
+  private State state = State.CLOSED;
+  private long generation;
+  private long openedAt;
+  private int probesInFlight;
+  private int probeSuccesses;
+
+  private long rejectedCount;
+  private long tripCount;
+
+  CircuitBreaker(CircuitBreakerPolicy policy) {
+    this.policy = policy;
+    this.failed = new boolean[policy.windowSize];
+    this.slow = new boolean[policy.windowSize];
+  }
+
+  /**
+   * @return The generation the call belongs to, or {@link #REJECTED} if it may not be made.
+   */
+  synchronized long tryAcquire(long now) {
+    if (state == State.OPEN) {
+      if (now - openedAt < policy.openNanos) {
+        rejectedCount++;
+        return REJECTED;
+      }
+
+      transition(State.HALF_OPEN);
+    }
+
+    if (state == State.HALF_OPEN) {
+      if (probesInFlight >= policy.halfOpenProbes) {
+        rejectedCount++;
+        return REJECTED;
+      }
+
+      probesInFlight++;
+    }
+
+    return generation;
+  }
+
+  synchronized void onResult(long permit, boolean failure, long latencyNanos, long now) {
+    if (permit != generation) {
+      return;
+    }
+
+    boolean isSlow = latencyNanos >= policy.slowCallNanos;
+
+    if (state == State.HALF_OPEN) {
+      probesInFlight--;
+
+      if (failure || isSlow) {
+        open(now);
+      } else if (++probeSuccesses >= policy.halfOpenProbes) {
+        transition(State.CLOSED);
+      }
+
+      return;
+    }
+
+    record(failure, isSlow);
+
+    if (size >= policy.minimumCalls
+        && (failureRate() >= policy.failureRateThreshold
+        || slowCallRate() >= policy.slowCallRateThreshold)) {
+      open(now);
+    }
+  }
+
+  /**
+   * Releases the permit of a call that was canceled or failed for reasons unrelated to the
+   * endpoint, without recording an outcome.
+   */
+  synchronized void onIgnored(long permit) {
+    if (permit == generation && state == State.HALF_OPEN) {
+      probesInFlight--;
+    }
+  }
+
+  public synchronized State getState() {
+    return state;
+  }
+
+  /**
+   * @return Share of failed calls among the recent calls in the closed state.
+   */
+  public synchronized double getFailureRate() {
+    return failureRate();
+  }
+
+  /**
+   * @return Share of slow calls among the recent calls in the closed state.
+   */
+  public synchronized double getSlowCallRate() {
+    return slowCallRate();
+  }
+
+  /**
+   * @return Number of calls rejected while the breaker was open or probing.
+   */
+  public synchronized long getRejectedCount() {
+    return rejectedCount;
+  }
+
+  /**
+   * @return Number of times the breaker opened.
+   */
+  public synchronized long getTripCount() {
+    return tripCount;
+  }
+
+  private double failureRate() {
+    return size == 0 ? 0 : failureCount / (double) size;
+  }
+
+  private double slowCallRate() {
+    return size == 0 ? 0 : slowCount / (double) size;
+  }
+
+  private void record(boolean failure, boolean isSlow) {
+    if (size == failed.length) {
+      failureCount -= failed[next] ? 1 : 0;
+      slowCount -= slow[next] ? 1 : 0;
+    } else {
+      size++;
+    }
+
+    failed[next] = failure;
+    slow[next] = isSlow;
+    failureCount += failure ? 1 : 0;
+    slowCount += isSlow ? 1 : 0;
+
+    next = (next + 1) % failed.length;
+  }
+
+  private void open(long now) {
+    openedAt = now;
+    tripCount++;
+    transition(State.OPEN);
+  }
+
+  private void transition(State target) {
+    state = target;
+    generation++;
+    probesInFlight = 0;
+    probeSuccesses = 0;
+
+    if (target == State.CLOSED) {
+      next = 0;
+      size = 0;
+      failureCount = 0;
+      slowCount = 0;
+    }
+  }
+}
@@ -0,0 +1,281 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Jacob Lubecki
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jlubecki.soundcloud.webapi.android.call;
+
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import retrofit2.Call;
+import retrofit2.CallAdapter;
+import retrofit2.Callback;
+import retrofit2.Response;
+import retrofit2.Retrofit;
+
+/**
+ * Keeps a {@link CircuitBreaker} per
+ * {@link com.jlubecki.soundcloud.webapi.android.SoundCloudService} method, so an endpoint that
+ * keeps failing or timing out is rejected immediately instead of tying up threads and sockets.
+ * Rejected calls fail with a {@link CircuitBreakerOpenException}, unless a {@link Fallback} for
+ * the method provides a body instead.
+ */
+public class CircuitBreakerCallAdapterFactory extends CallAdapter.Factory {
+
+  /**
+   * Provides a body for calls that were rejected, for example from a cache.
+   */
+  public interface Fallback {
+    /**
+     * @param request The request that was rejected.
+     * @return A body of the type the method returns, or null to fail the call.
+     * @throws IOException to fail the call with a different exception.
+     */
+    Object fallback(Request request) throws IOException;
+  }
+
+  private final CircuitBreakerPolicy defaultPolicy;
+  private final Map<String, CircuitBreakerPolicy> policies = new ConcurrentHashMap<>();
+  private final Map<String, Fallback> fallbacks = new ConcurrentHashMap<>();
+  private final ConcurrentMap<String, CircuitBreaker> breakers = new ConcurrentHashMap<>();
+
+  /**
+   * @param defaultPolicy Policy for methods without their own.
+   */
+  public CircuitBreakerCallAdapterFactory(CircuitBreakerPolicy defaultPolicy) {
+    this.defaultPolicy = defaultPolicy;
+  }
+
+  /**
+   * Sets the policy for a single endpoint. Has no effect once the method was called.
+   *
+   * @param method Name of the {@link com.jlubecki.soundcloud.webapi.android.SoundCloudService}
+   *               method, like {@code "getUserFollowers"}.
+   * @param policy Policy for the method's breaker.
+   * @return This factory, so settings can be chained.
+   */
+  public CircuitBreakerCallAdapterFactory setPolicy(String method, CircuitBreakerPolicy policy) {
+    policies.put(method, policy);
+
+    return this;
+  }
+
+  /**
+   * @param method Name of the {@link com.jlubecki.soundcloud.webapi.android.SoundCloudService}
+   *               method.
+   * @param fallback Provides bodies for the method's rejected calls.
+   * @return This factory, so settings can be chained.
+   */
+  public CircuitBreakerCallAdapterFactory setFallback(String method, Fallback fallback) {
+    fallbacks.put(method, fallback);
+
+    return this;
+  }
+
+  /**
+   * @param method Name of the {@link com.jlubecki.soundcloud.webapi.android.SoundCloudService}
+   *               method.
+   * @return The breaker for the method.
+   */
+  public CircuitBreaker getCircuitBreaker(String method) {
+    CircuitBreaker breaker = breakers.get(method);
+
+    if (breaker == null) {
+      CircuitBreakerPolicy policy = policies.get(method);
+      breaker = new CircuitBreaker(policy != null ? policy : defaultPolicy);
+
+      CircuitBreaker existing = breakers.putIfAbsent(method, breaker);
+      if (existing != null) {
+        breaker = existing;
+      }
+    }
+
+    return breaker;
+  }
+
+  @Override public CallAdapter<?, ?> get(Type returnType, Annotation[] annotations,
+      Retrofit retrofit) {
+
+    if (getRawType(returnType) != Call.class) {
+      return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    final CallAdapter<Object, Object> delegate =
+        (CallAdapter<Object, Object>) retrofit.nextCallAdapter(this, returnType, annotations);
+
+    return new CallAdapter<Object, Object>() {
+      @Override public Type responseType() {
+        return delegate.responseType();
+      }
+
+      @Override public Object adapt(Call<Object> call) {
+        return delegate.adapt(new CircuitBreakerCall(call));
+      }
+    };
+  }
+
+  private static boolean isFailure(Response<?> response) {
+    return response.code() >= 500 || response.code() == 408;
+  }
+
+  private final class CircuitBreakerCall implements Call<Object> {
+    private final Call<Object> delegate;
+
+    private boolean executed; // Guarded by this.
+
+    CircuitBreakerCall(Call<Object> delegate) {
+      this.delegate = delegate;
+    }
+
+    @Override public Response<Object> execute() throws IOException {
+      markExecuted();
+
+      String method = Endpoints.name(delegate.request());
+      CircuitBreaker breaker = getCircuitBreaker(method);
+
+      long start = System.nanoTime();
+      long permit = breaker.tryAcquire(start);
+
+      if (permit == CircuitBreaker.REJECTED) {
+        return rejected(method);
+      }
+
+      Response<Object> response;
+      try {
+        response = delegate.execute();
+      } catch (IOException e) {
+        finish(breaker, permit, start, null, e);
+        throw e;
+      } catch (RuntimeException e) {
+        breaker.onIgnored(permit);
+        throw e;
+      }
+
+      finish(breaker, permit, start, response, null);
+
+      return response;
+    }
+
+    @Override public void enqueue(final Callback<Object> callback) {
+      markExecuted();
+
+      final String method = Endpoints.name(delegate.request());
+      final CircuitBreaker breaker = getCircuitBreaker(method);
+
+      final long start = System.nanoTime();
+      final long permit = breaker.tryAcquire(start);
+
+      if (permit == CircuitBreaker.REJECTED) {
+        Response<Object> response;
+        try {
+          response = rejected(method);
+        } catch (IOException e) {
+          callback.onFailure(this, e);
+          return;
+        }
+
+        callback.onResponse(this, response);
+        return;
+      }
+
+      delegate.enqueue(new Callback<Object>() {
+        @Override public void onResponse(Call<Object> call, Response<Object> response) {
+          finish(breaker, permit, start, response, null);
+          callback.onResponse(CircuitBreakerCall.this, response);
+        }
+
+        @Override public void onFailure(Call<Object> call, Throwable t) {
+          finish(breaker, permit, start, null, t);
+          callback.onFailure(CircuitBreakerCall.this, t);
+        }
+      });
+    }
+
+    private synchronized void markExecuted() {
+      if (executed) {
+        throw new IllegalStateException("Already executed.");
+      }
+
+      executed = true;
+    }
+
+    private void finish(CircuitBreaker breaker, long permit, long start,
+        Response<Object> response, Throwable t) {
+
+      long now = System.nanoTime();
+
+      if (response != null) {
+        breaker.onResult(permit, isFailure(response), now - start, now);
+      } else if (t instanceof IOException && !delegate.isCanceled()) {
+        breaker.onResult(permit, true, now - start, now);
+      } else {
+        breaker.onIgnored(permit);
+      }
+    }
+
+    private Response<Object> rejected(String method) throws IOException {
+      Fallback fallback = fallbacks.get(method);
+      Object body = fallback != null ? fallback.fallback(delegate.request()) : null;
+
+      if (body == null) {
+        throw new CircuitBreakerOpenException(method);
+      }
+
+      okhttp3.Response raw = new okhttp3.Response.Builder()
+          .code(200)
+          .message("OK")
+          .protocol(Protocol.HTTP_1_1)
+          .request(delegate.request())
+          .build();
+
+      return Response.success(body, raw);
+    }
+
+    @Override public synchronized boolean isExecuted() {
+      return executed || delegate.isExecuted();
+    }
+
+    @Override public void cancel() {
+      delegate.cancel();
+    }
+
+    @Override public boolean isCanceled() {
+      return delegate.isCanceled();
+    }
+
+    @SuppressWarnings("CloneDoesntCallSuperClone")
+    @Override public Call<Object> clone() {
+      return new CircuitBreakerCall(delegate.clone());
+    }
+
+    @Override public Request request() {
+      return delegate.request();
+    }
+  }
+}
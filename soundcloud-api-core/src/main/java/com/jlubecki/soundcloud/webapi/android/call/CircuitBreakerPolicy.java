@@ -0,0 +1,137 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Jacob Lubecki
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jlubecki.soundcloud.webapi.android.call;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Describes when a {@link CircuitBreaker} trips and how it recovers.
+ *
+ * The breaker keeps the outcomes of the most recent calls. Once it has seen enough of them, it
+ * opens when the share of failed or slow calls reaches its threshold. An open breaker rejects
+ * calls for a while and then lets a few probe calls through. The breaker closes if every probe
+ * succeeds in time, and opens again otherwise.
+ */
+public class CircuitBreakerPolicy {
+
+  final int windowSize;
+  final int minimumCalls;
+  final double failureRateThreshold;
+  final long slowCallNanos;
+  final double slowCallRateThreshold;
+  final long openNanos;
+  final int halfOpenProbes;
+
+  private CircuitBreakerPolicy(Builder builder) {
+    windowSize = builder.windowSize;
+    minimumCalls = builder.minimumCalls;
+    failureRateThreshold = builder.failureRateThreshold;
+    slowCallNanos = builder.slowCallNanos;
+    slowCallRateThreshold = builder.slowCallRateThreshold;
+    openNanos = builder.openNanos;
+    halfOpenProbes = builder.halfOpenProbes;
+  }
+
+  public static class Builder {
+    private int windowSize = 20;
+    private int minimumCalls = 10;
+    private double failureRateThreshold = 0.5;
+    private long slowCallNanos = TimeUnit.SECONDS.toNanos(10);
+    private double slowCallRateThreshold = 1;
+    private long openNanos = TimeUnit.SECONDS.toNanos(30);
+    private int halfOpenProbes = 3;
+
+    /**
+     * @param windowSize Number of recent calls that rates are computed over. Defaults to 20.
+     * @param minimumCalls Number of calls needed before the breaker may trip. Defaults to 10.
+     * @return The instance of the builder that was just updated.
+     */
+    public Builder setWindow(int windowSize, int minimumCalls) {
+      if (windowSize < 1 || minimumCalls < 1 || minimumCalls > windowSize) {
+        throw new IllegalArgumentException(
+            "Invalid window: size " + windowSize + ", minimum " + minimumCalls);
+      }
+
+      this.windowSize = windowSize;
+      this.minimumCalls = minimumCalls;
+
+      return this;
+    }
+
+    /**
+     * @param threshold Share of failed calls, from 0 to 1, that trips the breaker. Failures are
+     *                  I/O errors and 408 or 5xx responses. Defaults to 0.5.
+     * @return The instance of the builder that was just updated.
+     */
+    public Builder setFailureRateThreshold(double threshold) {
+      this.failureRateThreshold = threshold;
+
+      return this;
+    }
+
+    /**
+     * @param duration Calls that take at least this long are slow. Defaults to 10 seconds.
+     * @param unit Unit of the duration.
+     * @param threshold Share of slow calls, from 0 to 1, that trips the breaker. Defaults to 1.
+     * @return The instance of the builder that was just updated.
+     */
+    public Builder setSlowCallThreshold(long duration, TimeUnit unit, double threshold) {
+      this.slowCallNanos = unit.toNanos(duration);
+      this.slowCallRateThreshold = threshold;
+
+      return this;
+    }
+
+    /**
+     * @param duration How long an open breaker rejects calls before probing. Defaults to 30
+     *                 seconds.
+     * @param unit Unit of the duration.
+     * @return The instance of the builder that was just updated.
+     */
+    public Builder setOpenDuration(long duration, TimeUnit unit) {
+      this.openNanos = unit.toNanos(duration);
+
+      return this;
+    }
+
+    /**
+     * @param probes Number of calls let through while half open. Defaults to 3.
+     * @return The instance of the builder that was just updated.
+     */
+    public Builder setHalfOpenProbes(int probes) {
+      if (probes < 1) {
+        throw new IllegalArgumentException("probes < 1: " + probes);
+      }
+
+      this.halfOpenProbes = probes;
+
+      return this;
+    }
+
+    public CircuitBreakerPolicy build() {
+      return new CircuitBreakerPolicy(this);
+    }
+  }
+}
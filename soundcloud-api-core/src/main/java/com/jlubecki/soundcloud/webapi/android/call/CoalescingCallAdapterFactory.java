@@ -0,0 +1,424 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Jacob Lubecki
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jlubecki.soundcloud.webapi.android.call;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import okhttp3.MediaType;
+import okhttp3.Request;
+import okhttp3.ResponseBody;
+import retrofit2.Call;
+import retrofit2.CallAdapter;
+import retrofit2.Callback;
+import retrofit2.Response;
+import retrofit2.Retrofit;
+import retrofit2.http.GET;
+
+/**
+ * Makes identical GET requests that are in flight at the same time share one network call. Every
+ * caller receives the same parsed body. Error bodies are buffered so each caller can read its own.
+ * Bodies that are read lazily, like a {@link ResponseBody} or an item reader, are never shared.
+ *
+ * Canceling a call only detaches that caller. The shared network call is canceled once every
+ * caller waiting on it has canceled.
+ *
+ * A call that is executed and starts a network call runs it on a thread of its own, so like an
+ * uncoalesced {@link Call#execute()} it isn't subject to the dispatcher's limits. Every executed
+ * call, including the one that started the network call, only waits for the outcome, so canceling
+ * it returns right away even while other callers keep the network call running.
+ *
+ * Calls are wrapped beneath the platform's callback executor, so callbacks are still delivered
+ * on the same thread as an uncoalesced call.
+ */
+public class CoalescingCallAdapterFactory extends CallAdapter.Factory {
+
+  /**
+   * Computes the key that identifies identical requests. Requests with the same key must produce
+   * the same response, so the key has to include anything that's added to the request after it
+   * leaves Retrofit, like credentials.
+   */
+  public interface KeyFunction {
+    String key(Request request);
+  }
+
+  private final KeyFunction keyFunction;
+
+  private final Object lock = new Object();
+  private final Map<String, Flight> flights = new HashMap<>(); // Guarded by lock.
+
+  private final AtomicLong flightCount = new AtomicLong();
+  private final AtomicLong coalescedCount = new AtomicLong();
+
+  public CoalescingCallAdapterFactory(KeyFunction keyFunction) {
+    this.keyFunction = keyFunction;
+  }
+
+  /**
+   * @return The number of network calls that were started.
+   */
+  public long getFlightCount() {
+    return flightCount.get();
+  }
+
+  /**
+   * @return The number of calls that joined a network call started by another caller.
+   */
+  public long getCoalescedCount() {
+    return coalescedCount.get();
+  }
+
+  @Override public CallAdapter<?, ?> get(Type returnType, Annotation[] annotations,
+      Retrofit retrofit) {
+
+    if (getRawType(returnType) != Call.class || !isGet(annotations)) {
+      return null;
+    }
+
+    // A body that is read as it streams can't be handed to more than one caller.
+    if (returnType instanceof ParameterizedType && Closeable.class.isAssignableFrom(
+        getRawType(getParameterUpperBound(0, (ParameterizedType) returnType)))) {
+      return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    final CallAdapter<Object, Object> delegate =
+        (CallAdapter<Object, Object>) retrofit.nextCallAdapter(this, returnType, annotations);
+
+    return new CallAdapter<Object, Object>() {
+      @Override public Type responseType() {
+        return delegate.responseType();
+      }
+
+      @Override public Object adapt(Call<Object> call) {
+        return delegate.adapt(new CoalescingCall(call));
+      }
+    };
+  }
+
+  private static boolean isGet(Annotation[] annotations) {
+    for (Annotation annotation : annotations) {
+      if (annotation instanceof GET) {
+        return true;
+      }
+    }
+
+    return false;
+  }
+
+  /**
+   * Holds the threads that run network calls started by an executed call. Created on first use.
+   */
+  private static class Runner {
+    static final ExecutorService INSTANCE = new ThreadPoolExecutor(0, Integer.MAX_VALUE, 60,
+        TimeUnit.SECONDS, new SynchronousQueue<Runnable>(), new ThreadFactory() {
+          @Override public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "SoundCloud Coalescing");
+            thread.setDaemon(true);
+            return thread;
+          }
+        });
+  }
+
+  /**
+   * A network call shared by every {@link CoalescingCall} with the same key.
+   */
+  private final class Flight implements Callback<Object>, Runnable {
+    final String key;
+    final Call<Object> call;
+    final List<CoalescingCall> waiters = new ArrayList<>(2); // Guarded by lock.
+    boolean done; // Guarded by lock.
+
+    Flight(String key, Call<Object> call) {
+      this.key = key;
+      this.call = call;
+    }
+
+    @Override public void onResponse(Call<Object> call, Response<Object> response) {
+      List<CoalescingCall> finished = finish();
+
+      if (finished.size() <= 1 || response.isSuccessful()) {
+        for (CoalescingCall waiter : finished) {
+          waiter.deliver(response, null);
+        }
+
+        return;
+      }
+
+      byte[] errorBytes;
+      try {
+        errorBytes = response.errorBody().bytes();
+      } catch (IOException e) {
+        fail(e, finished);
+        return;
+      }
+
+      MediaType contentType = response.errorBody().contentType();
+
+      for (CoalescingCall waiter : finished) {
+        ResponseBody errorBody = ResponseBody.create(contentType, errorBytes);
+        waiter.deliver(Response.error(errorBody, response.raw()), null);
+      }
+    }
+
+    @Override public void onFailure(Call<Object> call, Throwable t) {
+      fail(t, finish());
+    }
+
+    /**
+     * Executes the network call on the calling thread and delivers the outcome to every waiter.
+     */
+    @Override public void run() {
+      Response<Object> response;
+
+      try {
+        response = call.execute();
+      } catch (Throwable t) {
+        onFailure(call, t);
+        return;
+      }
+
+      onResponse(call, response);
+    }
+
+    private void fail(Throwable t, List<CoalescingCall> finished) {
+      for (CoalescingCall waiter : finished) {
+        waiter.deliver(null, t);
+      }
+    }
+
+    private List<CoalescingCall> finish() {
+      synchronized (lock) {
+        done = true;
+
+        if (flights.get(key) == this) {
+          flights.remove(key);
+        }
+
+        return new ArrayList<>(waiters);
+      }
+    }
+  }
+
+  private final class CoalescingCall implements Call<Object> {
+    private final Call<Object> delegate;
+
+    // Guarded by lock.
+    private Flight flight;
+    private boolean executed;
+    private boolean canceled;
+    private Callback<Object> callback;
+
+    CoalescingCall(Call<Object> delegate) {
+      this.delegate = delegate;
+    }
+
+    @Override public Response<Object> execute() throws IOException {
+      final CountDownLatch latch = new CountDownLatch(1);
+      final Object[] result = new Object[2];
+
+      Flight start = join(new Callback<Object>() {
+        @Override public void onResponse(Call<Object> call, Response<Object> response) {
+          result[0] = response;
+          latch.countDown();
+        }
+
+        @Override public void onFailure(Call<Object> call, Throwable t) {
+          result[1] = t;
+          latch.countDown();
+        }
+      });
+
+      if (start != null) {
+        Runner.INSTANCE.execute(start);
+      }
+
+      try {
+        latch.await();
+      } catch (InterruptedException e) {
+        cancel();
+        Thread.currentThread().interrupt();
+        throw new InterruptedIOException("Interrupted while waiting for a shared call.");
+      }
+
+      if (result[1] != null) {
+        Throwable t = (Throwable) result[1];
+
+        if (t instanceof IOException) {
+          throw (IOException) t;
+        } else if (t instanceof RuntimeException) {
+          throw (RuntimeException) t;
+        } else if (t instanceof Error) {
+          throw (Error) t;
+        }
+
+        throw new IOException(t);
+      }
+
+      @SuppressWarnings("unchecked")
+      Response<Object> response = (Response<Object>) result[0];
+
+      return response;
+    }
+
+    @Override public void enqueue(Callback<Object> callback) {
+      Flight start = join(callback);
+
+      if (start != null) {
+        start.call.enqueue(start);
+      }
+    }
+
+    /**
+     * Joins the flight for this call's key, or creates one.
+     *
+     * @return The flight if this call created it and has to start it, or null.
+     */
+    private Flight join(Callback<Object> callback) {
+      String key = keyFunction.key(delegate.request());
+
+      Flight start = null;
+      boolean canceledEarly;
+
+      synchronized (lock) {
+        if (executed) {
+          throw new IllegalStateException("Already executed.");
+        }
+
+        executed = true;
+        this.callback = callback;
+        canceledEarly = canceled;
+
+        if (!canceledEarly) {
+          flight = flights.get(key);
+
+          if (flight == null) {
+            flight = start = new Flight(key, delegate);
+            flights.put(key, flight);
+          }
+
+          flight.waiters.add(this);
+        }
+      }
+
+      if (canceledEarly) {
+        callback.onFailure(this, new IOException("Canceled"));
+      } else if (start != null) {
+        flightCount.incrementAndGet();
+      } else {
+        coalescedCount.incrementAndGet();
+      }
+
+      return start;
+    }
+
+    void deliver(Response<Object> response, Throwable t) {
+      Callback<Object> target;
+
+      synchronized (lock) {
+        if (canceled) {
+          return;
+        }
+
+        target = callback;
+      }
+
+      if (response != null) {
+        target.onResponse(this, response);
+      } else {
+        target.onFailure(this, t);
+      }
+    }
+
+    @Override public boolean isExecuted() {
+      synchronized (lock) {
+        return executed;
+      }
+    }
+
+    @Override public void cancel() {
+      Callback<Object> target;
+      Call<Object> abandoned = null;
+
+      synchronized (lock) {
+        if (canceled) {
+          return;
+        }
+
+        canceled = true;
+        target = callback;
+
+        if (flight == null || flight.done) {
+          return;
+        }
+
+        flight.waiters.remove(this);
+
+        if (flight.waiters.isEmpty()) {
+          if (flights.get(flight.key) == flight) {
+            flights.remove(flight.key);
+          }
+
+          abandoned = flight.call;
+        }
+      }
+
+      if (abandoned != null) {
+        abandoned.cancel();
+      }
+
+      target.onFailure(this, new IOException("Canceled"));
+    }
+
+    @Override public boolean isCanceled() {
+      synchronized (lock) {
+        return canceled;
+      }
+    }
+
+    @SuppressWarnings("CloneDoesntCallSuperClone")
+    @Override public Call<Object> clone() {
+      return new CoalescingCall(delegate.clone());
+    }
+
+    @Override public Request request() {
+      return delegate.request();
+    }
+  }
+}
@@ -0,0 +1,152 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Jacob Lubecki
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.jlubecki.soundcloud.webapi.android.call;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.concurrent.CompletableFuture;
+import retrofit2.Call;
+import retrofit2.CallAdapter;
+import retrofit2.Callback;
+import retrofit2.HttpException;
+import retrofit2.Response;
+import retrofit2.Retrofit;
+
+/**
+ * Adapts methods that return {@link CompletableFuture CompletableFuture&lt;T&gt;} or
+ * {@link CompletableFuture CompletableFuture&lt;Response&lt;T&gt;&gt;}. A future for a body fails
+ * with an {@link HttpException} if the response was unsuccessful.
+ *
+ * The call behind a future is adapted as a {@code Call<T>} by every factory registered after this
+ * one, so it should be registered first to keep caching, coalescing, retries and circuit breakers
+ * in place. Canceling a future cancels its call.
+ *
+ * Futures complete on the thread that parsed the response rather than on the callback executor,
+ * so dependent stages should pass their own executor if they touch the UI. Requires Android API
+ * 24 or later, see {@link #isSupported()}.
+ */
+public final class CompletableFutureCallAdapterFactory extends CallAdapter.Factory {
+
+  /**
+   * @return true if the platform has {@link CompletableFuture}.
+   */
+  public static boolean isSupported() {
+    try {
+      Class.forName("java.util.concurrent.CompletableFuture");
+      return true;
+    } catch (ClassNotFoundException e) {
+      return false;
+    }
+  }
+
+  @Override public CallAdapter<?, ?> get(Type returnType, Annotation[] annotations,
+      Retrofit retrofit) {
+
+    if (getRawType(returnType) != CompletableFuture.class) {
+      return null;
+    }
+
+    if (!(returnType instanceof ParameterizedType)) {
+      throw new IllegalStateException(
+          "CompletableFuture return type must be parameterized as CompletableFuture<Foo>");
+    }
+
+    Type innerType = getParameterUpperBound(0, (ParameterizedType) returnType);
+    boolean wantsResponse = getRawType(innerType) == Response.class;
+
+    if (wantsResponse && !(innerType instanceof ParameterizedType)) {
+      throw new IllegalStateException(
+          "Response must be parameterized as Response<Foo> or Response<? extends Foo>");
+    }
+
+    Type bodyType = wantsResponse
+        ? getParameterUpperBound(0, (ParameterizedType) innerType)
+        : innerType;
+
+    // Completing on the parsing thread avoids a hop to the main thread for every future.
+    @SuppressWarnings("unchecked")
+    CallAdapter<Object, Call<Object>> delegate = (CallAdapter<Object, Call<Object>>)
+        retrofit.nextCallAdapter(this, Calls.callOf(bodyType),
+            Calls.skipCallbackExecutor(annotations));
+
+    return new FutureCallAdapter(delegate, wantsResponse);
+  }
+
+  private static final class FutureCallAdapter
+      implements CallAdapter<Object, CompletableFuture<Object>> {
+
+    private final CallAdapter<Object, Call<Object>> delegate;
+    private final boolean wantsResponse;
+
+    FutureCallAdapter(CallAdapter<Object, Call<Object>> delegate, boolean wantsResponse) {
+      this.delegate = delegate;
+      this.wantsResponse = wantsResponse;
+    }
+
+    @Override public Type responseType() {
+      return delegate.responseType();
+    }
+
+    @Override public CompletableFuture<Object> adapt(Call<Object> call) {
+      final Call<Object> adapted = delegate.adapt(call);
+      final CallFuture future = new CallFuture(adapted);
+
+      adapted.enqueue(new Callback<Object>() {
+        @Override public void onResponse(Call<Object> call, Response<Object> response) {
+          if (wantsResponse) {
+            future.complete(response);
+          } else if (response.isSuccessful()) {
+            future.complete(response.body());
+          } else {
+            future.completeExceptionally(new HttpException(response));
+          }
+        }
+
+        @Override public void onFailure(Call<Object> call, Throwable t) {
+          future.completeExceptionally(t);
+        }
+      });
+
+      return future;
+    }
+  }
+
+  private static final class CallFuture extends CompletableFuture<Object> {
+    private final Call<?> call;
+
+    CallFuture(Call<?> call) {
+      this.call = call;
+    }
+
+    @Override public boolean cancel(boolean mayInterruptIfRunning) {
+      // Canceled first, so a call that fails synchronously when canceled can't complete the future
+      // with its own exception. A call is always interruptible, so the flag is ignored.
+      boolean canceled = super.cancel(mayInterruptIfRunning);
+      call.cancel();
+
+      return canceled;
+    }
+  }
+}
@@ -0,0 +1,196 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Jacob Lubecki
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.jlubecki.soundcloud.webapi.android.call;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs a blocking task for every input on a thread of its own, for example a call to
+ * {@link com.jlubecki.soundcloud.webapi.android.SoundCloudBlockingService} per track, and returns
+ * once all of them are done.
+ *
+ * Fan-outs are structured: no task outlives the call that started it. When a task fails, the
+ * others are interrupted and waited for before the failure is thrown. The number of tasks running
+ * at once is bounded by a semaphore, so with {@link VirtualThreads} only that many threads exist
+ * rather than one per input.
+ */
+public final class FanOut {
+
+  /**
+   * A blocking task run for a single input.
+   */
+  public interface Task<I, O> {
+    O run(I input) throws IOException;
+  }
+
+  private FanOut() {
+  }
+
+  /**
+   * @param inputs Inputs to run the task for.
+   * @param parallelism Maximum number of tasks running at once.
+   * @param task Task to run for every input.
+   * @return The results in the same order as the inputs.
+   * @throws IOException The first failure of a task. Tasks interrupted because of it are ignored.
+   */
+  public static <I, O> List<O> map(Collection<? extends I> inputs, int parallelism,
+      final Task<? super I, ? extends O> task) throws IOException {
+
+    if (parallelism < 1) {
+      throw new IllegalArgumentException("parallelism < 1: " + parallelism);
+    }
+
+    final Semaphore permits = new Semaphore(parallelism);
+    ExecutorService executor = VirtualThreads.newThreadPerTaskExecutor();
+    CompletionService<Object> completion = new ExecutorCompletionService<>(executor);
+
+    List<Future<Object>> futures = new ArrayList<>(inputs.size());
+    int completed = 0;
+    Throwable failure = null;
+
+    try {
+      for (final I input : inputs) {
+        // Acquired here rather than in the task, so threads are only started once they can run.
+        permits.acquire();
+
+        futures.add(completion.submit(new Callable<Object>() {
+          @Override public Object call() throws IOException {
+            try {
+              return task.run(input);
+            } finally {
+              permits.release();
+            }
+          }
+        }));
+
+        // Checks tasks that already finished, so a failure stops the fan-out early.
+        for (Future<Object> done = completion.poll(); done != null; done = completion.poll()) {
+          completed++;
+          failure = failureOf(done);
+
+          if (failure != null) {
+            break;
+          }
+        }
+
+        if (failure != null) {
+          break;
+        }
+      }
+
+      while (failure == null && completed < futures.size()) {
+        failure = failureOf(completion.take());
+        completed++;
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      failure = new InterruptedIOException("Interrupted during fan-out.");
+    } finally {
+      if (failure != null) {
+        for (Future<Object> future : futures) {
+          future.cancel(true);
+        }
+      }
+
+      awaitTermination(executor);
+    }
+
+    if (failure != null) {
+      throw rethrow(failure);
+    }
+
+    List<O> results = new ArrayList<>(futures.size());
+    for (Future<Object> future : futures) {
+      @SuppressWarnings("unchecked")
+      O result = (O) getDone(future);
+
+      results.add(result);
+    }
+
+    return results;
+  }
+
+  private static Throwable failureOf(Future<Object> done) {
+    try {
+      done.get();
+      return null;
+    } catch (ExecutionException e) {
+      return e.getCause();
+    } catch (Exception e) {
+      return e;
+    }
+  }
+
+  private static Object getDone(Future<Object> future) {
+    try {
+      return future.get();
+    } catch (Exception e) {
+      throw new IllegalStateException(e); // Every task succeeded.
+    }
+  }
+
+  private static void awaitTermination(ExecutorService executor) {
+    executor.shutdown();
+
+    boolean interrupted = false;
+    while (true) {
+      try {
+        if (executor.awaitTermination(1, TimeUnit.MINUTES)) {
+          break;
+        }
+      } catch (InterruptedException e) {
+        interrupted = true;
+        executor.shutdownNow();
+      }
+    }
+
+    if (interrupted) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private static IOException rethrow(Throwable t) {
+    if (t instanceof IOException) {
+      return (IOException) t;
+    } else if (t instanceof RuntimeException) {
+      throw (RuntimeException) t;
+    } else if (t instanceof Error) {
+      throw (Error) t;
+    }
+
+    return new IOException(t);
+  }
+}
@@ -0,0 +1,181 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Jacob Lubecki
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.jlubecki.soundcloud.webapi.android.call;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+
+/**
+ * Combinators for fanning out calls made through
+ * {@link com.jlubecki.soundcloud.webapi.android.SoundCloudAsyncService}. Unlike the ones on
+ * {@link CompletableFuture}, they cancel the futures that are no longer needed, which cancels their
+ * calls, and canceling a combined future cancels every future it was combined from.
+ */
+public final class Futures {
+
+  private Futures() {
+  }
+
+  /**
+   * Waits for every future. Fails as soon as one of them fails, and cancels the others.
+   *
+   * @param futures Futures to wait for.
+   * @return A future that completes with the results in the same order as the futures.
+   */
+  public static <T> CompletableFuture<List<T>> allOf(
+      final List<? extends CompletableFuture<? extends T>> futures) {
+
+    final CompletableFuture<List<T>> result = new CompletableFuture<>();
+    cancelOnFailure(result, futures);
+
+    if (futures.isEmpty()) {
+      result.complete(Collections.<T>emptyList());
+      return result;
+    }
+
+    final Object[] values = new Object[futures.size()];
+    final AtomicInteger remaining = new AtomicInteger(futures.size());
+
+    for (int i = 0; i < futures.size(); i++) {
+      final int index = i;
+
+      futures.get(i).whenComplete(new BiConsumer<T, Throwable>() {
+        @Override public void accept(T value, Throwable t) {
+          if (t != null) {
+            result.completeExceptionally(unwrap(t));
+            return;
+          }
+
+          values[index] = value;
+
+          if (remaining.decrementAndGet() == 0) {
+            @SuppressWarnings("unchecked")
+            List<T> list = (List<T>) Arrays.asList(values);
+
+            result.complete(list);
+          }
+        }
+      });
+    }
+
+    return result;
+  }
+
+  /**
+   * @see #allOf(List)
+   */
+  @SafeVarargs
+  public static <T> CompletableFuture<List<T>> allOf(CompletableFuture<? extends T>... futures) {
+    List<CompletableFuture<? extends T>> list = new ArrayList<>(futures.length);
+
+    // A CompletableFuture<? extends T>[] can't be passed on without an unchecked conversion.
+    for (CompletableFuture<? extends T> future : futures) {
+      list.add(future);
+    }
+
+    return allOf(list);
+  }
+
+  /**
+   * Waits for the first future that succeeds, and cancels the others. Fails only if every future
+   * fails, with the last failure.
+   *
+   * @param futures Futures to race. Must not be empty.
+   * @return A future that completes with the first successful result.
+   */
+  public static <T> CompletableFuture<T> firstOf(
+      final List<? extends CompletableFuture<? extends T>> futures) {
+
+    if (futures.isEmpty()) {
+      throw new IllegalArgumentException("futures is empty");
+    }
+
+    final CompletableFuture<T> result = new CompletableFuture<>();
+    final AtomicInteger remaining = new AtomicInteger(futures.size());
+
+    // Losers are canceled once there is a winner, too.
+    result.whenComplete(new BiConsumer<T, Throwable>() {
+      @Override public void accept(T value, Throwable t) {
+        cancelAll(futures);
+      }
+    });
+
+    for (CompletableFuture<? extends T> future : futures) {
+      future.whenComplete(new BiConsumer<T, Throwable>() {
+        @Override public void accept(T value, Throwable t) {
+          if (t == null) {
+            result.complete(value);
+          } else if (remaining.decrementAndGet() == 0) {
+            result.completeExceptionally(unwrap(t));
+          }
+        }
+      });
+    }
+
+    return result;
+  }
+
+  /**
+   * @see #firstOf(List)
+   */
+  @SafeVarargs
+  public static <T> CompletableFuture<T> firstOf(CompletableFuture<? extends T>... futures) {
+    List<CompletableFuture<? extends T>> list = new ArrayList<>(futures.length);
+
+    for (CompletableFuture<? extends T> future : futures) {
+      list.add(future);
+    }
+
+    return firstOf(list);
+  }
+
+  private static void cancelOnFailure(CompletableFuture<?> result,
+      final List<? extends CompletableFuture<?>> futures) {
+
+    result.whenComplete(new BiConsumer<Object, Throwable>() {
+      @Override public void accept(Object value, Throwable t) {
+        if (t != null) {
+          cancelAll(futures);
+        }
+      }
+    });
+  }
+
+  private static void cancelAll(List<? extends CompletableFuture<?>> futures) {
+    // Copied, since canceling may complete other futures in the list on this thread.
+    for (CompletableFuture<?> future : new ArrayList<>(futures)) {
+      future.cancel(true);
+    }
+  }
+
+  private static Throwable unwrap(Throwable t) {
+    return t instanceof CompletionException && t.getCause() != null ? t.getCause() : t;
+  }
+}
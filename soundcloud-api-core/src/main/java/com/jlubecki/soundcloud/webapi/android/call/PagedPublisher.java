@@ -0,0 +1,345 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Jacob Lubecki
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.jlubecki.soundcloud.webapi.android.call;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import java.io.IOException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import okhttp3.HttpUrl;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import retrofit2.HttpException;
+
+/**
+ * Emits the items of every page of a list, starting over for each subscriber. Pages are either a
+ * bare JSON array or an object with a {@code collection} array and a {@code next_href}.
+ */
+final class PagedPublisher<T> implements Publisher<T> {
+
+  private final Request firstPage;
+  private final okhttp3.Call.Factory callFactory;
+  private final TypeAdapter<T> itemAdapter;
+  private final Executor executor;
+
+  @SuppressWarnings("unchecked")
+  PagedPublisher(Request firstPage, okhttp3.Call.Factory callFactory, TypeAdapter<?> itemAdapter,
+      Executor executor) {
+    this.firstPage = firstPage;
+    this.callFactory = callFactory;
+    this.itemAdapter = (TypeAdapter<T>) itemAdapter;
+    this.executor = executor;
+  }
+
+  @Override public void subscribe(Subscriber<? super T> subscriber) {
+    if (subscriber == null) {
+      throw new NullPointerException("subscriber == null");
+    }
+
+    subscriber.onSubscribe(new PageSubscription(subscriber));
+  }
+
+  /**
+   * Reads pages in a drain loop that runs on the executor. Only one loop runs at a time, and it
+   * exits whenever demand is used up, so no thread is held while waiting for the subscriber.
+   */
+  private final class PageSubscription implements Subscription, Runnable {
+    private final Subscriber<? super T> subscriber;
+
+    private final AtomicLong requested = new AtomicLong();
+    private final AtomicInteger wip = new AtomicInteger();
+    private volatile boolean canceled;
+    private volatile Throwable invalidRequest;
+    private volatile okhttp3.Call currentCall;
+
+    // Confined to the drain loop.
+    private Request nextPage = firstPage;
+    private Request page;
+    private Response response;
+    private JsonReader reader;
+    private boolean inObject;
+    private boolean inCollection;
+    private String nextHref;
+
+    PageSubscription(Subscriber<? super T> subscriber) {
+      this.subscriber = subscriber;
+    }
+
+    @Override public void request(long n) {
+      if (n <= 0) {
+        invalidRequest = new IllegalArgumentException("n <= 0: " + n);
+      } else {
+        long current;
+        long next;
+
+        do {
+          current = requested.get();
+          next = current + n < 0 ? Long.MAX_VALUE : current + n;
+        } while (!requested.compareAndSet(current, next));
+      }
+
+      schedule();
+    }
+
+    @Override public void cancel() {
+      canceled = true;
+
+      okhttp3.Call call = currentCall;
+      if (call != null) {
+        call.cancel();
+      }
+
+      schedule();
+    }
+
+    private void schedule() {
+      if (wip.getAndIncrement() == 0) {
+        try {
+          executor.execute(this);
+        } catch (RejectedExecutionException e) {
+          canceled = true;
+          subscriber.onError(e);
+        }
+      }
+    }
+
+    @Override public void run() {
+      int missed = 1;
+
+      for (;;) {
+        long demand = requested.get();
+        long emitted = 0;
+
+        while (emitted != demand || canceled || invalidRequest != null) {
+          if (canceled) {
+            closePage();
+            return;
+          }
+
+          if (invalidRequest != null) {
+            terminate(invalidRequest);
+            return;
+          }
+
+          T item;
+          try {
+            item = next();
+          } catch (Throwable t) {
+            terminate(t);
+            return;
+          }
+
+          if (item == null) {
+            terminate(null);
+            return;
+          }
+
+          subscriber.onNext(item);
+          emitted++;
+        }
+
+        if (emitted != 0 && demand != Long.MAX_VALUE) {
+          requested.addAndGet(-emitted);
+        }
+
+        missed = wip.addAndGet(-missed);
+        if (missed == 0) {
+          return;
+        }
+      }
+    }
+
+    /**
+     * Closes the page and delivers a terminal signal, unless the subscriber canceled. Leaves the
+     * loop marked as running, so it is never scheduled again.
+     */
+    private void terminate(Throwable t) {
+      closePage();
+
+      if (canceled) {
+        return;
+      }
+
+      canceled = true;
+
+      if (t != null) {
+        subscriber.onError(t);
+      } else {
+        subscriber.onComplete();
+      }
+    }
+
+    /**
+     * @return The next item, or null once the last page has been read.
+     */
+    private T next() throws IOException {
+      for (;;) {
+        if (reader == null) {
+          if (nextPage == null) {
+            return null;
+          }
+
+          openPage(nextPage);
+        }
+
+        if (inCollection && reader.hasNext()) {
+          T item = itemAdapter.read(reader);
+
+          if (item != null) {
+            return item;
+          }
+        } else {
+          finishPage();
+        }
+      }
+    }
+
+    private void openPage(Request request) throws IOException {
+      okhttp3.Call call = callFactory.newCall(request);
+      currentCall = call;
+
+      if (canceled) {
+        call.cancel();
+      }
+
+      Response raw = call.execute();
+
+      if (!raw.isSuccessful()) {
+        ResponseBody errorBody = raw.body();
+
+        try {
+          ResponseBody buffered = ResponseBody.create(errorBody.contentType(), errorBody.bytes());
+          throw new HttpException(retrofit2.Response.error(buffered, raw));
+        } finally {
+          raw.close();
+        }
+      }
+
+      page = request;
+      nextPage = null;
+      nextHref = null;
+      response = raw;
+      reader = new JsonReader(raw.body().charStream());
+
+      if (reader.peek() == JsonToken.BEGIN_OBJECT) {
+        reader.beginObject();
+        inObject = true;
+        inCollection = seekCollection();
+      } else {
+        reader.beginArray();
+        inObject = false;
+        inCollection = true;
+      }
+    }
+
+    /**
+     * Reads the fields of a page object up to its collection.
+     *
+     * @return true if the reader is now inside the collection.
+     */
+    private boolean seekCollection() throws IOException {
+      while (reader.hasNext()) {
+        String name = reader.nextName();
+
+        if ("collection".equals(name) && reader.peek() == JsonToken.BEGIN_ARRAY) {
+          reader.beginArray();
+          return true;
+        } else if ("next_href".equals(name)) {
+          readNextHref();
+        } else {
+          reader.skipValue();
+        }
+      }
+
+      return false;
+    }
+
+    private void finishPage() throws IOException {
+      if (inCollection) {
+        reader.endArray();
+        inCollection = false;
+      }
+
+      if (inObject) {
+        // The next_href usually follows the collection.
+        seekCollection();
+        reader.endObject();
+      }
+
+      String href = nextHref;
+      closePage();
+
+      if (href != null) {
+        nextPage = follow(page, href);
+      }
+    }
+
+    private void readNextHref() throws IOException {
+      if (reader.peek() == JsonToken.NULL) {
+        reader.nextNull();
+        nextHref = null;
+      } else {
+        nextHref = reader.nextString();
+      }
+    }
+
+    private void closePage() {
+      if (response != null) {
+        response.close();
+      }
+
+      response = null;
+      reader = null;
+      currentCall = null;
+    }
+  }
+
+  /**
+   * Follows a {@code next_href}. The request keeps its headers, so links to another origin, which
+   * includes a downgrade from https to http, are refused rather than sent the credentials.
+   */
+  static Request follow(Request page, String href) throws IOException {
+    HttpUrl origin = page.url();
+    HttpUrl url = origin.resolve(href);
+
+    if (url == null
+        || !url.scheme().equals(origin.scheme())
+        || !url.host().equals(origin.host())
+        || url.port() != origin.port()) {
+      throw new IOException("Unexpected next_href: " + href);
+    }
+
+    return page.newBuilder()
+        .url(url)
+        .build();
+  }
+}
@@ -0,0 +1,114 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Jacob Lubecki
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.jlubecki.soundcloud.webapi.android.call;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.reflect.TypeToken;
+import com.jlubecki.soundcloud.webapi.android.query.Pager;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.concurrent.Executor;
+import okhttp3.HttpUrl;
+import okhttp3.Request;
+import okhttp3.ResponseBody;
+import org.reactivestreams.Publisher;
+import retrofit2.Call;
+import retrofit2.CallAdapter;
+import retrofit2.Retrofit;
+
+/**
+ * Adapts methods that return {@link Publisher Publisher&lt;T&gt;} for endpoints that return a list
+ * of {@code T}. The publisher walks every page of the list with SoundCloud's linked partitioning,
+ * following the {@code next_href} of each page until there is none.
+ *
+ * Items are read from the response one at a time, only as the subscriber requests them, and
+ * signals are delivered on the given executor. A subscriber that stops requesting leaves the rest
+ * of the page unread in the socket, so nothing but the item being delivered is held in memory.
+ * The server may close a connection that was left idle for too long, which fails the publisher.
+ *
+ * Pages are fetched by the client directly rather than through the calls of other call adapter
+ * factories, so interceptors like the rate limiter apply, but retries and circuit breakers don't.
+ */
+public class PublisherCallAdapterFactory extends CallAdapter.Factory {
+
+  public static final String LINKED_PARTITIONING = "linked_partitioning";
+
+  private final Gson gson;
+  private final Executor executor;
+
+  /**
+   * @param gson Parses items. Should be configured like the converter's.
+   * @param executor Runs requests, parses items and delivers signals.
+   */
+  public PublisherCallAdapterFactory(Gson gson, Executor executor) {
+    this.gson = gson;
+    this.executor = executor;
+  }
+
+  @Override public CallAdapter<?, ?> get(Type returnType, Annotation[] annotations,
+      Retrofit retrofit) {
+
+    if (getRawType(returnType) != Publisher.class) {
+      return null;
+    }
+
+    if (!(returnType instanceof ParameterizedType)) {
+      throw new IllegalStateException(
+          "Publisher return type must be parameterized as Publisher<Foo>");
+    }
+
+    Type itemType = getParameterUpperBound(0, (ParameterizedType) returnType);
+    final TypeAdapter<?> itemAdapter = gson.getAdapter(TypeToken.get(itemType));
+    final okhttp3.Call.Factory callFactory = retrofit.callFactory();
+
+    return new CallAdapter<ResponseBody, Publisher<?>>() {
+      // Pages are parsed by the publisher, so the body is never converted.
+      @Override public Type responseType() {
+        return ResponseBody.class;
+      }
+
+      @Override public Publisher<?> adapt(Call<ResponseBody> call) {
+        // Created now, so a credential bound to the calling thread is kept.
+        Request request = firstPage(call.request());
+
+        return new PagedPublisher<>(request, callFactory, itemAdapter, executor);
+      }
+    };
+  }
+
+  private static Request firstPage(Request request) {
+    HttpUrl.Builder url = request.url().newBuilder()
+        .setQueryParameter(LINKED_PARTITIONING, "1");
+
+    if (request.url().queryParameter(Pager.LIMIT) == null) {
+      url.setQueryParameter(Pager.LIMIT, String.valueOf(Pager.LIMIT_MAX));
+    }
+
+    return request.newBuilder()
+        .url(url.build())
+        .build();
+  }
+}
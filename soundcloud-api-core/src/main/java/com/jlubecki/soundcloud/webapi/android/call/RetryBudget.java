@@ -0,0 +1,68 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Jacob Lubecki
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jlubecki.soundcloud.webapi.android.call;
+
+/**
+ * Limits retries and hedges to a fraction of regular calls, so a failing backend isn't hit with a
+ * storm of retries. Every call deposits a fraction of a token and every retry or hedge withdraws a
+ * whole one. A small reserve allows retries while traffic is low.
+ */
+public class RetryBudget {
+
+  private final double ratio;
+  private final double maxBalance;
+
+  private double balance; // Guarded by this.
+
+  /**
+   * @param ratio Retries allowed per call, like 0.1 for one retry per ten calls.
+   * @param reserve Retries that are allowed regardless of traffic. Also the initial balance.
+   */
+  public RetryBudget(double ratio, int reserve) {
+    this.ratio = ratio;
+    this.maxBalance = Math.max(reserve, 1) + 100 * ratio;
+    this.balance = reserve;
+  }
+
+  synchronized void deposit() {
+    balance = Math.min(maxBalance, balance + ratio);
+  }
+
+  synchronized boolean tryWithdraw() {
+    if (balance < 1) {
+      return false;
+    }
+
+    balance -= 1;
+    return true;
+  }
+
+  /**
+   * @return The number of retries that may currently be made.
+   */
+  public synchronized int getAvailable() {
+    return (int) balance;
+  }
+}
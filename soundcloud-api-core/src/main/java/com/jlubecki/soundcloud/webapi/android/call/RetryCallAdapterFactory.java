@@ -0,0 +1,753 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Jacob Lubecki
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jlubecki.soundcloud.webapi.android.call;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import okhttp3.Request;
+import retrofit2.Call;
+import retrofit2.CallAdapter;
+import retrofit2.Callback;
+import retrofit2.Response;
+import retrofit2.Retrofit;
+import retrofit2.http.GET;
+
+/**
+ * Retries GET calls that failed with an I/O error or a 408, 500, 502, 503 or 504 response, and
+ * optionally hedges slow ones. Policies are set per {@link
+ * com.jlubecki.soundcloud.webapi.android.SoundCloudService} method, and every retry or hedge has
+ * to be paid for from a shared {@link RetryBudget}.
+ *
+ * 429 responses are not retried here. They are queued again by the
+ * {@link com.jlubecki.soundcloud.webapi.android.http.RateLimiter}, which honors Retry-After.
+ *
+ * Retries of a synchronous call wait on the calling thread. Retries of an asynchronous call, and
+ * every hedged call, are scheduled on a single shared timer thread and run on the dispatcher.
+ */
+public class RetryCallAdapterFactory extends CallAdapter.Factory {
+
+  private static final int LATENCY_SAMPLES = 128;
+  private static final int MIN_LATENCY_SAMPLES = 20;
+
+  private final RetryPolicy defaultPolicy;
+  private final RetryBudget budget;
+  private final Map<String, RetryPolicy> policies = new ConcurrentHashMap<>();
+  private final ConcurrentMap<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+
+  /**
+   * Creates a factory that allows one retry per ten calls, with a reserve of ten.
+   *
+   * @param defaultPolicy Policy for methods without their own.
+   */
+  public RetryCallAdapterFactory(RetryPolicy defaultPolicy) {
+    this(defaultPolicy, new RetryBudget(0.1, 10));
+  }
+
+  /**
+   * @param defaultPolicy Policy for methods without their own.
+   * @param budget Budget that every retry and hedge is taken from.
+   */
+  public RetryCallAdapterFactory(RetryPolicy defaultPolicy, RetryBudget budget) {
+    this.defaultPolicy = defaultPolicy;
+    this.budget = budget;
+  }
+
+  /**
+   * Sets the policy for a single endpoint.
+   *
+   * @param method Name of the {@link com.jlubecki.soundcloud.webapi.android.SoundCloudService}
+   *               method, like {@code "getTrack"}.
+   * @param policy Policy for calls made with the method.
+   * @return This factory, so policies can be chained.
+   */
+  public RetryCallAdapterFactory setPolicy(String method, RetryPolicy policy) {
+    policies.put(method, policy);
+
+    return this;
+  }
+
+  /**
+   * @return The budget that every retry and hedge made by this factory is taken from.
+   */
+  public RetryBudget getBudget() {
+    return budget;
+  }
+
+  /**
+   * @param method Name of the {@link com.jlubecki.soundcloud.webapi.android.SoundCloudService}
+   *               method.
+   * @return A snapshot of the counters for the method.
+   */
+  public Stats getStats(String method) {
+    return endpoint(method).stats();
+  }
+
+  /**
+   * @return A snapshot of the counters for every method that was called.
+   */
+  public Map<String, Stats> getAllStats() {
+    Map<String, Stats> stats = new TreeMap<>();
+
+    for (Map.Entry<String, Endpoint> entry : endpoints.entrySet()) {
+      stats.put(entry.getKey(), entry.getValue().stats());
+    }
+
+    return stats;
+  }
+
+  @Override public CallAdapter<?, ?> get(Type returnType, Annotation[] annotations,
+      Retrofit retrofit) {
+
+    if (getRawType(returnType) != Call.class || !isGet(annotations)) {
+      return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    final CallAdapter<Object, Object> delegate =
+        (CallAdapter<Object, Object>) retrofit.nextCallAdapter(this, returnType, annotations);
+
+    return new CallAdapter<Object, Object>() {
+      @Override public Type responseType() {
+        return delegate.responseType();
+      }
+
+      @Override public Object adapt(Call<Object> call) {
+        return delegate.adapt(new RetryingCall(call));
+      }
+    };
+  }
+
+  private static boolean isGet(Annotation[] annotations) {
+    for (Annotation annotation : annotations) {
+      if (annotation instanceof GET) {
+        return true;
+      }
+    }
+
+    return false;
+  }
+
+  private static boolean isRetryable(Response<?> response) {
+    switch (response.code()) {
+      case 408:
+      case 500:
+      case 502:
+      case 503:
+      case 504:
+        return true;
+      default:
+        return false;
+    }
+  }
+
+  private static void discard(Response<?> response) {
+    if (response == null) {
+      return;
+    }
+
+    if (response.errorBody() != null) {
+      response.errorBody().close();
+    }
+
+    // Bodies that are read lazily, like an ItemReader, still hold the connection.
+    if (response.body() instanceof Closeable) {
+      try {
+        ((Closeable) response.body()).close();
+      } catch (IOException ignored) {
+      }
+    }
+  }
+
+  private Endpoint endpoint(String method) {
+    Endpoint endpoint = endpoints.get(method);
+
+    if (endpoint == null) {
+      endpoint = new Endpoint();
+      Endpoint existing = endpoints.putIfAbsent(method, endpoint);
+
+      if (existing != null) {
+        endpoint = existing;
+      }
+    }
+
+    return endpoint;
+  }
+
+  private RetryPolicy policy(String method) {
+    RetryPolicy policy = policies.get(method);
+
+    return policy != null ? policy : defaultPolicy;
+  }
+
+  /**
+   * Snapshot of the counters for one endpoint.
+   */
+  public static class Stats {
+    public final long callCount;
+    public final long retryCount;
+    public final long hedgeCount;
+    public final long hedgeWinCount;
+    public final long budgetExhaustedCount;
+    public final long p95LatencyMillis;
+
+    Stats(long callCount, long retryCount, long hedgeCount, long hedgeWinCount,
+        long budgetExhaustedCount, long p95LatencyMillis) {
+      this.callCount = callCount;
+      this.retryCount = retryCount;
+      this.hedgeCount = hedgeCount;
+      this.hedgeWinCount = hedgeWinCount;
+      this.budgetExhaustedCount = budgetExhaustedCount;
+      this.p95LatencyMillis = p95LatencyMillis;
+    }
+
+    @Override public String toString() {
+      return "Stats{calls=" + callCount
+          + ", retries=" + retryCount
+          + ", hedges=" + hedgeCount
+          + ", hedgeWins=" + hedgeWinCount
+          + ", budgetExhausted=" + budgetExhaustedCount
+          + ", p95=" + p95LatencyMillis + "ms"
+          + '}';
+    }
+  }
+
+  /**
+   * Counters and a window of recent successful latencies for one endpoint.
+   */
+  private static final class Endpoint {
+    final AtomicLong callCount = new AtomicLong();
+    final AtomicLong retryCount = new AtomicLong();
+    final AtomicLong hedgeCount = new AtomicLong();
+    final AtomicLong hedgeWinCount = new AtomicLong();
+    final AtomicLong budgetExhaustedCount = new AtomicLong();
+
+    private final long[] latencies = new long[LATENCY_SAMPLES]; // Guarded by this.
+    private int next;
+    private int size;
+
+    synchronized void record(long latencyNanos) {
+      latencies[next] = latencyNanos;
+      next = (next + 1) % latencies.length;
+      size = Math.min(size + 1, latencies.length);
+    }
+
+    /**
+     * @return The latency at the given percentile, or -1 if too few calls completed yet.
+     */
+    synchronized long percentile(double percentile) {
+      if (size < MIN_LATENCY_SAMPLES) {
+        return -1;
+      }
+
+      long[] sorted = Arrays.copyOf(latencies, size);
+      Arrays.sort(sorted);
+
+      int index = (int) Math.ceil(percentile * size) - 1;
+
+      return sorted[Math.max(0, Math.min(index, size - 1))];
+    }
+
+    Stats stats() {
+      long p95 = percentile(0.95);
+
+      return new Stats(callCount.get(), retryCount.get(), hedgeCount.get(), hedgeWinCount.get(),
+          budgetExhaustedCount.get(), p95 == -1 ? -1 : TimeUnit.NANOSECONDS.toMillis(p95));
+    }
+  }
+
+  /**
+   * Holds the timer thread that schedules delayed retries and hedges. Created on first use.
+   */
+  private static class Timer {
+    static final ScheduledExecutorService INSTANCE;
+
+    static {
+      ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1,
+          new ThreadFactory() {
+            @Override public Thread newThread(Runnable runnable) {
+              Thread thread = new Thread(runnable, "SoundCloud Retry Timer");
+              thread.setDaemon(true);
+              return thread;
+            }
+          });
+      executor.setRemoveOnCancelPolicy(true);
+
+      INSTANCE = executor;
+    }
+  }
+
+  private final class RetryingCall implements Call<Object> {
+    private final Call<Object> delegate;
+
+    // Guarded by this.
+    private RetryPolicy policy;
+    private Endpoint endpoint;
+    private Callback<Object> callback;
+    private final List<Attempt> inFlight = new ArrayList<>(2);
+    private ScheduledFuture<?> timer;
+    private Call<Object> current;
+    private int attempts;
+    private boolean executed;
+    private boolean canceled;
+    private boolean done;
+
+    RetryingCall(Call<Object> delegate) {
+      this.delegate = delegate;
+    }
+
+    private void start() {
+      synchronized (this) {
+        if (executed) {
+          throw new IllegalStateException("Already executed.");
+        }
+
+        executed = true;
+      }
+
+      String method = Endpoints.name(delegate.request());
+      RetryPolicy resolved = policy(method);
+      Endpoint resolvedEndpoint = endpoint(method);
+
+      synchronized (this) {
+        policy = resolved;
+        endpoint = resolvedEndpoint;
+      }
+
+      resolvedEndpoint.callCount.incrementAndGet();
+      budget.deposit();
+    }
+
+    @Override public Response<Object> execute() throws IOException {
+      start();
+
+      if (policy.isHedged()) {
+        return awaitEnqueued();
+      }
+
+      Call<Object> call = delegate;
+
+      for (int attempt = 1; ; attempt++) {
+        synchronized (this) {
+          if (canceled) {
+            throw new IOException("Canceled");
+          }
+
+          current = call;
+        }
+
+        long startNanos = System.nanoTime();
+        Response<Object> response;
+        try {
+          response = call.execute();
+        } catch (IOException e) {
+          if (isCanceled() || !retryAllowed(attempt)) {
+            throw e;
+          }
+
+          response = null;
+        }
+
+        if (response != null) {
+          if (response.isSuccessful()) {
+            endpoint.record(System.nanoTime() - startNanos);
+          }
+
+          if (!isRetryable(response) || !retryAllowed(attempt)) {
+            return response;
+          }
+
+          discard(response);
+        }
+
+        awaitBackoff(policy.backoffNanos(attempt));
+
+        call = delegate.clone();
+      }
+    }
+
+    /**
+     * Waits before a synchronous retry. Returns early with an exception if the call is canceled.
+     */
+    private synchronized void awaitBackoff(long nanos) throws IOException {
+      long deadline = System.nanoTime() + nanos;
+
+      try {
+        for (long remaining = nanos; remaining > 0 && !canceled;
+            remaining = deadline - System.nanoTime()) {
+          TimeUnit.NANOSECONDS.timedWait(this, remaining);
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new InterruptedIOException("Interrupted while waiting to retry.");
+      }
+
+      if (canceled) {
+        throw new IOException("Canceled");
+      }
+    }
+
+    /**
+     * @return true if another attempt may be made after the given one, which is then paid for.
+     */
+    private boolean retryAllowed(int attempt) {
+      if (attempt >= policy.maxAttempts) {
+        return false;
+      }
+
+      if (!budget.tryWithdraw()) {
+        endpoint.budgetExhaustedCount.incrementAndGet();
+        return false;
+      }
+
+      endpoint.retryCount.incrementAndGet();
+      return true;
+    }
+
+    private Response<Object> awaitEnqueued() throws IOException {
+      final CountDownLatch latch = new CountDownLatch(1);
+      final Object[] result = new Object[2];
+
+      enqueueStarted(new Callback<Object>() {
+        @Override public void onResponse(Call<Object> call, Response<Object> response) {
+          result[0] = response;
+          latch.countDown();
+        }
+
+        @Override public void onFailure(Call<Object> call, Throwable t) {
+          result[1] = t;
+          latch.countDown();
+        }
+      });
+
+      try {
+        latch.await();
+      } catch (InterruptedException e) {
+        cancel();
+        Thread.currentThread().interrupt();
+        throw new InterruptedIOException("Interrupted while waiting for a hedged call.");
+      }
+
+      if (result[1] != null) {
+        Throwable t = (Throwable) result[1];
+
+        if (t instanceof IOException) {
+          throw (IOException) t;
+        } else if (t instanceof RuntimeException) {
+          throw (RuntimeException) t;
+        } else if (t instanceof Error) {
+          throw (Error) t;
+        }
+
+        throw new IOException(t);
+      }
+
+      @SuppressWarnings("unchecked")
+      Response<Object> response = (Response<Object>) result[0];
+
+      return response;
+    }
+
+    @Override public void enqueue(Callback<Object> callback) {
+      start();
+      enqueueStarted(callback);
+    }
+
+    private void enqueueStarted(Callback<Object> callback) {
+      boolean canceledEarly;
+
+      synchronized (this) {
+        this.callback = callback;
+        canceledEarly = canceled;
+      }
+
+      if (canceledEarly) {
+        callback.onFailure(this, new IOException("Canceled"));
+        return;
+      }
+
+      launch(false);
+      scheduleHedge();
+    }
+
+    /**
+     * Starts an attempt. The first attempt uses the original call and later ones use clones.
+     */
+    private void launch(boolean hedge) {
+      Attempt attempt;
+
+      synchronized (this) {
+        if (done) {
+          return;
+        }
+
+        Call<Object> call = attempts == 0 ? delegate : delegate.clone();
+        attempts++;
+        attempt = new Attempt(call, hedge);
+        inFlight.add(attempt);
+      }
+
+      attempt.call.enqueue(attempt);
+    }
+
+    private void scheduleHedge() {
+      if (!policy.isHedged() || policy.maxAttempts < 2) {
+        return;
+      }
+
+      long delay = endpoint.percentile(policy.hedgePercentile);
+
+      // Without enough samples there is nothing to compare against, so the call isn't hedged.
+      if (delay == -1) {
+        return;
+      }
+
+      delay = Math.max(delay, policy.minHedgeDelayNanos);
+
+      synchronized (this) {
+        if (done) {
+          return;
+        }
+
+        timer = Timer.INSTANCE.schedule(new Runnable() {
+          @Override public void run() {
+            hedge();
+          }
+        }, delay, TimeUnit.NANOSECONDS);
+      }
+    }
+
+    private void hedge() {
+      Attempt attempt;
+
+      // Checked and started under one lock, so a hedge can't slip in after a retry was scheduled.
+      synchronized (this) {
+        if (done || inFlight.isEmpty() || attempts >= policy.maxAttempts) {
+          return;
+        }
+
+        if (!budget.tryWithdraw()) {
+          endpoint.budgetExhaustedCount.incrementAndGet();
+          return;
+        }
+
+        attempts++;
+        attempt = new Attempt(delegate.clone(), true);
+        inFlight.add(attempt);
+      }
+
+      endpoint.hedgeCount.incrementAndGet();
+      attempt.call.enqueue(attempt);
+    }
+
+    private void onAttemptFinished(Attempt attempt, Response<Object> response, Throwable t) {
+      boolean retryable = response != null ? isRetryable(response) : t instanceof IOException;
+
+      if (retryable) {
+        synchronized (this) {
+          if (done) {
+            discard(response);
+            return;
+          }
+
+          inFlight.remove(attempt);
+
+          // Another attempt is still running and may yet succeed.
+          if (!inFlight.isEmpty()) {
+            discard(response);
+            return;
+          }
+        }
+
+        if (retryAllowed(attemptCount())) {
+          discard(response);
+          scheduleRetry();
+          return;
+        }
+      }
+
+      finish(attempt, response, t);
+    }
+
+    private synchronized int attemptCount() {
+      return attempts;
+    }
+
+    private void scheduleRetry() {
+      long delay = policy.backoffNanos(attemptCount());
+
+      synchronized (this) {
+        if (done) {
+          return;
+        }
+
+        // The pending hedge timer belongs to the attempt that just failed.
+        if (timer != null) {
+          timer.cancel(false);
+        }
+
+        timer = Timer.INSTANCE.schedule(new Runnable() {
+          @Override public void run() {
+            launch(false);
+          }
+        }, delay, TimeUnit.NANOSECONDS);
+      }
+    }
+
+    private void finish(Attempt attempt, Response<Object> response, Throwable t) {
+      List<Attempt> losers;
+      Callback<Object> target;
+
+      synchronized (this) {
+        if (done) {
+          discard(response);
+          return;
+        }
+
+        done = true;
+        inFlight.remove(attempt);
+        losers = new ArrayList<>(inFlight);
+        inFlight.clear();
+        target = callback;
+
+        if (timer != null) {
+          timer.cancel(false);
+        }
+      }
+
+      for (Attempt loser : losers) {
+        loser.call.cancel();
+      }
+
+      if (response != null) {
+        if (response.isSuccessful()) {
+          endpoint.record(attempt.latencyNanos());
+
+          if (attempt.hedge) {
+            endpoint.hedgeWinCount.incrementAndGet();
+          }
+        }
+
+        target.onResponse(this, response);
+      } else {
+        target.onFailure(this, t);
+      }
+    }
+
+    @Override public synchronized boolean isExecuted() {
+      return executed;
+    }
+
+    @Override public void cancel() {
+      List<Attempt> abandoned;
+      Call<Object> running;
+      Callback<Object> target;
+
+      synchronized (this) {
+        if (canceled) {
+          return;
+        }
+
+        canceled = true;
+        running = current;
+        abandoned = new ArrayList<>(inFlight);
+        inFlight.clear();
+        target = done ? null : callback;
+        done = true;
+
+        if (timer != null) {
+          timer.cancel(false);
+        }
+
+        // Wakes a synchronous call that is waiting to retry.
+        notifyAll();
+      }
+
+      if (running != null) {
+        running.cancel();
+      }
+
+      for (Attempt attempt : abandoned) {
+        attempt.call.cancel();
+      }
+
+      if (target != null) {
+        target.onFailure(this, new IOException("Canceled"));
+      }
+    }
+
+    @Override public synchronized boolean isCanceled() {
+      return canceled;
+    }
+
+    @SuppressWarnings("CloneDoesntCallSuperClone")
+    @Override public Call<Object> clone() {
+      return new RetryingCall(delegate.clone());
+    }
+
+    @Override public Request request() {
+      return delegate.request();
+    }
+
+    private final class Attempt implements Callback<Object> {
+      final Call<Object> call;
+      final boolean hedge;
+      final long startNanos = System.nanoTime();
+
+      Attempt(Call<Object> call, boolean hedge) {
+        this.call = call;
+        this.hedge = hedge;
+      }
+
+      long latencyNanos() {
+        return System.nanoTime() - startNanos;
+      }
+
+      @Override public void onResponse(Call<Object> call, Response<Object> response) {
+        onAttemptFinished(this, response, null);
+      }
+
+      @Override public void onFailure(Call<Object> call, Throwable t) {
+        onAttemptFinished(this, null, t);
+      }
+    }
+  }
+}
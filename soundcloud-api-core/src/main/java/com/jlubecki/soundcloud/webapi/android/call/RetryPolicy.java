@@ -0,0 +1,148 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Jacob Lubecki
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jlubecki.soundcloud.webapi.android.call;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Describes how a failed call is retried and whether slow calls are hedged.
+ *
+ * Retries wait for an exponentially growing, fully jittered delay so that clients that failed at
+ * the same time don't retry at the same time. A hedged call sends a duplicate request when the
+ * first one is slower than a percentile of recent latencies for its endpoint, and uses whichever
+ * response arrives first.
+ */
+public class RetryPolicy {
+
+  /**
+   * Policy that never retries or hedges.
+   */
+  public static final RetryPolicy NONE = new Builder().setMaxAttempts(1).build();
+
+  private static final Random RANDOM = new Random();
+
+  final int maxAttempts;
+  final long initialBackoffNanos;
+  final long maxBackoffNanos;
+  final double multiplier;
+  final double hedgePercentile;
+  final long minHedgeDelayNanos;
+
+  private RetryPolicy(Builder builder) {
+    maxAttempts = builder.maxAttempts;
+    initialBackoffNanos = builder.initialBackoffNanos;
+    maxBackoffNanos = builder.maxBackoffNanos;
+    multiplier = builder.multiplier;
+    hedgePercentile = builder.hedgePercentile;
+    minHedgeDelayNanos = builder.minHedgeDelayNanos;
+  }
+
+  boolean isHedged() {
+    return hedgePercentile > 0;
+  }
+
+  /**
+   * @param retry Number of the retry, starting at 1.
+   * @return A random delay between 0 and the exponential backoff for the retry.
+   */
+  long backoffNanos(int retry) {
+    double ceiling = initialBackoffNanos * Math.pow(multiplier, retry - 1);
+    ceiling = Math.min(ceiling, maxBackoffNanos);
+
+    return (long) (RANDOM.nextDouble() * ceiling);
+  }
+
+  public static class Builder {
+    private int maxAttempts = 3;
+    private long initialBackoffNanos = TimeUnit.MILLISECONDS.toNanos(100);
+    private long maxBackoffNanos = TimeUnit.SECONDS.toNanos(2);
+    private double multiplier = 2;
+    private double hedgePercentile = 0;
+    private long minHedgeDelayNanos = TimeUnit.MILLISECONDS.toNanos(50);
+
+    /**
+     * @param maxAttempts Total number of requests made for a call, including the first one.
+     * @return The instance of the builder that was just updated.
+     */
+    public Builder setMaxAttempts(int maxAttempts) {
+      if (maxAttempts < 1) {
+        throw new IllegalArgumentException("maxAttempts < 1: " + maxAttempts);
+      }
+
+      this.maxAttempts = maxAttempts;
+
+      return this;
+    }
+
+    /**
+     * @param initial Upper bound of the delay before the first retry.
+     * @param max Upper bound of the delay before any retry.
+     * @param unit Unit of both delays.
+     * @return The instance of the builder that was just updated.
+     */
+    public Builder setBackoff(long initial, long max, TimeUnit unit) {
+      this.initialBackoffNanos = unit.toNanos(initial);
+      this.maxBackoffNanos = unit.toNanos(max);
+
+      return this;
+    }
+
+    /**
+     * @param multiplier Factor the backoff grows by with every retry.
+     * @return The instance of the builder that was just updated.
+     */
+    public Builder setMultiplier(double multiplier) {
+      this.multiplier = multiplier;
+
+      return this;
+    }
+
+    /**
+     * Enables hedging. A duplicate request is sent once a call has been in flight longer than the
+     * given percentile of recent latencies for its endpoint, but never sooner than the minimum
+     * delay. Hedges count as attempts.
+     *
+     * @param percentile Percentile of recent latencies to wait for, like 0.95.
+     * @param minDelay Shortest time to wait before hedging.
+     * @param unit Unit of the delay.
+     * @return The instance of the builder that was just updated.
+     */
+    public Builder setHedging(double percentile, long minDelay, TimeUnit unit) {
+      if (percentile <= 0 || percentile >= 1) {
+        throw new IllegalArgumentException("percentile must be between 0 and 1: " + percentile);
+      }
+
+      this.hedgePercentile = percentile;
+      this.minHedgeDelayNanos = unit.toNanos(minDelay);
+
+      return this;
+    }
+
+    public RetryPolicy build() {
+      return new RetryPolicy(this);
+    }
+  }
+}
@@ -0,0 +1,195 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Jacob Lubecki
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jlubecki.soundcloud.webapi.android.http;
+
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import okhttp3.Request;
+import retrofit2.Call;
+import retrofit2.CallAdapter;
+import retrofit2.Callback;
+import retrofit2.Response;
+import retrofit2.Retrofit;
+
+/**
+ * Binds an {@code Authorization} header to individual calls, so one Retrofit instance and one
+ * OkHttp client can serve any number of users.
+ *
+ * A call is bound to the credential that was {@link #enter(String) entered} on the thread that
+ * created it. The binding is kept by the call and its clones, so retries made from other threads
+ * use the same credential. Nothing is stored per user outside of the calls themselves.
+ */
+public final class CredentialScope {
+
+  private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+  private CredentialScope() {
+  }
+
+  /**
+   * Makes calls created on this thread use the given credential until {@link #exit(String)}.
+   *
+   * @param authorization Value from {@link RequestSigner#authorization(String)}.
+   * @return The credential that was previously entered, to be passed to {@link #exit(String)}.
+   */
+  public static String enter(String authorization) {
+    String previous = CURRENT.get();
+    CURRENT.set(authorization);
+
+    return previous;
+  }
+
+  /**
+   * Restores the credential that was active before the matching {@link #enter(String)}.
+   *
+   * @param previous The value returned by {@link #enter(String)}.
+   */
+  public static void exit(String previous) {
+    if (previous == null) {
+      CURRENT.remove();
+    } else {
+      CURRENT.set(previous);
+    }
+  }
+
+  /**
+   * Adds the credential entered on the current thread to every request it creates.
+   */
+  public static class CallFactory implements okhttp3.Call.Factory {
+    private final okhttp3.Call.Factory delegate;
+
+    public CallFactory(okhttp3.Call.Factory delegate) {
+      this.delegate = delegate;
+    }
+
+    @Override public okhttp3.Call newCall(Request request) {
+      String authorization = CURRENT.get();
+
+      if (authorization != null) {
+        request = request.newBuilder()
+            .header(RequestSigner.AUTHORIZATION, authorization)
+            .build();
+      }
+
+      return delegate.newCall(request);
+    }
+  }
+
+  /**
+   * Binds calls to the credential entered while they were created. Calls created outside of a
+   * scope are returned unchanged.
+   *
+   * Must be added before every factory that wraps a {@link Call}, so that it wraps Retrofit's own
+   * call directly, and after factories that adapt a call to another type, like a future. Those
+   * only consult the factories after them for the call they adapt.
+   */
+  public static class CallAdapterFactory extends CallAdapter.Factory {
+    @Override public CallAdapter<?, ?> get(Type returnType, Annotation[] annotations,
+        Retrofit retrofit) {
+
+      if (getRawType(returnType) != Call.class) {
+        return null;
+      }
+
+      @SuppressWarnings("unchecked")
+      final CallAdapter<Object, Object> delegate =
+          (CallAdapter<Object, Object>) retrofit.nextCallAdapter(this, returnType, annotations);
+
+      return new CallAdapter<Object, Object>() {
+        @Override public Type responseType() {
+          return delegate.responseType();
+        }
+
+        @Override public Object adapt(Call<Object> call) {
+          String authorization = CURRENT.get();
+
+          if (authorization == null) {
+            return delegate.adapt(call);
+          }
+
+          return delegate.adapt(new BoundCall<>(call, authorization));
+        }
+      };
+    }
+  }
+
+  /**
+   * Enters its credential whenever the wrapped call might create its OkHttp request.
+   */
+  private static final class BoundCall<T> implements Call<T> {
+    private final Call<T> delegate;
+    private final String authorization;
+
+    BoundCall(Call<T> delegate, String authorization) {
+      this.delegate = delegate;
+      this.authorization = authorization;
+    }
+
+    @Override public Response<T> execute() throws IOException {
+      String previous = enter(authorization);
+      try {
+        return delegate.execute();
+      } finally {
+        exit(previous);
+      }
+    }
+
+    @Override public void enqueue(Callback<T> callback) {
+      String previous = enter(authorization);
+      try {
+        delegate.enqueue(callback);
+      } finally {
+        exit(previous);
+      }
+    }
+
+    @Override public Request request() {
+      String previous = enter(authorization);
+      try {
+        return delegate.request();
+      } finally {
+        exit(previous);
+      }
+    }
+
+    @Override public boolean isExecuted() {
+      return delegate.isExecuted();
+    }
+
+    @Override public void cancel() {
+      delegate.cancel();
+    }
+
+    @Override public boolean isCanceled() {
+      return delegate.isCanceled();
+    }
+
+    @SuppressWarnings("CloneDoesntCallSuperClone")
+    @Override public Call<T> clone() {
+      return new BoundCall<>(delegate.clone(), authorization);
+    }
+  }
+}
@@ -0,0 +1,69 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Jacob Lubecki
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jlubecki.soundcloud.webapi.android.http;
+
+import java.io.IOException;
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.HttpUrl;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * Resolves a host and opens a connection to it ahead of the first real request, so that request
+ * doesn't pay for DNS, TCP and TLS.
+ */
+public final class Prewarmer {
+
+  private Prewarmer() {
+  }
+
+  /**
+   * Sends a HEAD request to the url on the client's dispatcher. The request skips the client's
+   * interceptors, cache and event listeners, so it isn't signed, rate limited or measured. The
+   * connection it opens stays in the client's pool for as long as the pool keeps idle
+   * connections, which is five minutes by default.
+   *
+   * @param client The client whose pool the connection should be added to.
+   * @param url Any url on the host to connect to.
+   */
+  public static void prewarm(OkHttpClient client, HttpUrl url) {
+    Request request = new Request.Builder()
+        .url(url)
+        .head()
+        .build();
+
+    SharedClient.newIsolatedBuilder(client).build().newCall(request).enqueue(new Callback() {
+      @Override public void onFailure(Call call, IOException e) {
+        // Nothing to warm up. The first real request will report the problem.
+      }
+
+      @Override public void onResponse(Call call, Response response) {
+        response.close();
+      }
+    });
+  }
+}
@@ -0,0 +1,448 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Jacob Lubecki
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jlubecki.soundcloud.webapi.android.http;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import okhttp3.CacheControl;
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * Client side token bucket limiter for requests to the SoundCloud API. Requests that exceed the
+ * configured rate wait for a permit instead of failing. There is one global bucket and, optionally,
+ * one bucket per endpoint family, which is the first segment of the request path.
+ *
+ * The limiter adapts to the server. A 429 response or a remaining quota of zero pauses the
+ * request's family until the time given by the {@code Retry-After} or reset header, and a 429 also
+ * halves its rate. Families without a limit of their own share the global bucket, so it is the one
+ * paused for them. The rate recovers gradually with every successful response.
+ *
+ * The {@link #getInterceptor() interceptor} is an application interceptor, so requests wait for a
+ * permit before a connection is taken from the pool, and never hold one while they wait. Async
+ * calls wait on a dispatcher thread. A GET that would have to wait is first tried against the
+ * response cache, and a fresh cached response is returned without waiting or taking a permit.
+ * Requests answered from the cache otherwise get their permit back, and {@code only-if-cached}
+ * requests don't take one. Requests rejected with a 429 wait in line again, up to
+ * {@link #setMaxRetries(int)} times.
+ */
+public class RateLimiter {
+
+  public static final String TRACKS = "tracks";
+  public static final String USERS = "users";
+  public static final String PLAYLISTS = "playlists";
+  public static final String GROUPS = "groups";
+  public static final String ME = "me";
+
+  public static final String DEFAULT_REMAINING_HEADER = "X-RateLimit-Remaining";
+  public static final String DEFAULT_RESET_HEADER = "X-RateLimit-Reset";
+
+  private static final long DEFAULT_PAUSE_NANOS = TimeUnit.SECONDS.toNanos(1);
+  private static final int MAX_SLOWDOWN = 16;
+
+  private final Bucket global;
+  private final Map<String, Bucket> families = new ConcurrentHashMap<>();
+
+  private volatile String remainingHeader = DEFAULT_REMAINING_HEADER;
+  private volatile String resetHeader = DEFAULT_RESET_HEADER;
+  private volatile int maxRetries = 3;
+  private volatile long maxWaitNanos = TimeUnit.MINUTES.toNanos(2);
+
+  private final AtomicLong throttledCount = new AtomicLong();
+  private final AtomicLong totalWaitNanos = new AtomicLong();
+  private final AtomicLong rejectedCount = new AtomicLong();
+
+  private final Interceptor interceptor = new LimitingInterceptor();
+
+  /**
+   * Creates a limiter with a global rate.
+   *
+   * @param permitsPerSecond Sustained number of requests per second.
+   * @param burst Number of requests that may be made at once after the limiter was idle.
+   */
+  public RateLimiter(double permitsPerSecond, int burst) {
+    this.global = new Bucket(permitsPerSecond, burst);
+  }
+
+  /**
+   * Sets a rate for an endpoint family. Requests in the family need a permit from both its bucket
+   * and the global one.
+   *
+   * @param family One of {@link #TRACKS}, {@link #USERS}, {@link #PLAYLISTS}, {@link #GROUPS},
+   *               {@link #ME} or another first path segment.
+   * @param permitsPerSecond Sustained number of requests per second.
+   * @param burst Number of requests that may be made at once after the family was idle.
+   * @return This limiter, so limits can be chained.
+   */
+  public RateLimiter setFamilyLimit(String family, double permitsPerSecond, int burst) {
+    families.put(family, new Bucket(permitsPerSecond, burst));
+
+    return this;
+  }
+
+  /**
+   * Sets the headers that report the remaining quota and when it resets. The reset header may hold
+   * either seconds until the reset or the epoch second of the reset.
+   *
+   * @return This limiter, so settings can be chained.
+   */
+  public RateLimiter setQuotaHeaders(String remainingHeader, String resetHeader) {
+    this.remainingHeader = remainingHeader;
+    this.resetHeader = resetHeader;
+
+    return this;
+  }
+
+  /**
+   * @param maxRetries How often a request rejected with a 429 is queued again. Defaults to 3.
+   * @return This limiter, so settings can be chained.
+   */
+  public RateLimiter setMaxRetries(int maxRetries) {
+    this.maxRetries = maxRetries;
+
+    return this;
+  }
+
+  /**
+   * @param maxWait Longest time a request may wait for a permit. Requests that would wait longer
+   *                fail right away with an {@link IOException}, without taking a permit.
+   * @param unit Unit of the wait.
+   * @return This limiter, so settings can be chained.
+   */
+  public RateLimiter setMaxWait(long maxWait, TimeUnit unit) {
+    this.maxWaitNanos = unit.toNanos(maxWait);
+
+    return this;
+  }
+
+  /**
+   * @return The interceptor that applies this limiter. Should be added as an application
+   * interceptor.
+   */
+  public Interceptor getInterceptor() {
+    return interceptor;
+  }
+
+  /**
+   * @return How long a request made now would wait for a global permit.
+   */
+  public long getCurrentWaitMillis() {
+    return TimeUnit.NANOSECONDS.toMillis(global.currentWait(System.nanoTime()));
+  }
+
+  /**
+   * @param family An endpoint family.
+   * @return How long a request in the family made now would wait for a permit.
+   */
+  public long getCurrentWaitMillis(String family) {
+    return TimeUnit.NANOSECONDS.toMillis(currentWait(families.get(family)));
+  }
+
+  /**
+   * @return Number of requests that had to wait for a permit.
+   */
+  public long getThrottledCount() {
+    return throttledCount.get();
+  }
+
+  /**
+   * @return Total time requests spent waiting for permits.
+   */
+  public long getTotalWaitMillis() {
+    return TimeUnit.NANOSECONDS.toMillis(totalWaitNanos.get());
+  }
+
+  /**
+   * @return Number of 429 responses received.
+   */
+  public long getRejectedCount() {
+    return rejectedCount.get();
+  }
+
+  private static String family(Request request) {
+    List<String> segments = request.url().pathSegments();
+
+    return segments.isEmpty() ? "" : segments.get(0);
+  }
+
+  /**
+   * @param bucket The family's bucket, or null if the family shares the global one.
+   * @return How long a request made now would wait for its permits.
+   */
+  private long currentWait(Bucket bucket) {
+    long now = System.nanoTime();
+    long wait = global.currentWait(now);
+
+    if (bucket != null) {
+      wait = Math.max(wait, bucket.currentWait(now));
+    }
+
+    return wait;
+  }
+
+  /**
+   * Takes a permit from the global bucket and the family's bucket, if it has one. Nothing is taken
+   * when the wait would be too long.
+   */
+  private void acquire(Bucket bucket) throws IOException {
+    long now = System.nanoTime();
+
+    long wait = global.reserve(now, maxWaitNanos);
+    if (wait > maxWaitNanos) {
+      throw rateLimited(wait);
+    }
+
+    if (bucket != null) {
+      long familyWait = bucket.reserve(now, maxWaitNanos);
+
+      if (familyWait > maxWaitNanos) {
+        global.release(now);
+        throw rateLimited(familyWait);
+      }
+
+      wait = Math.max(wait, familyWait);
+    }
+
+    if (wait <= 0) {
+      return;
+    }
+
+    throttledCount.incrementAndGet();
+    totalWaitNanos.addAndGet(wait);
+
+    try {
+      TimeUnit.NANOSECONDS.sleep(wait);
+    } catch (InterruptedException e) {
+      release(bucket);
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Interrupted while waiting for a rate limit permit.");
+    }
+  }
+
+  private void release(Bucket bucket) {
+    long now = System.nanoTime();
+
+    global.release(now);
+    if (bucket != null) {
+      bucket.release(now);
+    }
+  }
+
+  private static IOException rateLimited(long waitNanos) {
+    return new IOException("Rate limited for " + TimeUnit.NANOSECONDS.toMillis(waitNanos) + "ms.");
+  }
+
+  /**
+   * @param bucket The family's bucket, or null if the family shares the global one.
+   */
+  private void adapt(Bucket bucket, Response response) {
+    long now = System.nanoTime();
+    Bucket limited = bucket != null ? bucket : global;
+
+    if (response.code() == 429) {
+      rejectedCount.incrementAndGet();
+      limited.slowDown(now + parseDelay(response.header("Retry-After"), DEFAULT_PAUSE_NANOS));
+
+      return;
+    }
+
+    String remaining = response.header(remainingHeader);
+    if (remaining != null && remaining.trim().equals("0")) {
+      limited.pause(now + parseDelay(response.header(resetHeader), DEFAULT_PAUSE_NANOS));
+    }
+
+    if (response.isSuccessful()) {
+      limited.recover();
+    }
+  }
+
+  /**
+   * Parses a delay given either in seconds or as an epoch second.
+   */
+  private static long parseDelay(String value, long defaultNanos) {
+    if (value == null) {
+      return defaultNanos;
+    }
+
+    try {
+      long seconds = Long.parseLong(value.trim());
+      long nowSeconds = TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis());
+
+      if (seconds > nowSeconds / 2) {
+        seconds -= nowSeconds;
+      }
+
+      return TimeUnit.SECONDS.toNanos(Math.max(seconds, 0));
+    } catch (NumberFormatException e) {
+      return defaultNanos;
+    }
+  }
+
+  private class LimitingInterceptor implements Interceptor {
+    private final CacheControl onlyIfCached = new CacheControl.Builder().onlyIfCached().build();
+
+    @Override public Response intercept(Chain chain) throws IOException {
+      Request request = chain.request();
+
+      if (request.cacheControl().onlyIfCached()) {
+        return chain.proceed(request);
+      }
+
+      Bucket bucket = families.get(family(request));
+
+      if (request.method().equals("GET") && currentWait(bucket) > 0) {
+        // Only fresh entries are served; anything else is the cache's 504.
+        Response cached = chain.proceed(request.newBuilder().cacheControl(onlyIfCached).build());
+
+        if (cached.code() != 504) {
+          return cached;
+        }
+
+        cached.close();
+      }
+
+      for (int attempt = 0; ; attempt++) {
+        acquire(bucket);
+
+        Response response = chain.proceed(request);
+
+        if (response.networkResponse() == null) {
+          release(bucket);
+          return response;
+        }
+
+        adapt(bucket, response);
+
+        if (response.code() != 429 || attempt >= maxRetries) {
+          return response;
+        }
+
+        // The bucket was paused, so the next attempt waits in line.
+        response.close();
+      }
+    }
+  }
+
+  /**
+   * Token bucket that hands out permits in advance: a request that finds the bucket empty reserves
+   * the next permit and waits until it is due.
+   */
+  private static class Bucket {
+    private final long baseIntervalNanos;
+    private final double maxPermits;
+
+    private long intervalNanos;
+    private double storedPermits;
+    private long nextFreeNanos;
+
+    Bucket(double permitsPerSecond, int burst) {
+      if (permitsPerSecond <= 0) {
+        throw new IllegalArgumentException("permitsPerSecond <= 0: " + permitsPerSecond);
+      }
+
+      this.baseIntervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond);
+      this.intervalNanos = baseIntervalNanos;
+      this.maxPermits = Math.max(burst, 1);
+      this.storedPermits = maxPermits;
+      this.nextFreeNanos = System.nanoTime();
+    }
+
+    /**
+     * @return How long to wait for the reserved permit. Nothing is reserved if that's longer than
+     * the maximum wait.
+     */
+    synchronized long reserve(long now, long maxWaitNanos) {
+      refill(now);
+
+      long wait = nextFreeNanos - now;
+      if (wait > maxWaitNanos) {
+        return wait;
+      }
+
+      double fromStored = Math.min(1, storedPermits);
+      storedPermits -= fromStored;
+      nextFreeNanos += (long) ((1 - fromStored) * intervalNanos);
+
+      return wait;
+    }
+
+    /**
+     * Gives back a permit that was reserved but not used.
+     */
+    synchronized void release(long now) {
+      refill(now);
+
+      long ahead = nextFreeNanos - now;
+      if (ahead > 0) {
+        nextFreeNanos -= Math.min(ahead, intervalNanos);
+      } else {
+        storedPermits = Math.min(maxPermits, storedPermits + 1);
+      }
+    }
+
+    /**
+     * @return The wait {@link #reserve} would return now.
+     */
+    synchronized long currentWait(long now) {
+      refill(now);
+
+      return nextFreeNanos - now;
+    }
+
+    synchronized void pause(long untilNanos) {
+      if (untilNanos - nextFreeNanos > 0) {
+        nextFreeNanos = untilNanos;
+      }
+
+      storedPermits = 0;
+    }
+
+    synchronized void slowDown(long untilNanos) {
+      pause(untilNanos);
+      intervalNanos = Math.min(intervalNanos * 2, baseIntervalNanos * MAX_SLOWDOWN);
+    }
+
+    synchronized void recover() {
+      if (intervalNanos > baseIntervalNanos) {
+        intervalNanos = Math.max(baseIntervalNanos, intervalNanos - intervalNanos / 20);
+      }
+    }
+
+    private void refill(long now) {
+      if (now - nextFreeNanos > 0) {
+        double refilled = (now - nextFreeNanos) / (double) intervalNanos;
+
+        storedPermits = Math.min(maxPermits, storedPermits + refilled);
+        nextFreeNanos = now;
+      }
+    }
+  }
+}
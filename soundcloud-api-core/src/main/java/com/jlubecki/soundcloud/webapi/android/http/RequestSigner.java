@@ -0,0 +1,103 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Jacob Lubecki
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jlubecki.soundcloud.webapi.android.http;
+
+import okhttp3.HttpUrl;
+import okhttp3.Request;
+
+/**
+ * Adds SoundCloud credentials to requests. The client ID is added as a query parameter and the
+ * OAuth token as an {@code Authorization} header, which keeps tokens out of URLs, logs and cache
+ * keys.
+ *
+ * Signing allocates as little as possible: the header value is computed once per token with
+ * {@link #authorization(String)}, the URL is only rebuilt when it doesn't already carry the client
+ * ID (like the {@code next_href} of a paged response) and the request is only rebuilt when
+ * something changed.
+ */
+public final class RequestSigner {
+
+  public static final String CLIENT_ID = "client_id";
+  public static final String AUTHORIZATION = "Authorization";
+
+  private final String clientId;
+
+  /**
+   * @param clientId Client ID provided by SoundCloud. Must already be URL encoded.
+   */
+  public RequestSigner(String clientId) {
+    this.clientId = clientId;
+  }
+
+  /**
+   * Computes the {@code Authorization} header for a token. Should be called once per token rather
+   * than once per request.
+   *
+   * @param token An OAuth token, may be null.
+   * @return The header value, or null if the token is null.
+   */
+  public static String authorization(String token) {
+    return token != null ? "OAuth " + token : null;
+  }
+
+  /**
+   * @param url URL of a request to the SoundCloud API.
+   * @return The URL with the client ID, or the same instance if it already has one.
+   */
+  public HttpUrl sign(HttpUrl url) {
+    if (url.queryParameter(CLIENT_ID) != null) {
+      return url;
+    }
+
+    return url.newBuilder()
+        .addEncodedQueryParameter(CLIENT_ID, clientId)
+        .build();
+  }
+
+  /**
+   * @param request Request to the SoundCloud API.
+   * @param authorization Value from {@link #authorization(String)}, may be null. Not used if the
+   *                      request already has an {@code Authorization} header.
+   * @return The signed request, or the same instance if it already carried the credentials.
+   */
+  public Request sign(Request request, String authorization) {
+    HttpUrl url = request.url();
+    HttpUrl signedUrl = sign(url);
+
+    boolean addAuthorization = authorization != null && request.header(AUTHORIZATION) == null;
+
+    if (signedUrl == url && !addAuthorization) {
+      return request;
+    }
+
+    Request.Builder builder = request.newBuilder().url(signedUrl);
+
+    if (addAuthorization) {
+      builder.header(AUTHORIZATION, authorization);
+    }
+
+    return builder.build();
+  }
+}
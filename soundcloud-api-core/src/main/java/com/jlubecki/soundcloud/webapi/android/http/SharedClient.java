@@ -0,0 +1,70 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Jacob Lubecki
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jlubecki.soundcloud.webapi.android.http;
+
+import okhttp3.EventListener;
+import okhttp3.OkHttpClient;
+
+/**
+ * Holds the client that every {@link com.jlubecki.soundcloud.webapi.android.SoundCloudAPI} and
+ * {@code SoundCloudAuthenticator} derives its own client from when no other client is given, so
+ * they share one connection pool and dispatcher.
+ */
+public final class SharedClient {
+
+  private SharedClient() {
+  }
+
+  /**
+   * @return The shared client. Created on first use.
+   */
+  public static OkHttpClient get() {
+    return Holder.INSTANCE;
+  }
+
+  /**
+   * Derives a builder from a client that shares its connection pool, dispatcher, timeouts and
+   * TLS configuration, but none of its interceptors, its cache or its event listeners. Requests
+   * made with different credentials can use the same sockets this way without passing through
+   * each other's interceptors.
+   *
+   * @param client The client whose transport should be shared.
+   * @return A builder without interceptors.
+   */
+  public static OkHttpClient.Builder newIsolatedBuilder(OkHttpClient client) {
+    OkHttpClient.Builder builder = client.newBuilder()
+        .cache(null)
+        .eventListener(EventListener.NONE);
+
+    builder.interceptors().clear();
+    builder.networkInterceptors().clear();
+
+    return builder;
+  }
+
+  private static class Holder {
+    static final OkHttpClient INSTANCE = new OkHttpClient();
+  }
+}
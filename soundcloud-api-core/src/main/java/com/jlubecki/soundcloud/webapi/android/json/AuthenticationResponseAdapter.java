@@ -0,0 +1,68 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Jacob Lubecki
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jlubecki.soundcloud.webapi.android.json;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import com.jlubecki.soundcloud.webapi.android.auth.models.AuthenticationResponse;
+import java.io.IOException;
+
+/**
+ * Reads and writes {@link AuthenticationResponse} without reflection.
+ */
+final class AuthenticationResponseAdapter extends ModelAdapter<AuthenticationResponse> {
+
+  static final String[] NAMES = {"access_token", "scope", "error"};
+
+  AuthenticationResponseAdapter() {
+    super(NAMES);
+  }
+
+  @Override AuthenticationResponse newInstance() {
+    return new AuthenticationResponse();
+  }
+
+  @Override void readField(JsonReader in, int field, AuthenticationResponse value) throws IOException {
+    switch (field) {
+      case 0:
+        value.access_token = readString(in);
+        break;
+      case 1:
+        value.scope = readString(in);
+        break;
+      case 2:
+        value.error = readString(in);
+        break;
+      default:
+        in.skipValue();
+    }
+  }
+
+  @Override void writeFields(JsonWriter out, AuthenticationResponse value) throws IOException {
+    out.name("access_token").value(value.access_token);
+    out.name("scope").value(value.scope);
+    out.name("error").value(value.error);
+  }
+}
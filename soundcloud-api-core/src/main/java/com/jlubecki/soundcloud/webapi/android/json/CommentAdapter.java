@@ -0,0 +1,98 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Jacob Lubecki
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jlubecki.soundcloud.webapi.android.json;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import com.jlubecki.soundcloud.webapi.android.models.Comment;
+import com.jlubecki.soundcloud.webapi.android.models.MiniUser;
+import java.io.IOException;
+
+/**
+ * Reads and writes {@link Comment} without reflection.
+ */
+final class CommentAdapter extends ModelAdapter<Comment> {
+
+  static final String[] NAMES = {
+      "id", "uri", "created_at", "body", "timestamp", "user_id", "user", "track_id"
+  };
+
+  private final TypeAdapter<MiniUser> miniUserAdapter;
+
+  CommentAdapter(Gson gson) {
+    super(NAMES);
+
+    miniUserAdapter = gson.getAdapter(MiniUser.class);
+  }
+
+  @Override Comment newInstance() {
+    return new Comment();
+  }
+
+  @Override void readField(JsonReader in, int field, Comment value) throws IOException {
+    switch (field) {
+      case 0:
+        value.id = readString(in);
+        break;
+      case 1:
+        value.uri = readString(in);
+        break;
+      case 2:
+        value.created_at = readString(in);
+        break;
+      case 3:
+        value.body = readString(in);
+        break;
+      case 4:
+        value.timestamp = readString(in);
+        break;
+      case 5:
+        value.user_id = readString(in);
+        break;
+      case 6:
+        value.user = miniUserAdapter.read(in);
+        break;
+      case 7:
+        value.track_id = readString(in);
+        break;
+      default:
+        in.skipValue();
+    }
+  }
+
+  @Override void writeFields(JsonWriter out, Comment value) throws IOException {
+    out.name("id").value(value.id);
+    out.name("uri").value(value.uri);
+    out.name("created_at").value(value.created_at);
+    out.name("body").value(value.body);
+    out.name("timestamp").value(value.timestamp);
+    out.name("user_id").value(value.user_id);
+    out.name("user");
+    miniUserAdapter.write(out, value.user);
+    out.name("track_id").value(value.track_id);
+  }
+}
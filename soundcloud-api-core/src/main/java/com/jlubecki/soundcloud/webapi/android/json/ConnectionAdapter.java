@@ -0,0 +1,90 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Jacob Lubecki
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jlubecki.soundcloud.webapi.android.json;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import com.jlubecki.soundcloud.webapi.android.models.Connection;
+import java.io.IOException;
+
+/**
+ * Reads and writes {@link Connection} without reflection.
+ */
+final class ConnectionAdapter extends ModelAdapter<Connection> {
+
+  static final String[] NAMES = {
+      "created_at", "display_name", "id", "post_favorite", "post_publish", "service", "type", "uri"
+  };
+
+  ConnectionAdapter() {
+    super(NAMES);
+  }
+
+  @Override Connection newInstance() {
+    return new Connection();
+  }
+
+  @Override void readField(JsonReader in, int field, Connection value) throws IOException {
+    switch (field) {
+      case 0:
+        value.created_at = readString(in);
+        break;
+      case 1:
+        value.display_name = readString(in);
+        break;
+      case 2:
+        value.id = readString(in);
+        break;
+      case 3:
+        value.post_favorite = readString(in);
+        break;
+      case 4:
+        value.post_publish = readString(in);
+        break;
+      case 5:
+        value.service = readPooledString(in);
+        break;
+      case 6:
+        value.type = readPooledString(in);
+        break;
+      case 7:
+        value.uri = readString(in);
+        break;
+      default:
+        in.skipValue();
+    }
+  }
+
+  @Override void writeFields(JsonWriter out, Connection value) throws IOException {
+    out.name("created_at").value(value.created_at);
+    out.name("display_name").value(value.display_name);
+    out.name("id").value(value.id);
+    out.name("post_favorite").value(value.post_favorite);
+    out.name("post_publish").value(value.post_publish);
+    out.name("service").value(value.service);
+    out.name("type").value(value.type);
+    out.name("uri").value(value.uri);
+  }
+}
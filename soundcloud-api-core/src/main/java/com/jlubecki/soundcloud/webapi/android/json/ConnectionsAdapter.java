@@ -0,0 +1,69 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Jacob Lubecki
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jlubecki.soundcloud.webapi.android.json;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import com.jlubecki.soundcloud.webapi.android.models.Connections;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Reads and writes {@link Connections} without reflection.
+ */
+final class ConnectionsAdapter extends ModelAdapter<Connections> {
+
+  static final String[] NAMES = {"connections"};
+
+  private final TypeAdapter<List<Connections>> connectionsListAdapter;
+
+  ConnectionsAdapter(Gson gson) {
+    super(NAMES);
+
+    connectionsListAdapter = gson.getAdapter(new TypeToken<List<Connections>>() {});
+  }
+
+  @Override Connections newInstance() {
+    return new Connections();
+  }
+
+  @Override void readField(JsonReader in, int field, Connections value) throws IOException {
+    switch (field) {
+      case 0:
+        value.connections = connectionsListAdapter.read(in);
+        break;
+      default:
+        in.skipValue();
+    }
+  }
+
+  @Override void writeFields(JsonWriter out, Connections value) throws IOException {
+    out.name("connections");
+    connectionsListAdapter.write(out, value.connections);
+  }
+}
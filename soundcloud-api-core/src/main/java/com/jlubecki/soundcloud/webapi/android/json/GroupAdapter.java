@@ -0,0 +1,107 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Jacob Lubecki
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jlubecki.soundcloud.webapi.android.json;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import com.jlubecki.soundcloud.webapi.android.models.Group;
+import com.jlubecki.soundcloud.webapi.android.models.MiniUser;
+import java.io.IOException;
+
+/**
+ * Reads and writes {@link Group} without reflection.
+ */
+final class GroupAdapter extends ModelAdapter<Group> {
+
+  static final String[] NAMES = {
+      "id", "created_at", "permalink", "name", "short_description", "description", "uri",
+      "artwork_url", "permalink_url", "creator"
+  };
+
+  private final TypeAdapter<MiniUser> miniUserAdapter;
+
+  GroupAdapter(Gson gson) {
+    super(NAMES);
+
+    miniUserAdapter = gson.getAdapter(MiniUser.class);
+  }
+
+  @Override Group newInstance() {
+    return new Group();
+  }
+
+  @Override void readField(JsonReader in, int field, Group value) throws IOException {
+    switch (field) {
+      case 0:
+        value.id = readString(in);
+        break;
+      case 1:
+        value.created_at = readString(in);
+        break;
+      case 2:
+        value.permalink = readString(in);
+        break;
+      case 3:
+        value.name = readString(in);
+        break;
+      case 4:
+        value.short_description = readString(in);
+        break;
+      case 5:
+        value.description = readString(in);
+        break;
+      case 6:
+        value.uri = readString(in);
+        break;
+      case 7:
+        value.artwork_url = readString(in);
+        break;
+      case 8:
+        value.permalink_url = readString(in);
+        break;
+      case 9:
+        value.creator = miniUserAdapter.read(in);
+        break;
+      default:
+        in.skipValue();
+    }
+  }
+
+  @Override void writeFields(JsonWriter out, Group value) throws IOException {
+    out.name("id").value(value.id);
+    out.name("created_at").value(value.created_at);
+    out.name("permalink").value(value.permalink);
+    out.name("name").value(value.name);
+    out.name("short_description").value(value.short_description);
+    out.name("description").value(value.description);
+    out.name("uri").value(value.uri);
+    out.name("artwork_url").value(value.artwork_url);
+    out.name("permalink_url").value(value.permalink_url);
+    out.name("creator");
+    miniUserAdapter.write(out, value.creator);
+  }
+}
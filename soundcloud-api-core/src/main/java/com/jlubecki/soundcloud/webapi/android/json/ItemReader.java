@@ -0,0 +1,150 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Jacob Lubecki
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jlubecki.soundcloud.webapi.android.json;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.NoSuchElementException;
+
+/**
+ * Parses the items of a list response one at a time, straight from the response body. Either a
+ * plain array or the {@code collection} of a paged response is read.
+ *
+ * The response body stays open until the last item was read or the reader is closed, so a reader
+ * that isn't read to the end must be closed. Readers aren't thread safe, and reading blocks on the
+ * network.
+ */
+public final class ItemReader<T> implements Closeable {
+
+  /**
+   * Receives items from {@link #forEach(Callback)} as they are parsed.
+   */
+  public interface Callback<T> {
+    void onItem(T item) throws IOException;
+  }
+
+  private final JsonReader reader;
+  private final TypeAdapter<T> adapter;
+  private boolean closed;
+
+  /**
+   * @param reader Positioned inside the array of items.
+   */
+  ItemReader(JsonReader reader, TypeAdapter<T> adapter) {
+    this.reader = reader;
+    this.adapter = adapter;
+  }
+
+  /**
+   * Positions a reader at the first item of a response.
+   *
+   * @throws IOException If the response isn't a list or a paged list.
+   */
+  static void seekItems(JsonReader reader) throws IOException {
+    if (reader.peek() == JsonToken.BEGIN_OBJECT) {
+      reader.beginObject();
+
+      while (reader.hasNext()) {
+        if (reader.nextName().equals("collection")) {
+          reader.beginArray();
+          return;
+        }
+
+        reader.skipValue();
+      }
+
+      throw new IOException("Response has no collection");
+    }
+
+    reader.beginArray();
+  }
+
+  /**
+   * @return Whether there is another item. Closes the reader once there isn't.
+   */
+  public boolean hasNext() throws IOException {
+    if (closed) {
+      return false;
+    }
+
+    if (reader.hasNext()) {
+      return true;
+    }
+
+    close();
+    return false;
+  }
+
+  /**
+   * @return The next item, parsed when this is called.
+   * @throws NoSuchElementException If there are no more items.
+   */
+  public T next() throws IOException {
+    if (!hasNext()) {
+      throw new NoSuchElementException();
+    }
+
+    try {
+      return adapter.read(reader);
+    } catch (IOException | RuntimeException e) {
+      close();
+      throw e;
+    }
+  }
+
+  /**
+   * Passes every remaining item to a callback, then closes the reader. Only one item is held at a
+   * time, unless the callback keeps them.
+   *
+   * @return The number of items passed to the callback.
+   */
+  public int forEach(Callback<? super T> callback) throws IOException {
+    int count = 0;
+
+    try {
+      while (hasNext()) {
+        callback.onItem(next());
+        count++;
+      }
+    } finally {
+      close();
+    }
+
+    return count;
+  }
+
+  /**
+   * Releases the response body. Items that were not read yet are discarded.
+   */
+  @Override public void close() throws IOException {
+    if (!closed) {
+      closed = true;
+      reader.close();
+    }
+  }
+}
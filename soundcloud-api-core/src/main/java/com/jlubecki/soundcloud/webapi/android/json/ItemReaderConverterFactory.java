@@ -0,0 +1,94 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Jacob Lubecki
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jlubecki.soundcloud.webapi.android.json;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import okhttp3.ResponseBody;
+import retrofit2.Converter;
+import retrofit2.Retrofit;
+
+/**
+ * Converts a list response to an {@link ItemReader} instead of a {@link java.util.List}, without
+ * reading any items. Has to be added before a converter that accepts every type, like Gson's.
+ */
+public final class ItemReaderConverterFactory extends Converter.Factory {
+
+  private final Gson gson;
+
+  /**
+   * @param gson Parses items. Should be configured like the converter for other types.
+   */
+  public ItemReaderConverterFactory(Gson gson) {
+    this.gson = gson;
+  }
+
+  @Override public Converter<ResponseBody, ?> responseBodyConverter(Type type,
+      Annotation[] annotations, Retrofit retrofit) {
+
+    if (getRawType(type) != ItemReader.class) {
+      return null;
+    }
+
+    if (!(type instanceof ParameterizedType)) {
+      throw new IllegalStateException("ItemReader must be parameterized as ItemReader<Foo>");
+    }
+
+    Type itemType = getParameterUpperBound(0, (ParameterizedType) type);
+
+    return new ItemReaderConverter<>(gson, gson.getAdapter(TypeToken.get(itemType)));
+  }
+
+  private static final class ItemReaderConverter<T>
+      implements Converter<ResponseBody, ItemReader<T>> {
+
+    private final Gson gson;
+    private final TypeAdapter<T> adapter;
+
+    ItemReaderConverter(Gson gson, TypeAdapter<T> adapter) {
+      this.gson = gson;
+      this.adapter = adapter;
+    }
+
+    @Override public ItemReader<T> convert(ResponseBody body) throws IOException {
+      JsonReader reader = gson.newJsonReader(body.charStream());
+
+      try {
+        ItemReader.seekItems(reader);
+      } catch (IOException | RuntimeException e) {
+        reader.close();
+        throw e;
+      }
+
+      return new ItemReader<>(reader, adapter);
+    }
+  }
+}
@@ -0,0 +1,90 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Jacob Lubecki
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jlubecki.soundcloud.webapi.android.json;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import com.jlubecki.soundcloud.webapi.android.models.MiniUser;
+import java.io.IOException;
+
+/**
+ * Reads and writes {@link MiniUser} without reflection.
+ */
+final class MiniUserAdapter extends ModelAdapter<MiniUser> {
+
+  static final String[] NAMES = {
+      "avatar_url", "id", "kind", "last_modified", "permalink", "permalink_url", "uri", "username"
+  };
+
+  MiniUserAdapter() {
+    super(NAMES);
+  }
+
+  @Override MiniUser newInstance() {
+    return new MiniUser();
+  }
+
+  @Override void readField(JsonReader in, int field, MiniUser value) throws IOException {
+    switch (field) {
+      case 0:
+        value.avatar_url = readString(in);
+        break;
+      case 1:
+        value.id = readString(in);
+        break;
+      case 2:
+        value.kind = readPooledString(in);
+        break;
+      case 3:
+        value.last_modified = readString(in);
+        break;
+      case 4:
+        value.permalink = readString(in);
+        break;
+      case 5:
+        value.permalink_url = readString(in);
+        break;
+      case 6:
+        value.uri = readString(in);
+        break;
+      case 7:
+        value.username = readString(in);
+        break;
+      default:
+        in.skipValue();
+    }
+  }
+
+  @Override void writeFields(JsonWriter out, MiniUser value) throws IOException {
+    out.name("avatar_url").value(value.avatar_url);
+    out.name("id").value(value.id);
+    out.name("kind").value(value.kind);
+    out.name("last_modified").value(value.last_modified);
+    out.name("permalink").value(value.permalink);
+    out.name("permalink_url").value(value.permalink_url);
+    out.name("uri").value(value.uri);
+    out.name("username").value(value.username);
+  }
+}
@@ -0,0 +1,166 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Jacob Lubecki
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jlubecki.soundcloud.webapi.android.json;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Base of the adapters written out for each model. The loop over a JSON object is shared and each
+ * model only assigns one field at a time, so the code that runs for every field is small and
+ * compiled early, which keeps the first responses after start up fast as well.
+ *
+ * Values are read the way Gson's built in adapters read them, so the same JSON is accepted as with
+ * reflection: numbers and booleans are read into strings, strings into booleans, and a null leaves
+ * a primitive field unchanged. Fields with few distinct values, like genres and licenses, are read
+ * through a {@link StringPool}.
+ */
+abstract class ModelAdapter<T> extends TypeAdapter<T> {
+
+  private static final StringPool STRINGS = new StringPool(1024);
+
+  private final Map<String, Integer> fields;
+
+  /**
+   * @param names JSON names of the fields, indexed like {@link #readField}.
+   */
+  ModelAdapter(String[] names) {
+    fields = new HashMap<>(names.length * 2);
+
+    for (int i = 0; i < names.length; i++) {
+      fields.put(names[i], i);
+    }
+  }
+
+  /**
+   * Stops reading the fields that aren't named. Their values are skipped like unknown fields.
+   *
+   * @throws IllegalArgumentException If a name isn't the name of a field.
+   */
+  final void retain(Class<?> type, Set<String> names) {
+    for (String name : names) {
+      if (!fields.containsKey(name)) {
+        throw new IllegalArgumentException(type.getSimpleName() + " has no field \"" + name + "\"");
+      }
+    }
+
+    fields.keySet().retainAll(names);
+  }
+
+  abstract T newInstance();
+
+  /**
+   * Reads the value of one field.
+   *
+   * @param field Index of the field's name.
+   */
+  abstract void readField(JsonReader in, int field, T value) throws IOException;
+
+  /**
+   * Writes every field in declaration order, like the reflective adapter.
+   */
+  abstract void writeFields(JsonWriter out, T value) throws IOException;
+
+  @Override public T read(JsonReader in) throws IOException {
+    if (in.peek() == JsonToken.NULL) {
+      in.nextNull();
+      return null;
+    }
+
+    T value = newInstance();
+
+    in.beginObject();
+    while (in.hasNext()) {
+      Integer field = fields.get(in.nextName());
+
+      if (field != null) {
+        readField(in, field, value);
+      } else {
+        in.skipValue();
+      }
+    }
+    in.endObject();
+
+    return value;
+  }
+
+  @Override public void write(JsonWriter out, T value) throws IOException {
+    if (value == null) {
+      out.nullValue();
+      return;
+    }
+
+    out.beginObject();
+    writeFields(out, value);
+    out.endObject();
+  }
+
+  static String readString(JsonReader in) throws IOException {
+    JsonToken token = in.peek();
+
+    if (token == JsonToken.NULL) {
+      in.nextNull();
+      return null;
+    }
+
+    if (token == JsonToken.BOOLEAN) {
+      return Boolean.toString(in.nextBoolean());
+    }
+
+    return in.nextString();
+  }
+
+  /**
+   * Reads a string through a pool shared by every adapter. Meant for fields that take a handful
+   * of values, so the models in cached responses share them.
+   */
+  static String readPooledString(JsonReader in) throws IOException {
+    return STRINGS.pool(readString(in));
+  }
+
+  /**
+   * @param current Returned for null.
+   */
+  static boolean readBoolean(JsonReader in, boolean current) throws IOException {
+    JsonToken token = in.peek();
+
+    if (token == JsonToken.NULL) {
+      in.nextNull();
+      return current;
+    }
+
+    if (token == JsonToken.STRING) {
+      return Boolean.parseBoolean(in.nextString());
+    }
+
+    return in.nextBoolean();
+  }
+}
@@ -0,0 +1,182 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Jacob Lubecki
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jlubecki.soundcloud.webapi.android.json;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import com.jlubecki.soundcloud.webapi.android.auth.models.AuthenticationResponse;
+import com.jlubecki.soundcloud.webapi.android.models.Comment;
+import com.jlubecki.soundcloud.webapi.android.models.Comments;
+import com.jlubecki.soundcloud.webapi.android.models.Connection;
+import com.jlubecki.soundcloud.webapi.android.models.Connections;
+import com.jlubecki.soundcloud.webapi.android.models.CreatorApp;
+import com.jlubecki.soundcloud.webapi.android.models.Group;
+import com.jlubecki.soundcloud.webapi.android.models.Groups;
+import com.jlubecki.soundcloud.webapi.android.models.MiniUser;
+import com.jlubecki.soundcloud.webapi.android.models.Pager;
+import com.jlubecki.soundcloud.webapi.android.models.Playlist;
+import com.jlubecki.soundcloud.webapi.android.models.Playlists;
+import com.jlubecki.soundcloud.webapi.android.models.SecretToken;
+import com.jlubecki.soundcloud.webapi.android.models.Track;
+import com.jlubecki.soundcloud.webapi.android.models.Tracks;
+import com.jlubecki.soundcloud.webapi.android.models.User;
+import com.jlubecki.soundcloud.webapi.android.models.Users;
+import com.jlubecki.soundcloud.webapi.android.models.WebProfiles;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Provides an adapter written out for each model, so Gson doesn't set up a reflective adapter on
+ * first use of a model or bind fields through reflection on every read. The adapters read and
+ * write the same names as the reflective adapter, including the models' {@code SerializedName}s.
+ *
+ * Subclasses of the models are left to reflection, as is {@code WebProfile}, whose fields are
+ * private. A {@link Projection} only applies to the models handled here.
+ */
+final class ModelAdapterFactory implements TypeAdapterFactory {
+
+  private final Projection projection;
+
+  /**
+   * @param projection Fields to decode, or null to decode every field.
+   */
+  ModelAdapterFactory(Projection projection) {
+    this.projection = projection;
+  }
+
+  @SuppressWarnings("unchecked")
+  @Override public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+    Class<? super T> raw = type.getRawType();
+    ModelAdapter<?> adapter;
+
+    if (raw == Track.class) {
+      adapter = new TrackAdapter(gson);
+    } else if (raw == MiniUser.class) {
+      adapter = new MiniUserAdapter();
+    } else if (raw == User.class) {
+      adapter = new UserAdapter();
+    } else if (raw == Playlist.class) {
+      adapter = new PlaylistAdapter(gson);
+    } else if (raw == Comment.class) {
+      adapter = new CommentAdapter(gson);
+    } else if (raw == Group.class) {
+      adapter = new GroupAdapter(gson);
+    } else if (raw == Connection.class) {
+      adapter = new ConnectionAdapter();
+    } else if (raw == CreatorApp.class) {
+      adapter = new CreatorAppAdapter();
+    } else if (raw == SecretToken.class) {
+      adapter = new SecretTokenAdapter();
+    } else if (raw == AuthenticationResponse.class) {
+      adapter = new AuthenticationResponseAdapter();
+    } else if (raw == Tracks.class) {
+      adapter = new TracksAdapter(gson);
+    } else if (raw == Users.class) {
+      adapter = new UsersAdapter(gson);
+    } else if (raw == Playlists.class) {
+      adapter = new PlaylistsAdapter(gson);
+    } else if (raw == Comments.class) {
+      adapter = new CommentsAdapter(gson);
+    } else if (raw == Groups.class) {
+      adapter = new GroupsAdapter(gson);
+    } else if (raw == Connections.class) {
+      adapter = new ConnectionsAdapter(gson);
+    } else if (raw == WebProfiles.class) {
+      adapter = new WebProfilesAdapter(gson);
+    } else if (raw == Pager.class) {
+      adapter = pagerAdapter(gson, type.getType());
+    } else {
+      return null;
+    }
+
+    Set<String> fields = projection != null ? projection.fields(raw) : null;
+    if (fields != null) {
+      adapter.retain(raw, fields);
+    }
+
+    return (TypeAdapter<T>) adapter;
+  }
+
+  /**
+   * @return The JSON names of the fields of a model handled here, or null for any other class.
+   */
+  static String[] names(Class<?> type) {
+    if (type == Track.class) {
+      return TrackAdapter.NAMES;
+    } else if (type == MiniUser.class) {
+      return MiniUserAdapter.NAMES;
+    } else if (type == User.class) {
+      return UserAdapter.NAMES;
+    } else if (type == Playlist.class) {
+      return PlaylistAdapter.NAMES;
+    } else if (type == Comment.class) {
+      return CommentAdapter.NAMES;
+    } else if (type == Group.class) {
+      return GroupAdapter.NAMES;
+    } else if (type == Connection.class) {
+      return ConnectionAdapter.NAMES;
+    } else if (type == CreatorApp.class) {
+      return CreatorAppAdapter.NAMES;
+    } else if (type == SecretToken.class) {
+      return SecretTokenAdapter.NAMES;
+    } else if (type == AuthenticationResponse.class) {
+      return AuthenticationResponseAdapter.NAMES;
+    } else if (type == Tracks.class) {
+      return TracksAdapter.NAMES;
+    } else if (type == Users.class) {
+      return UsersAdapter.NAMES;
+    } else if (type == Playlists.class) {
+      return PlaylistsAdapter.NAMES;
+    } else if (type == Comments.class) {
+      return CommentsAdapter.NAMES;
+    } else if (type == Groups.class) {
+      return GroupsAdapter.NAMES;
+    } else if (type == Connections.class) {
+      return ConnectionsAdapter.NAMES;
+    } else if (type == WebProfiles.class) {
+      return WebProfilesAdapter.NAMES;
+    } else if (type == Pager.class) {
+      return PagerAdapter.NAMES;
+    }
+
+    return null;
+  }
+
+  private static <E> PagerAdapter<E> pagerAdapter(Gson gson, Type pagerType) {
+    Type itemType = pagerType instanceof ParameterizedType
+        ? ((ParameterizedType) pagerType).getActualTypeArguments()[0]
+        : Object.class;
+
+    @SuppressWarnings("unchecked")
+    TypeAdapter<List<E>> collectionAdapter = (TypeAdapter<List<E>>) gson.getAdapter(
+        TypeToken.getParameterized(List.class, itemType));
+
+    return new PagerAdapter<>(collectionAdapter);
+  }
+}
@@ -0,0 +1,202 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Jacob Lubecki
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jlubecki.soundcloud.webapi.android.json;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import com.jlubecki.soundcloud.webapi.android.models.MiniUser;
+import com.jlubecki.soundcloud.webapi.android.models.Playlist;
+import com.jlubecki.soundcloud.webapi.android.models.Tracks;
+import java.io.IOException;
+
+/**
+ * Reads and writes {@link Playlist} without reflection.
+ */
+final class PlaylistAdapter extends ModelAdapter<Playlist> {
+
+  static final String[] NAMES = {
+      "kind", "id", "created_at", "user_id", "duration", "sharing", "tag_list", "permalink",
+      "track_count", "streamable", "downloadable", "embeddable_by", "purchase_url", "label_id",
+      "type", "playlist_type", "ean", "description", "genre", "release", "purchase_title",
+      "label_name", "title", "release_year", "release_month", "release_day", "license", "uri",
+      "permalink_url", "artwork_url", "user", "tracks"
+  };
+
+  private final TypeAdapter<MiniUser> miniUserAdapter;
+  private final TypeAdapter<Tracks> tracksAdapter;
+
+  PlaylistAdapter(Gson gson) {
+    super(NAMES);
+
+    miniUserAdapter = gson.getAdapter(MiniUser.class);
+    tracksAdapter = gson.getAdapter(Tracks.class);
+  }
+
+  @Override Playlist newInstance() {
+    return new Playlist();
+  }
+
+  @Override void readField(JsonReader in, int field, Playlist value) throws IOException {
+    switch (field) {
+      case 0:
+        value.kind = readPooledString(in);
+        break;
+      case 1:
+        value.id = readString(in);
+        break;
+      case 2:
+        value.created_at = readString(in);
+        break;
+      case 3:
+        value.user_id = readString(in);
+        break;
+      case 4:
+        value.setDuration(readString(in));
+        break;
+      case 5:
+        value.sharing = readPooledString(in);
+        break;
+      case 6:
+        value.tag_list = readString(in);
+        break;
+      case 7:
+        value.permalink = readString(in);
+        break;
+      case 8:
+        value.setTrackCount(readString(in));
+        break;
+      case 9:
+        value.is_streamable = readBoolean(in, value.is_streamable);
+        break;
+      case 10:
+        value.is_downloadable = readBoolean(in, value.is_downloadable);
+        break;
+      case 11:
+        value.embeddable_by = readPooledString(in);
+        break;
+      case 12:
+        value.purchase_url = readString(in);
+        break;
+      case 13:
+        value.label_id = readString(in);
+        break;
+      case 14:
+        value.type = readPooledString(in);
+        break;
+      case 15:
+        value.playlist_type = readPooledString(in);
+        break;
+      case 16:
+        value.ean = readString(in);
+        break;
+      case 17:
+        value.description = readString(in);
+        break;
+      case 18:
+        value.genre = readPooledString(in);
+        break;
+      case 19:
+        value.release = readString(in);
+        break;
+      case 20:
+        value.purchase_title = readString(in);
+        break;
+      case 21:
+        value.label_name = readString(in);
+        break;
+      case 22:
+        value.title = readString(in);
+        break;
+      case 23:
+        value.release_year = readString(in);
+        break;
+      case 24:
+        value.release_month = readString(in);
+        break;
+      case 25:
+        value.release_day = readString(in);
+        break;
+      case 26:
+        value.license = readPooledString(in);
+        break;
+      case 27:
+        value.uri = readString(in);
+        break;
+      case 28:
+        value.permalink_url = readString(in);
+        break;
+      case 29:
+        value.artwork_url = readString(in);
+        break;
+      case 30:
+        value.user = miniUserAdapter.read(in);
+        break;
+      case 31:
+        value.tracks = tracksAdapter.read(in);
+        break;
+      default:
+        in.skipValue();
+    }
+  }
+
+  @Override void writeFields(JsonWriter out, Playlist value) throws IOException {
+    out.name("kind").value(value.kind);
+    out.name("id").value(value.id);
+    out.name("created_at").value(value.created_at);
+    out.name("user_id").value(value.user_id);
+    out.name("duration").value(value.duration);
+    out.name("sharing").value(value.sharing);
+    out.name("tag_list").value(value.tag_list);
+    out.name("permalink").value(value.permalink);
+    out.name("track_count").value(value.track_count);
+    out.name("streamable").value(value.is_streamable);
+    out.name("downloadable").value(value.is_downloadable);
+    out.name("embeddable_by").value(value.embeddable_by);
+    out.name("purchase_url").value(value.purchase_url);
+    out.name("label_id").value(value.label_id);
+    out.name("type").value(value.type);
+    out.name("playlist_type").value(value.playlist_type);
+    out.name("ean").value(value.ean);
+    out.name("description").value(value.description);
+    out.name("genre").value(value.genre);
+    out.name("release").value(value.release);
+    out.name("purchase_title").value(value.purchase_title);
+    out.name("label_name").value(value.label_name);
+    out.name("title").value(value.title);
+    out.name("release_year").value(value.release_year);
+    out.name("release_month").value(value.release_month);
+    out.name("release_day").value(value.release_day);
+    out.name("license").value(value.license);
+    out.name("uri").value(value.uri);
+    out.name("permalink_url").value(value.permalink_url);
+    out.name("artwork_url").value(value.artwork_url);
+    out.name("user");
+    miniUserAdapter.write(out, value.user);
+    out.name("tracks");
+    tracksAdapter.write(out, value.tracks);
+  }
+}
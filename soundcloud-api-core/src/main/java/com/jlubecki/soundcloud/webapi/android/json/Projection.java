@@ -0,0 +1,127 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Jacob Lubecki
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jlubecki.soundcloud.webapi.android.json;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Names the fields that are decoded for some of the models. Values of every other field are
+ * skipped like unknown fields, without being read into strings or nested models, so a screen that
+ * shows a few fields of a long list doesn't pay for the rest. Models without an entry are decoded
+ * in full.
+ *
+ * Fields are given by their JSON names, like {@code "stream_url"} or {@code "streamable"}.
+ * Nested models are projected separately, so a track's {@code "user"} is decoded with the fields
+ * included for {@link com.jlubecki.soundcloud.webapi.android.models.MiniUser}.
+ */
+public final class Projection {
+
+  private final Map<Class<?>, Set<String>> fields;
+
+  private Projection(Map<Class<?>, Set<String>> fields) {
+    this.fields = fields;
+  }
+
+  /**
+   * @return The names included for the model, or null if it is decoded in full.
+   */
+  Set<String> fields(Class<?> type) {
+    return fields.get(type);
+  }
+
+  @Override public boolean equals(Object o) {
+    return o instanceof Projection && fields.equals(((Projection) o).fields);
+  }
+
+  @Override public int hashCode() {
+    return fields.hashCode();
+  }
+
+  @Override public String toString() {
+    return "Projection" + fields;
+  }
+
+  /**
+   * Builds a {@link Projection}.
+   */
+  public static class Builder {
+
+    private final Map<Class<?>, Set<String>> fields = new HashMap<>();
+
+    /**
+     * Decodes only the named fields of a model. Can be called again to add more names. The model
+     * and the names are checked by {@link #build()}.
+     *
+     * @param type The model, like {@link com.jlubecki.soundcloud.webapi.android.models.Track}.
+     * @param names JSON names of the fields to decode.
+     * @return This builder, to chain calls.
+     */
+    public Builder include(Class<?> type, String... names) {
+      Set<String> included = fields.get(type);
+      if (included == null) {
+        included = new HashSet<>();
+        fields.put(type, included);
+      }
+
+      included.addAll(Arrays.asList(names));
+      return this;
+    }
+
+    /**
+     * @return The projection.
+     * @throws IllegalArgumentException If a model isn't one of the API's models, which are the only
+     *                                  ones that can be projected, or has no field of a given name.
+     */
+    public Projection build() {
+      Map<Class<?>, Set<String>> copy = new HashMap<>();
+
+      for (Map.Entry<Class<?>, Set<String>> entry : fields.entrySet()) {
+        Class<?> type = entry.getKey();
+        String[] names = ModelAdapterFactory.names(type);
+
+        if (names == null) {
+          throw new IllegalArgumentException(type.getName() + " can't be projected");
+        }
+
+        Set<String> known = new HashSet<>(Arrays.asList(names));
+        for (String name : entry.getValue()) {
+          if (!known.contains(name)) {
+            throw new IllegalArgumentException(
+                type.getSimpleName() + " has no field \"" + name + "\"");
+          }
+        }
+
+        copy.put(entry.getKey(), Collections.unmodifiableSet(new HashSet<>(entry.getValue())));
+      }
+
+      return new Projection(Collections.unmodifiableMap(copy));
+    }
+  }
+}
@@ -0,0 +1,61 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Jacob Lubecki
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jlubecki.soundcloud.webapi.android.json;
+
+import com.google.gson.FieldNamingPolicy;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+
+/**
+ * Creates the {@link Gson} that {@link com.jlubecki.soundcloud.webapi.android.SoundCloudAPI} uses
+ * to read responses. Useful for parsing responses stored elsewhere the same way, and for
+ * benchmarks.
+ */
+public final class SoundCloudGson {
+
+  private SoundCloudGson() {
+  }
+
+  /**
+   * Gson's own date adapter is left to be created when a date is first read. No model has a date
+   * field, and creating it loads locale data, which is slow right after start up.
+   *
+   * @return A new {@link Gson} configured for the SoundCloud models.
+   */
+  public static Gson create() {
+    return create(null);
+  }
+
+  /**
+   * @param projection Fields to decode, or null to decode every field.
+   * @return A new {@link Gson} that only decodes the fields of the projection.
+   */
+  public static Gson create(Projection projection) {
+    return new GsonBuilder()
+        .setFieldNamingPolicy(FieldNamingPolicy.LOWER_CASE_WITH_UNDERSCORES)
+        .registerTypeAdapterFactory(new ModelAdapterFactory(projection))
+        .create();
+  }
+}
@@ -0,0 +1,73 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Jacob Lubecki
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jlubecki.soundcloud.webapi.android.json;
+
+/**
+ * Shares the instances of strings that take few distinct values, like a track's genre or license,
+ * so a cached page of models holds one copy of each value instead of one per model. Strings are
+ * kept in a fixed number of slots picked by their hash. A string that lands in a taken slot
+ * replaces the one there, so the pool never grows and the values seen recently stay. Long strings
+ * are never pooled.
+ *
+ * Slots are read and written without locking. A thread that misses another thread's write keeps
+ * its own copy, and strings can safely be shared through a race since they're immutable.
+ */
+final class StringPool {
+
+  private static final int MAX_LENGTH = 32;
+
+  private final String[] slots;
+
+  /**
+   * @param size Number of slots, a power of two.
+   */
+  StringPool(int size) {
+    if (Integer.bitCount(size) != 1) {
+      throw new IllegalArgumentException("size must be a power of two: " + size);
+    }
+
+    slots = new String[size];
+  }
+
+  /**
+   * @return An equal string that was pooled before, or the string itself.
+   */
+  String pool(String value) {
+    if (value == null || value.length() > MAX_LENGTH) {
+      return value;
+    }
+
+    int hash = value.hashCode();
+    int index = (hash ^ (hash >>> 16)) & (slots.length - 1);
+
+    String pooled = slots[index];
+    if (value.equals(pooled)) {
+      return pooled;
+    }
+
+    slots[index] = value;
+    return value;
+  }
+}
@@ -0,0 +1,257 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Jacob Lubecki
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jlubecki.soundcloud.webapi.android.json;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import com.jlubecki.soundcloud.webapi.android.models.CreatorApp;
+import com.jlubecki.soundcloud.webapi.android.models.MiniUser;
+import com.jlubecki.soundcloud.webapi.android.models.Track;
+import java.io.IOException;
+
+/**
+ * Reads and writes {@link Track} without reflection.
+ */
+final class TrackAdapter extends ModelAdapter<Track> {
+
+  static final String[] NAMES = {
+      "id", "created_at", "userid", "user", "title", "permalink", "permalink_url", "uri", "sharing",
+      "embeddable_by", "purchase_url", "artwork_url", "description", "duration", "genre",
+      "tags_list", "label_id", "label_name", "release", "release_day", "release_month",
+      "release_year", "streamable", "downloadable", "state", "license", "track_type",
+      "waveform_url", "download_url", "stream_url", "video_url", "bpm", "commentable", "isrc",
+      "key_signature", "comment_count", "download_count", "playback_count", "favoritings_count",
+      "original_format", "original_file_size", "created_with", "asset_data", "artwork_data",
+      "user_favorite"
+  };
+
+  private final TypeAdapter<MiniUser> miniUserAdapter;
+  private final TypeAdapter<CreatorApp> creatorAppAdapter;
+
+  TrackAdapter(Gson gson) {
+    super(NAMES);
+
+    miniUserAdapter = gson.getAdapter(MiniUser.class);
+    creatorAppAdapter = gson.getAdapter(CreatorApp.class);
+  }
+
+  @Override Track newInstance() {
+    return new Track();
+  }
+
+  @Override void readField(JsonReader in, int field, Track value) throws IOException {
+    switch (field) {
+      case 0:
+        value.id = readString(in);
+        break;
+      case 1:
+        value.created_at = readString(in);
+        break;
+      case 2:
+        value.userid = readString(in);
+        break;
+      case 3:
+        value.user = miniUserAdapter.read(in);
+        break;
+      case 4:
+        value.title = readString(in);
+        break;
+      case 5:
+        value.permalink = readString(in);
+        break;
+      case 6:
+        value.permalink_url = readString(in);
+        break;
+      case 7:
+        value.uri = readString(in);
+        break;
+      case 8:
+        value.sharing = readPooledString(in);
+        break;
+      case 9:
+        value.embeddable_by = readPooledString(in);
+        break;
+      case 10:
+        value.purchase_url = readString(in);
+        break;
+      case 11:
+        value.artwork_url = readString(in);
+        break;
+      case 12:
+        value.description = readString(in);
+        break;
+      case 13:
+        value.setDuration(readString(in));
+        break;
+      case 14:
+        value.genre = readPooledString(in);
+        break;
+      case 15:
+        value.tags_list = readString(in);
+        break;
+      case 16:
+        value.label_id = readString(in);
+        break;
+      case 17:
+        value.label_name = readString(in);
+        break;
+      case 18:
+        value.release = readString(in);
+        break;
+      case 19:
+        value.release_day = readString(in);
+        break;
+      case 20:
+        value.release_month = readString(in);
+        break;
+      case 21:
+        value.release_year = readString(in);
+        break;
+      case 22:
+        value.is_streamable = readBoolean(in, value.is_streamable);
+        break;
+      case 23:
+        value.is_downloadable = readBoolean(in, value.is_downloadable);
+        break;
+      case 24:
+        value.state = readPooledString(in);
+        break;
+      case 25:
+        value.license = readPooledString(in);
+        break;
+      case 26:
+        value.track_type = readPooledString(in);
+        break;
+      case 27:
+        value.waveform_url = readString(in);
+        break;
+      case 28:
+        value.download_url = readString(in);
+        break;
+      case 29:
+        value.stream_url = readString(in);
+        break;
+      case 30:
+        value.video_url = readString(in);
+        break;
+      case 31:
+        value.setBpm(readString(in));
+        break;
+      case 32:
+        value.commentable = readBoolean(in, value.commentable);
+        break;
+      case 33:
+        value.isrc = readString(in);
+        break;
+      case 34:
+        value.key_signature = readPooledString(in);
+        break;
+      case 35:
+        value.setCommentCount(readString(in));
+        break;
+      case 36:
+        value.setDownloadCount(readString(in));
+        break;
+      case 37:
+        value.setPlaybackCount(readString(in));
+        break;
+      case 38:
+        value.setFavoritingsCount(readString(in));
+        break;
+      case 39:
+        value.original_format = readPooledString(in);
+        break;
+      case 40:
+        value.setOriginalFileSize(readString(in));
+        break;
+      case 41:
+        value.created_with = creatorAppAdapter.read(in);
+        break;
+      case 42:
+        value.asset_data = readString(in);
+        break;
+      case 43:
+        value.artwork_data = readString(in);
+        break;
+      case 44:
+        value.user_favorite = readBoolean(in, value.user_favorite);
+        break;
+      default:
+        in.skipValue();
+    }
+  }
+
+  @Override void writeFields(JsonWriter out, Track value) throws IOException {
+    out.name("id").value(value.id);
+    out.name("created_at").value(value.created_at);
+    out.name("userid").value(value.userid);
+    out.name("user");
+    miniUserAdapter.write(out, value.user);
+    out.name("title").value(value.title);
+    out.name("permalink").value(value.permalink);
+    out.name("permalink_url").value(value.permalink_url);
+    out.name("uri").value(value.uri);
+    out.name("sharing").value(value.sharing);
+    out.name("embeddable_by").value(value.embeddable_by);
+    out.name("purchase_url").value(value.purchase_url);
+    out.name("artwork_url").value(value.artwork_url);
+    out.name("description").value(value.description);
+    out.name("duration").value(value.duration);
+    out.name("genre").value(value.genre);
+    out.name("tags_list").value(value.tags_list);
+    out.name("label_id").value(value.label_id);
+    out.name("label_name").value(value.label_name);
+    out.name("release").value(value.release);
+    out.name("release_day").value(value.release_day);
+    out.name("release_month").value(value.release_month);
+    out.name("release_year").value(value.release_year);
+    out.name("streamable").value(value.is_streamable);
+    out.name("downloadable").value(value.is_downloadable);
+    out.name("state").value(value.state);
+    out.name("license").value(value.license);
+    out.name("track_type").value(value.track_type);
+    out.name("waveform_url").value(value.waveform_url);
+    out.name("download_url").value(value.download_url);
+    out.name("stream_url").value(value.stream_url);
+    out.name("video_url").value(value.video_url);
+    out.name("bpm").value(value.bpm);
+    out.name("commentable").value(value.commentable);
+    out.name("isrc").value(value.isrc);
+    out.name("key_signature").value(value.key_signature);
+    out.name("comment_count").value(value.comment_count);
+    out.name("download_count").value(value.download_count);
+    out.name("playback_count").value(value.playback_count);
+    out.name("favoritings_count").value(value.favoritings_count);
+    out.name("original_format").value(value.original_format);
+    out.name("original_file_size").value(value.original_file_size);
+    out.name("created_with");
+    creatorAppAdapter.write(out, value.created_with);
+    out.name("asset_data").value(value.asset_data);
+    out.name("artwork_data").value(value.artwork_data);
+    out.name("user_favorite").value(value.user_favorite);
+  }
+}
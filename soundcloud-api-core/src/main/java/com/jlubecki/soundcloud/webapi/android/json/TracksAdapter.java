@@ -0,0 +1,83 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Jacob Lubecki
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jlubecki.soundcloud.webapi.android.json;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import com.jlubecki.soundcloud.webapi.android.models.Track;
+import com.jlubecki.soundcloud.webapi.android.models.Tracks;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Reads and writes {@link Tracks} without reflection.
+ */
+final class TracksAdapter extends ModelAdapter<Tracks> {
+
+  static final String[] NAMES = {"tracks"};
+
+  private final TypeAdapter<List<Track>> trackListAdapter;
+
+  TracksAdapter(Gson gson) {
+    super(NAMES);
+
+    trackListAdapter = gson.getAdapter(new TypeToken<List<Track>>() {});
+  }
+
+  @Override public Tracks read(JsonReader in) throws IOException {
+    // A playlist's tracks are a plain array rather than an object.
+    if (in.peek() == JsonToken.BEGIN_ARRAY) {
+      Tracks tracks = new Tracks();
+      tracks.tracks = trackListAdapter.read(in);
+
+      return tracks;
+    }
+
+    return super.read(in);
+  }
+
+  @Override Tracks newInstance() {
+    return new Tracks();
+  }
+
+  @Override void readField(JsonReader in, int field, Tracks value) throws IOException {
+    switch (field) {
+      case 0:
+        value.tracks = trackListAdapter.read(in);
+        break;
+      default:
+        in.skipValue();
+    }
+  }
+
+  @Override void writeFields(JsonWriter out, Tracks value) throws IOException {
+    out.name("tracks");
+    trackListAdapter.write(out, value.tracks);
+  }
+}
@@ -0,0 +1,145 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Jacob Lubecki
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jlubecki.soundcloud.webapi.android.json;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import com.jlubecki.soundcloud.webapi.android.models.User;
+import java.io.IOException;
+
+/**
+ * Reads and writes {@link User} without reflection.
+ */
+final class UserAdapter extends ModelAdapter<User> {
+
+  static final String[] NAMES = {
+      "id", "permalink", "username", "uri", "permalink_url", "avatar_url", "country", "full_name",
+      "city", "description", "discogs-name", "myspace-name", "website", "website-tile", "online",
+      "track_count", "playlist_count", "followers_count", "followings_count",
+      "public_favorites_count", "avatar_data"
+  };
+
+  UserAdapter() {
+    super(NAMES);
+  }
+
+  @Override User newInstance() {
+    return new User();
+  }
+
+  @Override void readField(JsonReader in, int field, User value) throws IOException {
+    switch (field) {
+      case 0:
+        value.id = readString(in);
+        break;
+      case 1:
+        value.permalink = readString(in);
+        break;
+      case 2:
+        value.username = readString(in);
+        break;
+      case 3:
+        value.uri = readString(in);
+        break;
+      case 4:
+        value.permalink_url = readString(in);
+        break;
+      case 5:
+        value.avatar_url = readString(in);
+        break;
+      case 6:
+        value.country = readPooledString(in);
+        break;
+      case 7:
+        value.full_name = readString(in);
+        break;
+      case 8:
+        value.city = readString(in);
+        break;
+      case 9:
+        value.description = readString(in);
+        break;
+      case 10:
+        value.discogs_name = readString(in);
+        break;
+      case 11:
+        value.myspace_name = readString(in);
+        break;
+      case 12:
+        value.website = readString(in);
+        break;
+      case 13:
+        value.website_title = readString(in);
+        break;
+      case 14:
+        value.is_online = readBoolean(in, value.is_online);
+        break;
+      case 15:
+        value.setTrackCount(readString(in));
+        break;
+      case 16:
+        value.setPlaylistCount(readString(in));
+        break;
+      case 17:
+        value.setFollowersCount(readString(in));
+        break;
+      case 18:
+        value.setFollowingsCount(readString(in));
+        break;
+      case 19:
+        value.setPublicFavoritesCount(readString(in));
+        break;
+      case 20:
+        value.avatar_data = readString(in);
+        break;
+      default:
+        in.skipValue();
+    }
+  }
+
+  @Override void writeFields(JsonWriter out, User value) throws IOException {
+    out.name("id").value(value.id);
+    out.name("permalink").value(value.permalink);
+    out.name("username").value(value.username);
+    out.name("uri").value(value.uri);
+    out.name("permalink_url").value(value.permalink_url);
+    out.name("avatar_url").value(value.avatar_url);
+    out.name("country").value(value.country);
+    out.name("full_name").value(value.full_name);
+    out.name("city").value(value.city);
+    out.name("description").value(value.description);
+    out.name("discogs-name").value(value.discogs_name);
+    out.name("myspace-name").value(value.myspace_name);
+    out.name("website").value(value.website);
+    out.name("website-tile").value(value.website_title);
+    out.name("online").value(value.is_online);
+    out.name("track_count").value(value.track_count);
+    out.name("playlist_count").value(value.playlist_count);
+    out.name("followers_count").value(value.followers_count);
+    out.name("followings_count").value(value.followings_count);
+    out.name("public_favorites_count").value(value.public_favorites_count);
+    out.name("avatar_data").value(value.avatar_data);
+  }
+}
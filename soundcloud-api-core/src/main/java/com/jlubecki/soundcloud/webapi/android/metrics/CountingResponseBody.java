@@ -0,0 +1,93 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Jacob Lubecki
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jlubecki.soundcloud.webapi.android.metrics;
+
+import java.io.IOException;
+import okhttp3.MediaType;
+import okhttp3.ResponseBody;
+import okio.Buffer;
+import okio.BufferedSource;
+import okio.ForwardingSource;
+import okio.Okio;
+
+/**
+ * Response body that reports how many bytes were read from it once it is exhausted or closed.
+ */
+final class CountingResponseBody extends ResponseBody {
+
+  private final ResponseBody delegate;
+  private final MetricsRegistry registry;
+  private final String method;
+  private final String metric;
+  private final BufferedSource source;
+
+  private long bytesRead;
+  private boolean reported;
+
+  CountingResponseBody(ResponseBody delegate, MetricsRegistry registry, String method,
+      String metric) {
+    this.delegate = delegate;
+    this.registry = registry;
+    this.method = method;
+    this.metric = metric;
+    this.source = Okio.buffer(new ForwardingSource(delegate.source()) {
+      @Override public long read(Buffer sink, long byteCount) throws IOException {
+        long read = super.read(sink, byteCount);
+
+        if (read == -1) {
+          report();
+        } else {
+          bytesRead += read;
+        }
+
+        return read;
+      }
+
+      @Override public void close() throws IOException {
+        report();
+        super.close();
+      }
+    });
+  }
+
+  @Override public MediaType contentType() {
+    return delegate.contentType();
+  }
+
+  @Override public long contentLength() {
+    return delegate.contentLength();
+  }
+
+  @Override public BufferedSource source() {
+    return source;
+  }
+
+  private void report() {
+    if (!reported) {
+      reported = true;
+      registry.recordBytes(method, metric, bytesRead);
+    }
+  }
+}
@@ -0,0 +1,286 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Jacob Lubecki
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jlubecki.soundcloud.webapi.android.metrics;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps measurements in memory, for tests and debug screens. Timings and sizes are kept in
+ * histograms over the most recent {@link #DEFAULT_RESERVOIR_SIZE} values, so percentiles reflect
+ * recent behavior while counts and totals cover every value.
+ */
+public class InMemoryMetricsRegistry implements MetricsRegistry {
+
+  public static final int DEFAULT_RESERVOIR_SIZE = 1024;
+
+  private final int reservoirSize;
+  private final ConcurrentMap<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+
+  public InMemoryMetricsRegistry() {
+    this(DEFAULT_RESERVOIR_SIZE);
+  }
+
+  /**
+   * @param reservoirSize Number of recent values each histogram computes percentiles over.
+   */
+  public InMemoryMetricsRegistry(int reservoirSize) {
+    if (reservoirSize < 1) {
+      throw new IllegalArgumentException("reservoirSize < 1: " + reservoirSize);
+    }
+
+    this.reservoirSize = reservoirSize;
+  }
+
+  @Override public void recordTime(String method, String metric, long nanos) {
+    endpoint(method).histogram(metric).record(nanos);
+  }
+
+  @Override public void recordBytes(String method, String metric, long bytes) {
+    endpoint(method).histogram(metric).record(bytes);
+  }
+
+  @Override public void recordStatus(String method, int code) {
+    Endpoint endpoint = endpoint(method);
+    endpoint.counter(endpoint.statuses, code).incrementAndGet();
+  }
+
+  @Override public void increment(String method, String counter) {
+    Endpoint endpoint = endpoint(method);
+    endpoint.counter(endpoint.counters, counter).incrementAndGet();
+  }
+
+  /**
+   * @return The names of every method that something was recorded for.
+   */
+  public Set<String> getMethods() {
+    return Collections.unmodifiableSet(new TreeSet<>(endpoints.keySet()));
+  }
+
+  /**
+   * @param method Name of the service method.
+   * @param metric Name of a timing or size.
+   * @return A snapshot of the histogram. Timings are in nanoseconds and sizes in bytes.
+   */
+  public Snapshot getSnapshot(String method, String metric) {
+    Endpoint endpoint = endpoints.get(method);
+    Histogram histogram = endpoint != null ? endpoint.histograms.get(metric) : null;
+
+    return histogram != null ? histogram.snapshot() : Snapshot.EMPTY;
+  }
+
+  /**
+   * @param method Name of the service method.
+   * @return How often each status code was received.
+   */
+  public Map<Integer, Long> getStatusCounts(String method) {
+    Endpoint endpoint = endpoints.get(method);
+    Map<Integer, Long> counts = new TreeMap<>();
+
+    if (endpoint != null) {
+      for (Map.Entry<Integer, AtomicLong> entry : endpoint.statuses.entrySet()) {
+        counts.put(entry.getKey(), entry.getValue().get());
+      }
+    }
+
+    return counts;
+  }
+
+  /**
+   * @param method Name of the service method.
+   * @param counter Name of the event.
+   * @return How often the event occurred.
+   */
+  public long getCount(String method, String counter) {
+    Endpoint endpoint = endpoints.get(method);
+    AtomicLong count = endpoint != null ? endpoint.counters.get(counter) : null;
+
+    return count != null ? count.get() : 0;
+  }
+
+  /**
+   * Discards every measurement.
+   */
+  public void reset() {
+    endpoints.clear();
+  }
+
+  private Endpoint endpoint(String method) {
+    Endpoint endpoint = endpoints.get(method);
+
+    if (endpoint == null) {
+      endpoint = new Endpoint();
+
+      Endpoint existing = endpoints.putIfAbsent(method, endpoint);
+      if (existing != null) {
+        endpoint = existing;
+      }
+    }
+
+    return endpoint;
+  }
+
+  /**
+   * Summary of a histogram at the time it was taken.
+   */
+  public static class Snapshot {
+    static final Snapshot EMPTY = new Snapshot(0, 0, 0, 0, 0, 0, 0);
+
+    public final long count;
+    public final long total;
+    public final long min;
+    public final long max;
+    public final long p50;
+    public final long p95;
+    public final long p99;
+
+    Snapshot(long count, long total, long min, long max, long p50, long p95, long p99) {
+      this.count = count;
+      this.total = total;
+      this.min = min;
+      this.max = max;
+      this.p50 = p50;
+      this.p95 = p95;
+      this.p99 = p99;
+    }
+
+    public double getMean() {
+      return count == 0 ? 0 : total / (double) count;
+    }
+
+    @Override public String toString() {
+      return "Snapshot{count=" + count
+          + ", mean=" + (long) getMean()
+          + ", min=" + min
+          + ", p50=" + p50
+          + ", p95=" + p95
+          + ", p99=" + p99
+          + ", max=" + max
+          + '}';
+    }
+  }
+
+  private final class Endpoint {
+    final ConcurrentMap<String, Histogram> histograms = new ConcurrentHashMap<>();
+    final ConcurrentMap<Integer, AtomicLong> statuses = new ConcurrentHashMap<>();
+    final ConcurrentMap<String, AtomicLong> counters = new ConcurrentHashMap<>();
+
+    Histogram histogram(String metric) {
+      Histogram histogram = histograms.get(metric);
+
+      if (histogram == null) {
+        histogram = new Histogram(reservoirSize);
+
+        Histogram existing = histograms.putIfAbsent(metric, histogram);
+        if (existing != null) {
+          histogram = existing;
+        }
+      }
+
+      return histogram;
+    }
+
+    <K> AtomicLong counter(ConcurrentMap<K, AtomicLong> counters, K key) {
+      AtomicLong counter = counters.get(key);
+
+      if (counter == null) {
+        counter = new AtomicLong();
+
+        AtomicLong existing = counters.putIfAbsent(key, counter);
+        if (existing != null) {
+          counter = existing;
+        }
+      }
+
+      return counter;
+    }
+  }
+
+  /**
+   * Ring buffer of recent values plus totals over every value.
+   */
+  private static final class Histogram {
+    private final long[] values; // Guarded by this.
+    private int next;
+    private int size;
+    private long count;
+    private long total;
+    private long min = Long.MAX_VALUE;
+    private long max = Long.MIN_VALUE;
+
+    Histogram(int reservoirSize) {
+      this.values = new long[reservoirSize];
+    }
+
+    synchronized void record(long value) {
+      values[next] = value;
+      next = (next + 1) % values.length;
+      size = Math.min(size + 1, values.length);
+
+      count++;
+      total += value;
+      min = Math.min(min, value);
+      max = Math.max(max, value);
+    }
+
+    Snapshot snapshot() {
+      long[] sorted;
+      long count;
+      long total;
+      long min;
+      long max;
+
+      synchronized (this) {
+        if (size == 0) {
+          return Snapshot.EMPTY;
+        }
+
+        sorted = Arrays.copyOf(values, size);
+        count = this.count;
+        total = this.total;
+        min = this.min;
+        max = this.max;
+      }
+
+      Arrays.sort(sorted);
+
+      return new Snapshot(count, total, min, max,
+          percentile(sorted, 0.50), percentile(sorted, 0.95), percentile(sorted, 0.99));
+    }
+
+    private static long percentile(long[] sorted, double percentile) {
+      int index = (int) Math.ceil(percentile * sorted.length) - 1;
+
+      return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+    }
+  }
+}
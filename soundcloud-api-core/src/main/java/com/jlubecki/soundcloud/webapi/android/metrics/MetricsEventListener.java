@@ -0,0 +1,211 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Jacob Lubecki
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jlubecki.soundcloud.webapi.android.metrics;
+
+import com.jlubecki.soundcloud.webapi.android.call.Endpoints;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.util.List;
+import okhttp3.Call;
+import okhttp3.Connection;
+import okhttp3.EventListener;
+import okhttp3.Handshake;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * Records how long each phase of a call took, so slowness caused by connection setup can be told
+ * apart from slowness of the server. Every call is also counted as either
+ * {@link #NEW_CONNECTION} or {@link #POOLED_CONNECTION}, depending on whether it had to connect.
+ * Calls answered from the cache use no connection and are counted as neither.
+ *
+ * Every event is forwarded to the listener the client had before, so listeners installed on a
+ * shared client keep working.
+ */
+public class MetricsEventListener extends EventListener {
+
+  public static final String DNS = "dns";
+  public static final String CONNECT = "connect";
+  public static final String TLS = "tls";
+  public static final String TIME_TO_FIRST_BYTE = "time_to_first_byte";
+  public static final String BODY_READ = "body_read";
+
+  public static final String NEW_CONNECTION = "new_connection";
+  public static final String POOLED_CONNECTION = "pooled_connection";
+
+  /**
+   * Creates a {@link MetricsEventListener} for every call.
+   */
+  public static class Factory implements EventListener.Factory {
+    private final MetricsRegistry registry;
+    private final EventListener.Factory delegate;
+
+    /**
+     * @param registry Registry to record phases in.
+     * @param delegate Factory of the listener that events are forwarded to.
+     */
+    public Factory(MetricsRegistry registry, EventListener.Factory delegate) {
+      this.registry = registry;
+      this.delegate = delegate;
+    }
+
+    @Override public EventListener create(Call call) {
+      return new MetricsEventListener(registry, Endpoints.name(call.request()),
+          delegate.create(call));
+    }
+  }
+
+  private final MetricsRegistry registry;
+  private final String method;
+  private final EventListener delegate;
+
+  // Events of a call are delivered one at a time, in order.
+  private long dnsStart;
+  private long connectStart;
+  private long secureConnectStart;
+  private long requestStart;
+  private long responseBodyStart;
+  private boolean connected;
+  private boolean acquired;
+
+  MetricsEventListener(MetricsRegistry registry, String method, EventListener delegate) {
+    this.registry = registry;
+    this.method = method;
+    this.delegate = delegate;
+  }
+
+  @Override public void callStart(Call call) {
+    delegate.callStart(call);
+  }
+
+  @Override public void dnsStart(Call call, String domainName) {
+    dnsStart = System.nanoTime();
+    delegate.dnsStart(call, domainName);
+  }
+
+  @Override public void dnsEnd(Call call, String domainName, List<InetAddress> addresses) {
+    registry.recordTime(method, DNS, System.nanoTime() - dnsStart);
+    delegate.dnsEnd(call, domainName, addresses);
+  }
+
+  @Override public void connectStart(Call call, InetSocketAddress address, Proxy proxy) {
+    connectStart = System.nanoTime();
+    secureConnectStart = 0;
+    connected = true;
+    delegate.connectStart(call, address, proxy);
+  }
+
+  @Override public void secureConnectStart(Call call) {
+    secureConnectStart = System.nanoTime();
+    registry.recordTime(method, CONNECT, secureConnectStart - connectStart);
+    delegate.secureConnectStart(call);
+  }
+
+  @Override public void secureConnectEnd(Call call, Handshake handshake) {
+    registry.recordTime(method, TLS, System.nanoTime() - secureConnectStart);
+    delegate.secureConnectEnd(call, handshake);
+  }
+
+  @Override public void connectEnd(Call call, InetSocketAddress address, Proxy proxy,
+      Protocol protocol) {
+    // With TLS, the TCP connect was already recorded when the handshake started.
+    if (secureConnectStart == 0) {
+      registry.recordTime(method, CONNECT, System.nanoTime() - connectStart);
+    }
+
+    delegate.connectEnd(call, address, proxy, protocol);
+  }
+
+  @Override public void connectFailed(Call call, InetSocketAddress address, Proxy proxy,
+      Protocol protocol, IOException e) {
+    delegate.connectFailed(call, address, proxy, protocol, e);
+  }
+
+  @Override public void connectionAcquired(Call call, Connection connection) {
+    acquired = true;
+    delegate.connectionAcquired(call, connection);
+  }
+
+  @Override public void connectionReleased(Call call, Connection connection) {
+    delegate.connectionReleased(call, connection);
+  }
+
+  @Override public void requestHeadersStart(Call call) {
+    requestStart = System.nanoTime();
+    delegate.requestHeadersStart(call);
+  }
+
+  @Override public void requestHeadersEnd(Call call, Request request) {
+    delegate.requestHeadersEnd(call, request);
+  }
+
+  @Override public void requestBodyStart(Call call) {
+    delegate.requestBodyStart(call);
+  }
+
+  @Override public void requestBodyEnd(Call call, long byteCount) {
+    delegate.requestBodyEnd(call, byteCount);
+  }
+
+  @Override public void responseHeadersStart(Call call) {
+    registry.recordTime(method, TIME_TO_FIRST_BYTE, System.nanoTime() - requestStart);
+    delegate.responseHeadersStart(call);
+  }
+
+  @Override public void responseHeadersEnd(Call call, Response response) {
+    delegate.responseHeadersEnd(call, response);
+  }
+
+  @Override public void responseBodyStart(Call call) {
+    responseBodyStart = System.nanoTime();
+    delegate.responseBodyStart(call);
+  }
+
+  @Override public void responseBodyEnd(Call call, long byteCount) {
+    registry.recordTime(method, BODY_READ, System.nanoTime() - responseBodyStart);
+    delegate.responseBodyEnd(call, byteCount);
+  }
+
+  @Override public void callEnd(Call call) {
+    countConnection();
+    delegate.callEnd(call);
+  }
+
+  @Override public void callFailed(Call call, IOException e) {
+    countConnection();
+    delegate.callFailed(call, e);
+  }
+
+  private void countConnection() {
+    if (connected) {
+      registry.increment(method, NEW_CONNECTION);
+    } else if (acquired) {
+      registry.increment(method, POOLED_CONNECTION);
+    }
+  }
+}
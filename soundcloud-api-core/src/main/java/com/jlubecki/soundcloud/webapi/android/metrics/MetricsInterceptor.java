@@ -0,0 +1,92 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Jacob Lubecki
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jlubecki.soundcloud.webapi.android.metrics;
+
+import com.jlubecki.soundcloud.webapi.android.call.Endpoints;
+import java.io.IOException;
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * Records latency, status codes and decompressed response sizes per service method. Should be
+ * added as the first application interceptor. The {@link #getNetworkInterceptor() network
+ * interceptor} records the compressed sizes.
+ *
+ * Calls that fail with an I/O error are counted as {@code "io_error"}.
+ */
+public class MetricsInterceptor implements Interceptor {
+
+  public static final String IO_ERROR = "io_error";
+
+  private final MetricsRegistry registry;
+  private final Interceptor networkInterceptor = new NetworkInterceptor();
+
+  public MetricsInterceptor(MetricsRegistry registry) {
+    this.registry = registry;
+  }
+
+  public Interceptor getNetworkInterceptor() {
+    return networkInterceptor;
+  }
+
+  @Override public Response intercept(Chain chain) throws IOException {
+    Request request = chain.request();
+    String method = Endpoints.name(request);
+
+    long start = System.nanoTime();
+    Response response;
+    try {
+      response = chain.proceed(request);
+    } catch (IOException e) {
+      registry.increment(method, IO_ERROR);
+      throw e;
+    }
+
+    registry.recordTime(method, MetricsRegistry.LATENCY, System.nanoTime() - start);
+    registry.recordStatus(method, response.code());
+
+    return count(response, method, MetricsRegistry.DECOMPRESSED_BYTES);
+  }
+
+  private Response count(Response response, String method, String metric) {
+    if (response.body() == null) {
+      return response;
+    }
+
+    return response.newBuilder()
+        .body(new CountingResponseBody(response.body(), registry, method, metric))
+        .build();
+  }
+
+  private class NetworkInterceptor implements Interceptor {
+    @Override public Response intercept(Chain chain) throws IOException {
+      Request request = chain.request();
+      Response response = chain.proceed(request);
+
+      return count(response, Endpoints.name(request), MetricsRegistry.COMPRESSED_BYTES);
+    }
+  }
+}
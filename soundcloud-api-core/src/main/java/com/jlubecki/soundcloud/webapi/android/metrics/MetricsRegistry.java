@@ -0,0 +1,104 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Jacob Lubecki
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jlubecki.soundcloud.webapi.android.metrics;
+
+/**
+ * Receives measurements for calls made through a
+ * {@link com.jlubecki.soundcloud.webapi.android.SoundCloudAPI}. Every measurement belongs to the
+ * {@link com.jlubecki.soundcloud.webapi.android.SoundCloudService} method that made the call, like
+ * {@code "searchTracks"}.
+ *
+ * Implementations are called on the threads that run requests and parse responses, so they must
+ * be thread safe and should return quickly.
+ */
+public interface MetricsRegistry {
+
+  /**
+   * Time from the start of a call until its response headers arrived, including any waiting for
+   * rate limit permits.
+   */
+  String LATENCY = "latency";
+
+  /**
+   * Time spent converting a response body to a model, including reading the rest of the body.
+   */
+  String PARSE_TIME = "parse_time";
+
+  /**
+   * Size of a response body as transferred, before it was decompressed. Not recorded for
+   * responses served from the cache.
+   */
+  String COMPRESSED_BYTES = "compressed_bytes";
+
+  /**
+   * Size of a response body after it was decompressed.
+   */
+  String DECOMPRESSED_BYTES = "decompressed_bytes";
+
+  /**
+   * Registry that discards every measurement. A
+   * {@link com.jlubecki.soundcloud.webapi.android.SoundCloudAPI} using it doesn't install any
+   * metrics interceptors at all.
+   */
+  MetricsRegistry NONE = new MetricsRegistry() {
+    @Override public void recordTime(String method, String metric, long nanos) {
+    }
+
+    @Override public void recordBytes(String method, String metric, long bytes) {
+    }
+
+    @Override public void recordStatus(String method, int code) {
+    }
+
+    @Override public void increment(String method, String counter) {
+    }
+  };
+
+  /**
+   * @param method Name of the service method.
+   * @param metric Name of the timing, like {@link #LATENCY}.
+   * @param nanos The measured duration.
+   */
+  void recordTime(String method, String metric, long nanos);
+
+  /**
+   * @param method Name of the service method.
+   * @param metric Name of the size, like {@link #COMPRESSED_BYTES}.
+   * @param bytes The measured size.
+   */
+  void recordBytes(String method, String metric, long bytes);
+
+  /**
+   * @param method Name of the service method.
+   * @param code HTTP status code of the response.
+   */
+  void recordStatus(String method, int code);
+
+  /**
+   * @param method Name of the service method.
+   * @param counter Name of the event that occurred.
+   */
+  void increment(String method, String counter);
+}
@@ -0,0 +1,105 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Jacob Lubecki
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jlubecki.soundcloud.webapi.android.metrics;
+
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+import java.util.Arrays;
+import okhttp3.RequestBody;
+import okhttp3.ResponseBody;
+import retrofit2.Converter;
+import retrofit2.Retrofit;
+
+/**
+ * Wraps another converter factory and records how long each response body takes to convert.
+ *
+ * Retrofit only passes a method's annotations to converter factories, so the method is found by
+ * comparing them to the annotations of every method on the service interface. Methods with
+ * identical annotations share the name of the first of them.
+ */
+public class ParseTimeConverterFactory extends Converter.Factory {
+
+  private final Converter.Factory delegate;
+  private final MetricsRegistry registry;
+  private final Class<?> service;
+
+  /**
+   * @param delegate Factory that does the actual conversion.
+   * @param registry Registry to record parse times in.
+   * @param service The service interface that Retrofit creates.
+   */
+  public ParseTimeConverterFactory(Converter.Factory delegate, MetricsRegistry registry,
+      Class<?> service) {
+    this.delegate = delegate;
+    this.registry = registry;
+    this.service = service;
+  }
+
+  @Override public Converter<ResponseBody, ?> responseBodyConverter(Type type,
+      Annotation[] annotations, Retrofit retrofit) {
+
+    final Converter<ResponseBody, ?> converter =
+        delegate.responseBodyConverter(type, annotations, retrofit);
+
+    if (converter == null) {
+      return null;
+    }
+
+    final String method = methodName(annotations);
+
+    return new Converter<ResponseBody, Object>() {
+      @Override public Object convert(ResponseBody value) throws IOException {
+        long start = System.nanoTime();
+        try {
+          return converter.convert(value);
+        } finally {
+          registry.recordTime(method, MetricsRegistry.PARSE_TIME, System.nanoTime() - start);
+        }
+      }
+    };
+  }
+
+  @Override public Converter<?, RequestBody> requestBodyConverter(Type type,
+      Annotation[] parameterAnnotations, Annotation[] methodAnnotations, Retrofit retrofit) {
+    return delegate.requestBodyConverter(type, parameterAnnotations, methodAnnotations, retrofit);
+  }
+
+  @Override public Converter<?, String> stringConverter(Type type, Annotation[] annotations,
+      Retrofit retrofit) {
+    return delegate.stringConverter(type, annotations, retrofit);
+  }
+
+  private String methodName(Annotation[] annotations) {
+    for (Method method : service.getMethods()) {
+      if (Arrays.equals(method.getAnnotations(), annotations)) {
+        return method.getName();
+      }
+    }
+
+    return "unknown";
+  }
+}
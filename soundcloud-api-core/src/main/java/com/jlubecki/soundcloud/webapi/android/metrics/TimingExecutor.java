@@ -0,0 +1,82 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Jacob Lubecki
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jlubecki.soundcloud.webapi.android.metrics;
+
+import java.util.concurrent.Executor;
+
+/**
+ * Executor that records how long each task waited to run and how long it ran, for example to
+ * measure how much time callbacks spend on the main thread.
+ */
+public class TimingExecutor implements Executor {
+
+  /**
+   * Name under which callbacks delivered by Retrofit are recorded, since the executor can't tell
+   * which method a callback belongs to.
+   */
+  public static final String CALLBACKS = "callbacks";
+
+  /**
+   * Time a task spent running.
+   */
+  public static final String RUN_TIME = "run_time";
+
+  /**
+   * Time from submitting a task until it started running.
+   */
+  public static final String QUEUE_TIME = "queue_time";
+
+  private final Executor delegate;
+  private final MetricsRegistry registry;
+  private final String name;
+
+  /**
+   * @param delegate Executor that runs the tasks.
+   * @param registry Registry to record timings in.
+   * @param name Name to record the timings under, in place of a method name.
+   */
+  public TimingExecutor(Executor delegate, MetricsRegistry registry, String name) {
+    this.delegate = delegate;
+    this.registry = registry;
+    this.name = name;
+  }
+
+  @Override public void execute(final Runnable command) {
+    final long submitted = System.nanoTime();
+
+    delegate.execute(new Runnable() {
+      @Override public void run() {
+        long start = System.nanoTime();
+        registry.recordTime(name, QUEUE_TIME, start - submitted);
+
+        try {
+          command.run();
+        } finally {
+          registry.recordTime(name, RUN_TIME, System.nanoTime() - start);
+        }
+      }
+    });
+  }
+}
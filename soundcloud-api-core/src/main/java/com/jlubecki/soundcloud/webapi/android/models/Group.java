@@ -32,23 +32,23 @@ package com.jlubecki.soundcloud.webapi.android.models;
  */
 public class Group {
   
-  private String id;
+  public String id;
 
-  private String created_at;
+  public String created_at;
   
-  private String permalink;
+  public String permalink;
   
-  private String name;
+  public String name;
 
-  private String short_description;
+  public String short_description;
   
-  private String description;
+  public String description;
   
-  private String uri;
+  public String uri;
   
-  private String artwork_url;
+  public String artwork_url;
   
-  private String permalink_url;
+  public String permalink_url;
   
-  private MiniUser creator;
+  public MiniUser creator;
 }
@@ -0,0 +1,90 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015 Jacob Lubecki
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jlubecki.soundcloud.webapi.android.models;
+
+/**
+ * Parses the numbers that the API returns into string fields, so models can keep them as
+ * primitives. Values that are missing or aren't numbers are returned as {@link #MISSING}, so a
+ * result of {@link #MISSING} has to be checked with {@link #isNumber(String)}.
+ */
+final class Numbers {
+
+  static final long MISSING = -1;
+
+  private Numbers() {
+    // No instances.
+  }
+
+  static long parseLong(String value) {
+    if (value == null || value.isEmpty()) {
+      return MISSING;
+    }
+
+    int length = value.length();
+    long result = 0;
+
+    for (int i = 0; i < length; i++) {
+      char c = value.charAt(i);
+
+      // Leaves anything else, like a sign, a fraction or a long overflow, to the slow path.
+      if (c < '0' || c > '9' || i == 18) {
+        return (long) parseDouble(value);
+      }
+
+      result = result * 10 + (c - '0');
+    }
+
+    return result;
+  }
+
+  /**
+   * @return true if the value is a finite number, as opposed to missing or malformed.
+   */
+  static boolean isNumber(String value) {
+    if (value == null || value.isEmpty()) {
+      return false;
+    }
+
+    try {
+      double result = Double.parseDouble(value);
+      return !Double.isNaN(result) && !Double.isInfinite(result);
+    } catch (NumberFormatException e) {
+      return false;
+    }
+  }
+
+  static double parseDouble(String value) {
+    if (value == null || value.isEmpty()) {
+      return MISSING;
+    }
+
+    try {
+      double result = Double.parseDouble(value);
+      return Double.isNaN(result) || Double.isInfinite(result) ? MISSING : result;
+    } catch (NumberFormatException e) {
+      return MISSING;
+    }
+  }
+}
@@ -164,6 +164,85 @@ public class Playlist {
 
   public Tracks tracks;
 
+  // Numeric fields are parsed once, by their setter or by the first call to their getter. Each has
+  // a bit in parsedFields, and one in presentFields while it holds a number.
+  private static final int DURATION = 1;
+  private static final int TRACK_COUNT = 1 << 1;
+
+  private transient int parsedFields;
+  private transient int presentFields;
+  private transient long durationValue;
+  private transient long trackCountValue;
+
+  /**
+   * @return {@link #duration} as a number, or -1 if it is missing. See {@link #hasDuration()}.
+   */
+  public long getDuration() {
+    if ((parsedFields & DURATION) == 0) {
+      setDuration(duration);
+    }
+
+    return durationValue;
+  }
+
+  /**
+   * @return true if {@link #duration} holds a number, which tells a -1 from a missing value.
+   */
+  public boolean hasDuration() {
+    if ((parsedFields & DURATION) == 0) {
+      setDuration(duration);
+    }
+
+    return (presentFields & DURATION) != 0;
+  }
+
+  /**
+   * Sets {@link #duration} and parses it for {@link #getDuration()}. Assigning the field directly
+   * after it was parsed isn't seen by the getter.
+   */
+  public void setDuration(String duration) {
+    this.duration = duration;
+    durationValue = Numbers.parseLong(duration);
+    parsed(DURATION, durationValue != Numbers.MISSING || Numbers.isNumber(duration));
+  }
+
+  /**
+   * @return {@link #track_count} as a number, or -1 if it is missing. See {@link #hasTrackCount()}.
+   */
+  public long getTrackCount() {
+    if ((parsedFields & TRACK_COUNT) == 0) {
+      setTrackCount(track_count);
+    }
+
+    return trackCountValue;
+  }
+
+  /**
+   * @return true if {@link #track_count} holds a number, which tells a -1 from a missing value.
+   */
+  public boolean hasTrackCount() {
+    if ((parsedFields & TRACK_COUNT) == 0) {
+      setTrackCount(track_count);
+    }
+
+    return (presentFields & TRACK_COUNT) != 0;
+  }
+
+  /**
+   * Sets {@link #track_count} and parses it for {@link #getTrackCount()}. Assigning the field
+   * directly after it was parsed isn't seen by the getter.
+   */
+  public void setTrackCount(String trackCount) {
+    this.track_count = trackCount;
+    trackCountValue = Numbers.parseLong(trackCount);
+    parsed(TRACK_COUNT, trackCountValue != Numbers.MISSING || Numbers.isNumber(trackCount));
+  }
+
+  private void parsed(int field, boolean present) {
+    parsedFields |= field;
+    presentFields = present ? presentFields | field : presentFields & ~field;
+  }
+
   /**
    * ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
    *
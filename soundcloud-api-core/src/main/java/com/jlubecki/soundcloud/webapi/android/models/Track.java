@@ -250,6 +250,266 @@ public class Track {
    */
   public boolean user_favorite;
 
+  // Numeric fields are parsed once, by their setter or by the first call to their getter. Each has
+  // a bit in parsedFields, and one in presentFields while it holds a number.
+  private static final int DURATION = 1;
+  private static final int BPM = 1 << 1;
+  private static final int COMMENT_COUNT = 1 << 2;
+  private static final int DOWNLOAD_COUNT = 1 << 3;
+  private static final int PLAYBACK_COUNT = 1 << 4;
+  private static final int FAVORITINGS_COUNT = 1 << 5;
+  private static final int ORIGINAL_FILE_SIZE = 1 << 6;
+
+  private transient int parsedFields;
+  private transient int presentFields;
+  private transient long durationValue;
+  private transient double bpmValue;
+  private transient long commentCountValue;
+  private transient long downloadCountValue;
+  private transient long playbackCountValue;
+  private transient long favoritingsCountValue;
+  private transient long originalFileSizeValue;
+
+  /**
+   * @return {@link #duration} as a number, or -1 if it is missing. See {@link #hasDuration()}.
+   */
+  public long getDuration() {
+    if ((parsedFields & DURATION) == 0) {
+      setDuration(duration);
+    }
+
+    return durationValue;
+  }
+
+  /**
+   * @return true if {@link #duration} holds a number, which tells a -1 from a missing value.
+   */
+  public boolean hasDuration() {
+    if ((parsedFields & DURATION) == 0) {
+      setDuration(duration);
+    }
+
+    return (presentFields & DURATION) != 0;
+  }
+
+  /**
+   * Sets {@link #duration} and parses it for {@link #getDuration()}. Assigning the field directly
+   * after it was parsed isn't seen by the getter.
+   */
+  public void setDuration(String duration) {
+    this.duration = duration;
+    durationValue = Numbers.parseLong(duration);
+    parsed(DURATION, durationValue != Numbers.MISSING || Numbers.isNumber(duration));
+  }
+
+  /**
+   * @return {@link #bpm} as a number, or -1 if it is missing. See {@link #hasBpm()}.
+   */
+  public double getBpm() {
+    if ((parsedFields & BPM) == 0) {
+      setBpm(bpm);
+    }
+
+    return bpmValue;
+  }
+
+  /**
+   * @return true if {@link #bpm} holds a number, which tells a -1 from a missing value.
+   */
+  public boolean hasBpm() {
+    if ((parsedFields & BPM) == 0) {
+      setBpm(bpm);
+    }
+
+    return (presentFields & BPM) != 0;
+  }
+
+  /**
+   * Sets {@link #bpm} and parses it for {@link #getBpm()}. Assigning the field directly after it
+   * was parsed isn't seen by the getter.
+   */
+  public void setBpm(String bpm) {
+    this.bpm = bpm;
+    bpmValue = Numbers.parseDouble(bpm);
+    parsed(BPM, bpmValue != Numbers.MISSING || Numbers.isNumber(bpm));
+  }
+
+  /**
+   * @return {@link #comment_count} as a number, or -1 if it is missing. See
+   *         {@link #hasCommentCount()}.
+   */
+  public long getCommentCount() {
+    if ((parsedFields & COMMENT_COUNT) == 0) {
+      setCommentCount(comment_count);
+    }
+
+    return commentCountValue;
+  }
+
+  /**
+   * @return true if {@link #comment_count} holds a number, which tells a -1 from a missing value.
+   */
+  public boolean hasCommentCount() {
+    if ((parsedFields & COMMENT_COUNT) == 0) {
+      setCommentCount(comment_count);
+    }
+
+    return (presentFields & COMMENT_COUNT) != 0;
+  }
+
+  /**
+   * Sets {@link #comment_count} and parses it for {@link #getCommentCount()}. Assigning the field
+   * directly after it was parsed isn't seen by the getter.
+   */
+  public void setCommentCount(String commentCount) {
+    this.comment_count = commentCount;
+    commentCountValue = Numbers.parseLong(commentCount);
+    parsed(COMMENT_COUNT, commentCountValue != Numbers.MISSING || Numbers.isNumber(commentCount));
+  }
+
+  /**
+   * @return {@link #download_count} as a number, or -1 if it is missing. See
+   *         {@link #hasDownloadCount()}.
+   */
+  public long getDownloadCount() {
+    if ((parsedFields & DOWNLOAD_COUNT) == 0) {
+      setDownloadCount(download_count);
+    }
+
+    return downloadCountValue;
+  }
+
+  /**
+   * @return true if {@link #download_count} holds a number, which tells a -1 from a missing value.
+   */
+  public boolean hasDownloadCount() {
+    if ((parsedFields & DOWNLOAD_COUNT) == 0) {
+      setDownloadCount(download_count);
+    }
+
+    return (presentFields & DOWNLOAD_COUNT) != 0;
+  }
+
+  /**
+   * Sets {@link #download_count} and parses it for {@link #getDownloadCount()}. Assigning the field
+   * directly after it was parsed isn't seen by the getter.
+   */
+  public void setDownloadCount(String downloadCount) {
+    this.download_count = downloadCount;
+    downloadCountValue = Numbers.parseLong(downloadCount);
+    parsed(DOWNLOAD_COUNT,
+        downloadCountValue != Numbers.MISSING || Numbers.isNumber(downloadCount));
+  }
+
+  /**
+   * @return {@link #playback_count} as a number, or -1 if it is missing. See
+   *         {@link #hasPlaybackCount()}.
+   */
+  public long getPlaybackCount() {
+    if ((parsedFields & PLAYBACK_COUNT) == 0) {
+      setPlaybackCount(playback_count);
+    }
+
+    return playbackCountValue;
+  }
+
+  /**
+   * @return true if {@link #playback_count} holds a number, which tells a -1 from a missing value.
+   */
+  public boolean hasPlaybackCount() {
+    if ((parsedFields & PLAYBACK_COUNT) == 0) {
+      setPlaybackCount(playback_count);
+    }
+
+    return (presentFields & PLAYBACK_COUNT) != 0;
+  }
+
+  /**
+   * Sets {@link #playback_count} and parses it for {@link #getPlaybackCount()}. Assigning the field
+   * directly after it was parsed isn't seen by the getter.
+   */
+  public void setPlaybackCount(String playbackCount) {
+    this.playback_count = playbackCount;
+    playbackCountValue = Numbers.parseLong(playbackCount);
+    parsed(PLAYBACK_COUNT,
+        playbackCountValue != Numbers.MISSING || Numbers.isNumber(playbackCount));
+  }
+
+  /**
+   * @return {@link #favoritings_count} as a number, or -1 if it is missing. See
+   *         {@link #hasFavoritingsCount()}.
+   */
+  public long getFavoritingsCount() {
+    if ((parsedFields & FAVORITINGS_COUNT) == 0) {
+      setFavoritingsCount(favoritings_count);
+    }
+
+    return favoritingsCountValue;
+  }
+
+  /**
+   * @return true if {@link #favoritings_count} holds a number, which tells a -1 from a missing
+   *         value.
+   */
+  public boolean hasFavoritingsCount() {
+    if ((parsedFields & FAVORITINGS_COUNT) == 0) {
+      setFavoritingsCount(favoritings_count);
+    }
+
+    return (presentFields & FAVORITINGS_COUNT) != 0;
+  }
+
+  /**
+   * Sets {@link #favoritings_count} and parses it for {@link #getFavoritingsCount()}. Assigning the
+   * field directly after it was parsed isn't seen by the getter.
+   */
+  public void setFavoritingsCount(String favoritingsCount) {
+    this.favoritings_count = favoritingsCount;
+    favoritingsCountValue = Numbers.parseLong(favoritingsCount);
+    parsed(FAVORITINGS_COUNT,
+        favoritingsCountValue != Numbers.MISSING || Numbers.isNumber(favoritingsCount));
+  }
+
+  /**
+   * @return {@link #original_file_size} as a number, or -1 if it is missing. See
+   *         {@link #hasOriginalFileSize()}.
+   */
+  public long getOriginalFileSize() {
+    if ((parsedFields & ORIGINAL_FILE_SIZE) == 0) {
+      setOriginalFileSize(original_file_size);
+    }
+
+    return originalFileSizeValue;
+  }
+
+  /**
+   * @return true if {@link #original_file_size} holds a number, which tells a -1 from a missing
+   *         value.
+   */
+  public boolean hasOriginalFileSize() {
+    if ((parsedFields & ORIGINAL_FILE_SIZE) == 0) {
+      setOriginalFileSize(original_file_size);
+    }
+
+    return (presentFields & ORIGINAL_FILE_SIZE) != 0;
+  }
+
+  /**
+   * Sets {@link #original_file_size} and parses it for {@link #getOriginalFileSize()}. Assigning
+   * the field directly after it was parsed isn't seen by the getter.
+   */
+  public void setOriginalFileSize(String originalFileSize) {
+    this.original_file_size = originalFileSize;
+    originalFileSizeValue = Numbers.parseLong(originalFileSize);
+    parsed(ORIGINAL_FILE_SIZE,
+        originalFileSizeValue != Numbers.MISSING || Numbers.isNumber(originalFileSize));
+  }
+
+  private void parsed(int field, boolean present) {
+    parsedFields |= field;
+    presentFields = present ? presentFields | field : presentFields & ~field;
+  }
+
   /**
    * <ul>
    * <li>ALL_RIGHTS_RESERVED - no sharing</li>
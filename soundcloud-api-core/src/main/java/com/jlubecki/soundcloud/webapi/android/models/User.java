@@ -0,0 +1,287 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2015 Jacob Lubecki
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jlubecki.soundcloud.webapi.android.models;
+
+import com.google.gson.annotations.SerializedName;
+
+/**
+ * Representation of a SoundCloud user.
+ *
+ * @see <a href="https://developers.soundcloud.com/docs/api/reference#users">SoundCloud User
+ * Reference</a>
+ */
+public class User {
+
+  /**
+   * Integer value of a user's ID.
+   */
+  public String id;
+
+  public String permalink;
+
+  public String username;
+
+  public String uri;
+
+  public String permalink_url;
+
+  public String avatar_url;
+
+  public String country;
+
+  public String full_name;
+
+  public String city;
+
+  public String description;
+
+  @SerializedName("discogs-name") public String discogs_name;
+
+  @SerializedName("myspace-name") public String myspace_name;
+
+  public String website;
+
+  @SerializedName("website-tile") public String website_title;
+
+  @SerializedName("online") public boolean is_online;
+
+  /**
+   * Integer value of the number of public tracks a user has.
+   */
+  public String track_count;
+
+  /**
+   * Integer value of the number of public playlists a user has.
+   */
+  public String playlist_count;
+
+  /**
+   * Integer value of the  number of followers a user has.
+   */
+  public String followers_count;
+
+  /**
+   * Integer value of the number of users a user follows.
+   */
+  public String followings_count;
+
+  public String public_favorites_count;
+
+  /**
+   * Binary data of user avatar. Only for uploading.
+   */
+  public String avatar_data;
+
+  // Numeric fields are parsed once, by their setter or by the first call to their getter. Each has
+  // a bit in parsedFields, and one in presentFields while it holds a number.
+  private static final int TRACK_COUNT = 1;
+  private static final int PLAYLIST_COUNT = 1 << 1;
+  private static final int FOLLOWERS_COUNT = 1 << 2;
+  private static final int FOLLOWINGS_COUNT = 1 << 3;
+  private static final int PUBLIC_FAVORITES_COUNT = 1 << 4;
+
+  private transient int parsedFields;
+  private transient int presentFields;
+  private transient long trackCountValue;
+  private transient long playlistCountValue;
+  private transient long followersCountValue;
+  private transient long followingsCountValue;
+  private transient long publicFavoritesCountValue;
+
+  /**
+   * @return {@link #track_count} as a number, or -1 if it is missing. See {@link #hasTrackCount()}.
+   */
+  public long getTrackCount() {
+    if ((parsedFields & TRACK_COUNT) == 0) {
+      setTrackCount(track_count);
+    }
+
+    return trackCountValue;
+  }
+
+  /**
+   * @return true if {@link #track_count} holds a number, which tells a -1 from a missing value.
+   */
+  public boolean hasTrackCount() {
+    if ((parsedFields & TRACK_COUNT) == 0) {
+      setTrackCount(track_count);
+    }
+
+    return (presentFields & TRACK_COUNT) != 0;
+  }
+
+  /**
+   * Sets {@link #track_count} and parses it for {@link #getTrackCount()}. Assigning the field
+   * directly after it was parsed isn't seen by the getter.
+   */
+  public void setTrackCount(String trackCount) {
+    this.track_count = trackCount;
+    trackCountValue = Numbers.parseLong(trackCount);
+    parsed(TRACK_COUNT, trackCountValue != Numbers.MISSING || Numbers.isNumber(trackCount));
+  }
+
+  /**
+   * @return {@link #playlist_count} as a number, or -1 if it is missing. See
+   *         {@link #hasPlaylistCount()}.
+   */
+  public long getPlaylistCount() {
+    if ((parsedFields & PLAYLIST_COUNT) == 0) {
+      setPlaylistCount(playlist_count);
+    }
+
+    return playlistCountValue;
+  }
+
+  /**
+   * @return true if {@link #playlist_count} holds a number, which tells a -1 from a missing value.
+   */
+  public boolean hasPlaylistCount() {
+    if ((parsedFields & PLAYLIST_COUNT) == 0) {
+      setPlaylistCount(playlist_count);
+    }
+
+    return (presentFields & PLAYLIST_COUNT) != 0;
+  }
+
+  /**
+   * Sets {@link #playlist_count} and parses it for {@link #getPlaylistCount()}. Assigning the field
+   * directly after it was parsed isn't seen by the getter.
+   */
+  public void setPlaylistCount(String playlistCount) {
+    this.playlist_count = playlistCount;
+    playlistCountValue = Numbers.parseLong(playlistCount);
+    parsed(PLAYLIST_COUNT,
+        playlistCountValue != Numbers.MISSING || Numbers.isNumber(playlistCount));
+  }
+
+  /**
+   * @return {@link #followers_count} as a number, or -1 if it is missing. See
+   *         {@link #hasFollowersCount()}.
+   */
+  public long getFollowersCount() {
+    if ((parsedFields & FOLLOWERS_COUNT) == 0) {
+      setFollowersCount(followers_count);
+    }
+
+    return followersCountValue;
+  }
+
+  /**
+   * @return true if {@link #followers_count} holds a number, which tells a -1 from a missing value.
+   */
+  public boolean hasFollowersCount() {
+    if ((parsedFields & FOLLOWERS_COUNT) == 0) {
+      setFollowersCount(followers_count);
+    }
+
+    return (presentFields & FOLLOWERS_COUNT) != 0;
+  }
+
+  /**
+   * Sets {@link #followers_count} and parses it for {@link #getFollowersCount()}. Assigning the
+   * field directly after it was parsed isn't seen by the getter.
+   */
+  public void setFollowersCount(String followersCount) {
+    this.followers_count = followersCount;
+    followersCountValue = Numbers.parseLong(followersCount);
+    parsed(FOLLOWERS_COUNT,
+        followersCountValue != Numbers.MISSING || Numbers.isNumber(followersCount));
+  }
+
+  /**
+   * @return {@link #followings_count} as a number, or -1 if it is missing. See
+   *         {@link #hasFollowingsCount()}.
+   */
+  public long getFollowingsCount() {
+    if ((parsedFields & FOLLOWINGS_COUNT) == 0) {
+      setFollowingsCount(followings_count);
+    }
+
+    return followingsCountValue;
+  }
+
+  /**
+   * @return true if {@link #followings_count} holds a number, which tells a -1 from a missing
+   *         value.
+   */
+  public boolean hasFollowingsCount() {
+    if ((parsedFields & FOLLOWINGS_COUNT) == 0) {
+      setFollowingsCount(followings_count);
+    }
+
+    return (presentFields & FOLLOWINGS_COUNT) != 0;
+  }
+
+  /**
+   * Sets {@link #followings_count} and parses it for {@link #getFollowingsCount()}. Assigning the
+   * field directly after it was parsed isn't seen by the getter.
+   */
+  public void setFollowingsCount(String followingsCount) {
+    this.followings_count = followingsCount;
+    followingsCountValue = Numbers.parseLong(followingsCount);
+    parsed(FOLLOWINGS_COUNT,
+        followingsCountValue != Numbers.MISSING || Numbers.isNumber(followingsCount));
+  }
+
+  /**
+   * @return {@link #public_favorites_count} as a number, or -1 if it is missing. See
+   *         {@link #hasPublicFavoritesCount()}.
+   */
+  public long getPublicFavoritesCount() {
+    if ((parsedFields & PUBLIC_FAVORITES_COUNT) == 0) {
+      setPublicFavoritesCount(public_favorites_count);
+    }
+
+    return publicFavoritesCountValue;
+  }
+
+  /**
+   * @return true if {@link #public_favorites_count} holds a number, which tells a -1 from a missing
+   *         value.
+   */
+  public boolean hasPublicFavoritesCount() {
+    if ((parsedFields & PUBLIC_FAVORITES_COUNT) == 0) {
+      setPublicFavoritesCount(public_favorites_count);
+    }
+
+    return (presentFields & PUBLIC_FAVORITES_COUNT) != 0;
+  }
+
+  /**
+   * Sets {@link #public_favorites_count} and parses it for {@link #getPublicFavoritesCount()}.
+   * Assigning the field directly after it was parsed isn't seen by the getter.
+   */
+  public void setPublicFavoritesCount(String publicFavoritesCount) {
+    this.public_favorites_count = publicFavoritesCount;
+    publicFavoritesCountValue = Numbers.parseLong(publicFavoritesCount);
+    parsed(PUBLIC_FAVORITES_COUNT,
+        publicFavoritesCountValue != Numbers.MISSING || Numbers.isNumber(publicFavoritesCount));
+  }
+
+  private void parsed(int field, boolean present) {
+    parsedFields |= field;
+    presentFields = present ? presentFields | field : presentFields & ~field;
+  }
+}
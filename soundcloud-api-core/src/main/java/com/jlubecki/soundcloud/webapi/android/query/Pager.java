@@ -24,7 +24,6 @@
 
 package com.jlubecki.soundcloud.webapi.android.query;
 
-import android.support.annotation.IntRange;
 import java.util.HashMap;
 
 /**
@@ -49,7 +48,11 @@ public class Pager {
     updateOffset(offset);
   }
 
-  public Pager(Query query, @IntRange(from = 1, to = 200) int pageSize) {
+  /**
+   * @param query The query to page through.
+   * @param pageSize Number of results per page, from 1 to {@link #LIMIT_MAX}.
+   */
+  public Pager(Query query, int pageSize) {
     this.queryMap = query.createMap();
 
     this.limit = pageSize;
@@ -95,7 +98,7 @@ public class Pager {
     updateOffset(0);
   }
 
-  private void updateLimit(@IntRange(from = 1, to = 200) int limit) {
+  private void updateLimit(int limit) {
     this.limit = limit;
 
     queryMap.put(LIMIT, String.valueOf(limit));
@@ -24,9 +24,6 @@
 
 package com.jlubecki.soundcloud.webapi.android.query;
 
-import android.support.annotation.IntRange;
-import android.support.annotation.Nullable;
-import android.text.TextUtils;
 import java.util.HashMap;
 
 import static com.jlubecki.soundcloud.webapi.android.models.Track.*;
@@ -159,7 +156,7 @@ public class TrackQuery extends Query {
     }
 
     public Builder setTags(String... tagArray) {
-      this.tags = TextUtils.join(", ", tagArray);
+      this.tags = join(tagArray);
 
       return this;
     }
@@ -177,13 +174,19 @@ public class TrackQuery extends Query {
     }
 
     public Builder setTypes(Type... types) {
-      this.types = TextUtils.join(", ", types);
+      this.types = join(types);
 
       return this;
     }
 
-    public Builder setBpmLimits(@IntRange(from = 0, to = 500) int from,
-        @IntRange(from = 0, to = 500) int to) {
+    /**
+     * Sets the acceptable range of beats per minute for a track.
+     *
+     * @param from The minimum bpm of songs to pick, from 0 to 500.
+     * @param to The maximum bpm of songs to pick, from 0 to 500.
+     * @return The instance of the builder that was just updated.
+     */
+    public Builder setBpmLimits(int from, int to) {
       this.bpmFrom = from;
       this.bpmTo = to;
 
@@ -194,12 +197,11 @@ public class TrackQuery extends Query {
      * Sets the acceptable ranges of durations for a track. Durations should be given in
      * milliseconds.
      *
-     * @param from The minimum duration of songs to pick.
-     * @param to The maximum duration of songs to pick.
+     * @param from The minimum duration of songs to pick, from 0 to 3600.
+     * @param to The maximum duration of songs to pick, from 0 to 3600.
      * @return The instance of the builder that was just updated.
      */
-    public Builder setDurationLimits(@IntRange(from = 0, to = 3600) int from,
-        @IntRange(from = 0, to = 3600) int to) {
+    public Builder setDurationLimits(int from, int to) {
       this.durationFrom = from;
       this.durationTo = to;
 
@@ -210,11 +212,11 @@ public class TrackQuery extends Query {
      * Sets the dates between which results should have been created. Dates should be formatted
      * like this: "yyyy-mm-dd hh:mm:ss"
      *
-     * @param from The starting date to pick results from.
-     * @param to The ending date to pick results from.
+     * @param from The starting date to pick results from, or null.
+     * @param to The ending date to pick results from, or null.
      * @return The instance of the builder that was just updated.
      */
-    public Builder setCreationDateLimits(@Nullable String from, @Nullable String to) {
+    public Builder setCreationDateLimits(String from, String to) {
       this.createdAtFrom = from;
       this.createdAtTo = to;
 
@@ -228,13 +230,13 @@ public class TrackQuery extends Query {
      * @return The instance of the builder that was just updated.
      */
     public Builder setIds(String... ids) {
-      this.ids = TextUtils.join(", ", ids);
+      this.ids = join(ids);
 
       return this;
     }
 
     public Builder setGenres(String... genres) {
-      this.genres = TextUtils.join(", ", genres);
+      this.genres = join(genres);
 
       return this;
     }
@@ -242,5 +244,19 @@ public class TrackQuery extends Query {
     public TrackQuery build() {
       return new TrackQuery(this);
     }
+
+    private static String join(Object[] tokens) {
+      StringBuilder builder = new StringBuilder();
+
+      for (Object token : tokens) {
+        if (builder.length() > 0) {
+          builder.append(", ");
+        }
+
+        builder.append(token);
+      }
+
+      return builder.toString();
+    }
   }
 }
@@ -0,0 +1,1457 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2016 Jacob Lubecki
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.jlubecki.soundcloud.webapi.android;
+
+import com.google.gson.FieldNamingPolicy;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.annotations.SerializedName;
+import com.jlubecki.soundcloud.webapi.android.auth.models.AuthenticationResponse;
+import com.jlubecki.soundcloud.webapi.android.cache.EntityCache;
+import com.jlubecki.soundcloud.webapi.android.cache.HttpResponseCache;
+import com.jlubecki.soundcloud.webapi.android.call.BlockingCallAdapterFactory;
+import com.jlubecki.soundcloud.webapi.android.call.CircuitBreaker;
+import com.jlubecki.soundcloud.webapi.android.call.CircuitBreakerCallAdapterFactory;
+import com.jlubecki.soundcloud.webapi.android.call.CircuitBreakerOpenException;
+import com.jlubecki.soundcloud.webapi.android.call.CircuitBreakerPolicy;
+import com.jlubecki.soundcloud.webapi.android.call.FanOut;
+import com.jlubecki.soundcloud.webapi.android.call.Futures;
+import com.jlubecki.soundcloud.webapi.android.call.RetryBudget;
+import com.jlubecki.soundcloud.webapi.android.call.RetryCallAdapterFactory;
+import com.jlubecki.soundcloud.webapi.android.call.RetryPolicy;
+import com.jlubecki.soundcloud.webapi.android.http.RateLimiter;
+import com.jlubecki.soundcloud.webapi.android.http.RequestSigner;
+import com.jlubecki.soundcloud.webapi.android.http.SharedClient;
+import com.jlubecki.soundcloud.webapi.android.metrics.InMemoryMetricsRegistry;
+import com.jlubecki.soundcloud.webapi.android.metrics.MetricsEventListener;
+import com.jlubecki.soundcloud.webapi.android.metrics.MetricsRegistry;
+import com.jlubecki.soundcloud.webapi.android.json.ItemReader;
+import com.jlubecki.soundcloud.webapi.android.json.Projection;
+import com.jlubecki.soundcloud.webapi.android.json.SoundCloudGson;
+import com.jlubecki.soundcloud.webapi.android.models.Comment;
+import com.jlubecki.soundcloud.webapi.android.models.Comments;
+import com.jlubecki.soundcloud.webapi.android.models.Connection;
+import com.jlubecki.soundcloud.webapi.android.models.Connections;
+import com.jlubecki.soundcloud.webapi.android.models.CreatorApp;
+import com.jlubecki.soundcloud.webapi.android.models.Group;
+import com.jlubecki.soundcloud.webapi.android.models.Groups;
+import com.jlubecki.soundcloud.webapi.android.models.MiniUser;
+import com.jlubecki.soundcloud.webapi.android.models.Pager;
+import com.jlubecki.soundcloud.webapi.android.models.Playlist;
+import com.jlubecki.soundcloud.webapi.android.models.Playlists;
+import com.jlubecki.soundcloud.webapi.android.models.SecretToken;
+import com.jlubecki.soundcloud.webapi.android.models.Track;
+import com.jlubecki.soundcloud.webapi.android.models.Tracks;
+import com.jlubecki.soundcloud.webapi.android.models.User;
+import com.jlubecki.soundcloud.webapi.android.models.Users;
+import com.jlubecki.soundcloud.webapi.android.models.WebProfiles;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import okhttp3.ConnectionPool;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import okhttp3.mockwebserver.SocketPolicy;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.reactivestreams.Subscriber;
+import retrofit2.HttpException;
+import org.reactivestreams.Subscription;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.junit.Assert.assertNull;
+
+public class SoundCloudAPITest {
+
+  private final MockWebServer server = new MockWebServer();
+
+  @Rule public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  @Before public void setUp() throws Exception {
+    // Echoes the Authorization header back as the user's ID.
+    server.setDispatcher(new Dispatcher() {
+      @Override public MockResponse dispatch(RecordedRequest request) {
+        String authorization = request.getHeader("Authorization");
+        String id = authorization != null ? "\"" + authorization + "\"" : "null";
+
+        return new MockResponse().setBody("{\"id\":" + id + "}");
+      }
+    });
+
+    server.start();
+  }
+
+  @After public void tearDown() throws Exception {
+    server.shutdown();
+  }
+
+  private SoundCloudAPI.Builder newBuilder() {
+    return new SoundCloudAPI.Builder("client").setBaseUrl(server.url("/").toString());
+  }
+
+  @Test public void instancesShareOneClient() throws Exception {
+    OkHttpClient first = newBuilder().build().getHttpClient();
+    OkHttpClient second = newBuilder().setToken("other").build().getHttpClient();
+
+    assertNotSame(first, second);
+    assertSame(SharedClient.get().connectionPool(), first.connectionPool());
+    assertSame(first.connectionPool(), second.connectionPool());
+    assertSame(SharedClient.get().dispatcher(), first.dispatcher());
+    assertSame(first.dispatcher(), second.dispatcher());
+  }
+
+  @Test public void isolatedClientSharesConnectionsButNotCredentials() throws Exception {
+    SoundCloudAPI api = newBuilder()
+        .setToken("default")
+        .setConnectionPool(new ConnectionPool())
+        .setReadTimeout(3, TimeUnit.SECONDS)
+        .build();
+    api.getService().getUser("1").execute();
+
+    OkHttpClient client = api.getHttpClient();
+    OkHttpClient isolated = SharedClient.newIsolatedBuilder(client).build();
+
+    assertSame(client.connectionPool(), isolated.connectionPool());
+    assertSame(client.dispatcher(), isolated.dispatcher());
+    assertEquals(3000, isolated.readTimeoutMillis());
+    assertTrue(isolated.interceptors().isEmpty());
+    assertTrue(isolated.networkInterceptors().isEmpty());
+
+    okhttp3.Response response = isolated.newCall(
+        new Request.Builder().url(server.url("/oauth2/token")).build()).execute();
+    response.close();
+
+    RecordedRequest first = server.takeRequest();
+    RecordedRequest second = server.takeRequest();
+    assertEquals("OAuth default", first.getHeader("Authorization"));
+    assertEquals("/oauth2/token", second.getPath());
+    assertNull(second.getHeader("Authorization"));
+
+    // The second request went over the socket the first one opened.
+    assertEquals(0, first.getSequenceNumber());
+    assertEquals(1, second.getSequenceNumber());
+  }
+
+  @Test public void builderAppliesTimeoutsAndDispatcher() throws Exception {
+    okhttp3.Dispatcher dispatcher = new okhttp3.Dispatcher();
+    OkHttpClient client = newBuilder()
+        .setConnectTimeout(1, TimeUnit.SECONDS)
+        .setReadTimeout(2, TimeUnit.SECONDS)
+        .setWriteTimeout(3, TimeUnit.SECONDS)
+        .setDispatcher(dispatcher)
+        .setMaxRequests(7)
+        .setMaxRequestsPerHost(3)
+        .build()
+        .getHttpClient();
+
+    assertEquals(1000, client.connectTimeoutMillis());
+    assertEquals(2000, client.readTimeoutMillis());
+    assertEquals(3000, client.writeTimeoutMillis());
+    assertSame(dispatcher, client.dispatcher());
+    assertEquals(7, dispatcher.getMaxRequests());
+    assertEquals(3, dispatcher.getMaxRequestsPerHost());
+
+    // Limits without a dispatcher get one of their own, leaving the shared one alone.
+    OkHttpClient limited = newBuilder().setMaxRequestsPerHost(2).build().getHttpClient();
+    assertNotSame(SharedClient.get().dispatcher(), limited.dispatcher());
+    assertEquals(2, limited.dispatcher().getMaxRequestsPerHost());
+    assertEquals(5, SharedClient.get().dispatcher().getMaxRequestsPerHost());
+    assertSame(SharedClient.get().connectionPool(), limited.connectionPool());
+  }
+
+  @Test public void signsWithClientIdAndDefaultToken() throws Exception {
+    SoundCloudAPI api = newBuilder().setToken("default").build();
+
+    User user = api.getService().getUser("1").execute().body();
+
+    assertEquals("OAuth default", user.id);
+    assertEquals("/users/1?client_id=client", server.takeRequest().getPath());
+  }
+
+  @Test public void requestSignerOnlyAddsWhatIsMissing() throws Exception {
+    RequestSigner signer = new RequestSigner("client");
+    String authorization = RequestSigner.authorization("token");
+
+    assertEquals("OAuth token", authorization);
+    assertNull(RequestSigner.authorization(null));
+
+    Request request = new Request.Builder().url(server.url("/tracks?q=a%20b")).build();
+    Request signed = signer.sign(request, authorization);
+    assertEquals("/tracks?q=a%20b&client_id=client", signed.url().encodedPath()
+        + "?" + signed.url().encodedQuery());
+    assertEquals("OAuth token", signed.header("Authorization"));
+
+    // Signed requests, and the next_href of a signed page, are returned as they are.
+    assertSame(signed, signer.sign(signed, authorization));
+    assertSame(signed.url(), signer.sign(signed.url()));
+
+    // A scoped token isn't replaced by the default one.
+    Request scoped = request.newBuilder().header("Authorization", "OAuth scoped").build();
+    assertEquals("OAuth scoped", signer.sign(scoped, authorization).header("Authorization"));
+
+    Request anonymous = signer.sign(request, null);
+    assertNull(anonymous.header("Authorization"));
+    assertEquals("client", anonymous.url().queryParameter("client_id"));
+  }
+
+  @Test public void unauthenticatedRequestsHaveNoHeader() throws Exception {
+    SoundCloudAPI api = newBuilder().build();
+
+    User user = api.getService().getUser("1").execute().body();
+
+    assertNull(user.id);
+  }
+
+  @Test public void scopedServiceOverridesDefaultToken() throws Exception {
+    SoundCloudAPI api = newBuilder().setToken("default").build();
+
+    User user = api.getService("scoped").getMe().execute().body();
+
+    assertEquals("OAuth scoped", user.id);
+  }
+
+  @Test public void clonedCallsKeepTheirToken() throws Exception {
+    SoundCloudAPI api = newBuilder().build();
+
+    retrofit2.Call<User> call = api.getService("scoped").getMe();
+    call.execute();
+
+    assertEquals("OAuth scoped", call.clone().execute().body().id);
+  }
+
+  @Test public void asyncServiceKeepsScopedToken() throws Exception {
+    SoundCloudAPI api = newBuilder().setToken("default").build();
+    SoundCloudAsyncService service = api.getAsyncService("scoped");
+
+    List<User> users = Futures.allOf(service.getMe(), service.getUser("1"))
+        .get(5, TimeUnit.SECONDS);
+
+    assertEquals("OAuth scoped", users.get(0).id);
+    assertEquals("OAuth scoped", users.get(1).id);
+  }
+
+  @Test public void futuresCancelTheCallsTheyNoLongerNeed() throws Exception {
+    server.setDispatcher(new Dispatcher() {
+      @Override public MockResponse dispatch(RecordedRequest request) {
+        if (request.getPath().startsWith("/users/missing")) {
+          return new MockResponse().setResponseCode(404);
+        }
+
+        return new MockResponse().setBody("{\"id\":\"1\"}")
+            .setHeadersDelay(2, TimeUnit.SECONDS);
+      }
+    });
+
+    okhttp3.Dispatcher dispatcher = new okhttp3.Dispatcher();
+    SoundCloudAsyncService service = newBuilder().setDispatcher(dispatcher).build()
+        .getAsyncService();
+
+    // A failure cancels the calls that are still running.
+    CompletableFuture<User> slow = service.getUser("slow");
+    try {
+      Futures.allOf(slow, service.getUser("missing")).get(5, TimeUnit.SECONDS);
+      fail();
+    } catch (ExecutionException expected) {
+      assertTrue(expected.getCause() instanceof HttpException);
+    }
+    assertTrue(slow.isCancelled());
+    awaitIdle(dispatcher);
+
+    // So does canceling the combined future.
+    List<CompletableFuture<User>> futures = Arrays.asList(
+        service.getUser("1"), service.getUser("2"));
+    Futures.allOf(futures).cancel(true);
+
+    assertTrue(futures.get(0).isCancelled());
+    assertTrue(futures.get(1).isCancelled());
+    awaitIdle(dispatcher);
+  }
+
+  @Test public void firstOfTakesTheFirstSuccess() throws Exception {
+    server.setDispatcher(new Dispatcher() {
+      @Override public MockResponse dispatch(RecordedRequest request) {
+        String path = request.getPath();
+
+        if (path.startsWith("/users/missing")) {
+          return new MockResponse().setResponseCode(404);
+        }
+
+        MockResponse response = new MockResponse().setBody(
+            "{\"id\":\"" + request.getRequestUrl().pathSegments().get(1) + "\"}");
+
+        return path.startsWith("/users/slow")
+            ? response.setHeadersDelay(2, TimeUnit.SECONDS)
+            : response;
+      }
+    });
+
+    okhttp3.Dispatcher dispatcher = new okhttp3.Dispatcher();
+    SoundCloudAsyncService service = newBuilder().setDispatcher(dispatcher).build()
+        .getAsyncService();
+
+    CompletableFuture<User> slow = service.getUser("slow");
+    User first = Futures.firstOf(slow, service.getUser("missing"), service.getUser("fast"))
+        .get(5, TimeUnit.SECONDS);
+
+    assertEquals("fast", first.id);
+    assertTrue(slow.isCancelled());
+    awaitIdle(dispatcher);
+
+    try {
+      Futures.firstOf(service.getUser("missing"), service.getUser("missing"))
+          .get(5, TimeUnit.SECONDS);
+      fail();
+    } catch (ExecutionException expected) {
+      assertEquals(404, ((HttpException) expected.getCause()).code());
+    }
+  }
+
+  /**
+   * Waits for canceled calls to fail and return to the dispatcher.
+   */
+  private static void awaitIdle(okhttp3.Dispatcher dispatcher) throws InterruptedException {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+
+    while (dispatcher.runningCallsCount() > 0 && System.nanoTime() < deadline) {
+      Thread.sleep(10);
+    }
+
+    assertEquals(0, dispatcher.runningCallsCount());
+  }
+
+  @Test public void scopedTokenReachesEveryCallStyle() throws Exception {
+    server.setDispatcher(new Dispatcher() {
+      @Override public MockResponse dispatch(RecordedRequest request) {
+        // Fails the first attempt of the async call, so its retry is made from the timer thread.
+        if (server.getRequestCount() == 1) {
+          return new MockResponse().setResponseCode(503);
+        }
+
+        String id = "\"" + request.getHeader("Authorization") + "\"";
+
+        return request.getPath().startsWith("/users?")
+            ? new MockResponse().setBody("{\"collection\":[{\"id\":" + id + "}]}")
+            : new MockResponse().setBody("{\"id\":" + id + "}");
+      }
+    });
+
+    SoundCloudAPI api = newBuilder()
+        .setToken("default")
+        .setRetries(new RetryCallAdapterFactory(new RetryPolicy.Builder()
+            .setBackoff(1, 1, TimeUnit.MILLISECONDS)
+            .build()))
+        .setCircuitBreakers(new CircuitBreakerCallAdapterFactory(
+            new CircuitBreakerPolicy.Builder().build()))
+        .build();
+
+    assertEquals("OAuth scoped",
+        api.getAsyncService("scoped").getUser("1").get(5, TimeUnit.SECONDS).id);
+    assertEquals("OAuth scoped", api.getBlockingService("scoped").getUser("1").id);
+
+    final BlockingQueue<Object> signals = new LinkedBlockingQueue<>();
+    api.getStreamService("scoped").searchUsers("q").subscribe(new Subscriber<User>() {
+      @Override public void onSubscribe(Subscription s) {
+        s.request(1);
+      }
+
+      @Override public void onNext(User user) {
+        signals.add(user.id);
+      }
+
+      @Override public void onError(Throwable t) {
+        signals.add(t);
+      }
+
+      @Override public void onComplete() {
+      }
+    });
+
+    assertEquals("OAuth scoped", signals.poll(5, TimeUnit.SECONDS));
+    assertEquals("OAuth default", api.getBlockingService().getUser("1").id);
+  }
+
+  @Test public void entityCacheIsKeptPerCredential() throws Exception {
+    server.setDispatcher(new Dispatcher() {
+      @Override public MockResponse dispatch(RecordedRequest request) {
+        return new MockResponse().setBody("{\"id\":\"1\",\"title\":\""
+            + request.getHeader("Authorization") + "\"}");
+      }
+    });
+
+    SoundCloudAPI api = newBuilder().setToken("default").setEntityCache(new EntityCache()).build();
+
+    assertEquals("OAuth a", api.getService("a").getTrack("1").execute().body().title);
+    assertEquals("OAuth a", api.getService("a").getTrack("1").execute().body().title);
+    assertEquals(1, server.getRequestCount());
+
+    assertEquals("OAuth b", api.getService("b").getTrack("1").execute().body().title);
+    assertEquals("OAuth default", api.getService().getTrack("1").execute().body().title);
+    assertEquals(3, server.getRequestCount());
+  }
+
+  @Test public void responseCacheAppliesTtlPerEndpoint() throws Exception {
+    HttpResponseCache cache = new HttpResponseCache(temporaryFolder.newFolder(), 1024 * 1024)
+        .setTtl("users/{id}", 1, TimeUnit.HOURS);
+    SoundCloudAPI api = newBuilder().setResponseCache(cache).build();
+
+    retrofit2.Response<User> first = api.getService().getUser("1").execute();
+    api.getService().getUser("1").execute();
+    assertEquals("max-age=3600", first.headers().get("Cache-Control"));
+    assertEquals(1, server.getRequestCount());
+
+    // Endpoints without a ttl aren't stored without cache headers.
+    api.getService().getTrack("1").execute();
+    api.getService().getTrack("1").execute();
+    assertEquals(3, server.getRequestCount());
+
+    assertEquals(1, cache.getHitCount());
+    assertEquals(3, cache.getMissCount());
+  }
+
+  @Test public void responseCacheKeepsUsersApart() throws Exception {
+    HttpResponseCache cache = new HttpResponseCache(temporaryFolder.newFolder(), 1024 * 1024)
+        .setTtl("users/{id}", 1, TimeUnit.HOURS);
+    SoundCloudAPI api = newBuilder().setResponseCache(cache).build();
+
+    retrofit2.Response<User> first = api.getService("a").getUser("1").execute();
+    assertEquals("Authorization", first.headers().get("Vary"));
+    assertEquals("OAuth a", api.getService("a").getUser("1").execute().body().id);
+    assertEquals(1, server.getRequestCount());
+
+    assertEquals("OAuth b", api.getService("b").getUser("1").execute().body().id);
+    assertEquals(2, server.getRequestCount());
+    assertEquals(1, cache.getHitCount());
+  }
+
+  @Test public void responseCacheCountsRevalidations() throws Exception {
+    final String body = "{\"id\":\"1\"}";
+    server.setDispatcher(new Dispatcher() {
+      @Override public MockResponse dispatch(RecordedRequest request) {
+        if ("\"v1\"".equals(request.getHeader("If-None-Match"))) {
+          return new MockResponse().setResponseCode(304);
+        }
+
+        return new MockResponse().setBody(body)
+            .setHeader("ETag", "\"v1\"")
+            .setHeader("Cache-Control", "no-cache");
+      }
+    });
+
+    HttpResponseCache cache = new HttpResponseCache(temporaryFolder.newFolder(), 1024 * 1024);
+    SoundCloudAPI api = newBuilder().setResponseCache(cache).build();
+
+    api.getService().getUser("1").execute();
+    assertEquals("1", api.getService().getUser("1").execute().body().id);
+
+    assertEquals(2, server.getRequestCount());
+    assertEquals(1, cache.getMissCount());
+    assertEquals(0, cache.getHitCount());
+    assertEquals(1, cache.getRevalidationCount());
+    assertEquals(1, cache.getNotModifiedCount());
+    assertEquals(body.length(), cache.getBytesSaved());
+  }
+
+  @Test public void rateLimiterWaitsForPermits() throws Exception {
+    RateLimiter limiter = new RateLimiter(10, 1);
+    SoundCloudAPI api = newBuilder().setRateLimiter(limiter).build();
+
+    // Permits are handed out in advance, so the request after the burst pays for it.
+    long start = System.nanoTime();
+    api.getService().getUser("1").execute();
+    api.getService().getUser("2").execute();
+    api.getService().getUser("3").execute();
+    long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+    assertEquals(1, limiter.getThrottledCount());
+    assertTrue("Waited " + elapsed + "ms", elapsed >= 80);
+  }
+
+  @Test public void rateLimiterFailsPastMaxWaitWithoutTakingPermits() throws Exception {
+    RateLimiter limiter = new RateLimiter(1000, 10)
+        .setFamilyLimit(RateLimiter.USERS, 1, 1)
+        .setMaxWait(10, TimeUnit.MILLISECONDS);
+    SoundCloudAPI api = newBuilder().setRateLimiter(limiter).build();
+
+    api.getService().getUser("1").execute();
+    api.getService().getUser("2").execute();
+
+    try {
+      api.getService().getUser("3").execute();
+      fail();
+    } catch (IOException expected) {
+      assertTrue(expected.getMessage().startsWith("Rate limited"));
+    }
+
+    assertEquals(2, server.getRequestCount());
+    assertTrue(limiter.getCurrentWaitMillis(RateLimiter.USERS) <= 1000);
+    assertEquals(0, limiter.getCurrentWaitMillis());
+    assertEquals(0, limiter.getThrottledCount());
+  }
+
+  @Test public void rateLimiterPausesOnlyTheRejectedFamily() throws Exception {
+    server.setDispatcher(new Dispatcher() {
+      @Override public MockResponse dispatch(RecordedRequest request) {
+        if (request.getPath().startsWith("/users")) {
+          return new MockResponse().setResponseCode(429).setHeader("Retry-After", "2");
+        }
+
+        return new MockResponse().setBody("{\"id\":\"1\"}");
+      }
+    });
+
+    RateLimiter limiter = new RateLimiter(1000, 10)
+        .setFamilyLimit(RateLimiter.USERS, 1000, 10)
+        .setMaxRetries(0);
+    SoundCloudAPI api = newBuilder().setRateLimiter(limiter).build();
+
+    assertEquals(429, api.getService().getUser("1").execute().code());
+    assertEquals(1, limiter.getRejectedCount());
+    assertTrue(limiter.getCurrentWaitMillis(RateLimiter.USERS) > 1000);
+    assertEquals(0, limiter.getCurrentWaitMillis(RateLimiter.TRACKS));
+
+    assertEquals("1", api.getService().getTrack("1").execute().body().id);
+    assertEquals(0, limiter.getThrottledCount());
+  }
+
+  @Test public void rateLimiterRetriesAfterRetryAfter() throws Exception {
+    server.setDispatcher(new Dispatcher() {
+      @Override public MockResponse dispatch(RecordedRequest request) {
+        if (server.getRequestCount() == 1) {
+          return new MockResponse().setResponseCode(429).setHeader("Retry-After", "1");
+        }
+
+        return new MockResponse().setBody("{\"id\":\"1\"}");
+      }
+    });
+
+    RateLimiter limiter = new RateLimiter(1000, 10);
+    SoundCloudAPI api = newBuilder().setRateLimiter(limiter).build();
+
+    long start = System.nanoTime();
+    retrofit2.Response<User> response = api.getService().getUser("1").execute();
+    long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+    assertEquals(200, response.code());
+    assertEquals(2, server.getRequestCount());
+    assertEquals(1, limiter.getRejectedCount());
+    assertEquals(1, limiter.getThrottledCount());
+    assertTrue("Waited " + elapsed + "ms", elapsed >= 900);
+  }
+
+  @Test public void rateLimiterServesFreshCacheHitsWithoutWaiting() throws Exception {
+    HttpResponseCache cache = new HttpResponseCache(temporaryFolder.newFolder(), 1024 * 1024)
+        .setTtl("users/{id}", 1, TimeUnit.HOURS);
+    RateLimiter limiter = new RateLimiter(1, 1);
+    SoundCloudAPI api = newBuilder().setResponseCache(cache).setRateLimiter(limiter).build();
+
+    // The second request reserves the next permit in advance, which leaves the bucket drained.
+    api.getService().getUser("1").execute();
+    api.getService().getUser("2").execute();
+    assertTrue(limiter.getCurrentWaitMillis() > 500);
+
+    long start = System.nanoTime();
+    assertEquals(200, api.getService().getUser("1").execute().code());
+    long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+    assertTrue("Waited " + elapsed + "ms", elapsed < 500);
+    assertEquals(2, server.getRequestCount());
+    assertEquals(0, limiter.getThrottledCount());
+    assertEquals(1, cache.getHitCount());
+  }
+
+  @Test public void retriesServerErrorsAndIOExceptions() throws Exception {
+    server.setDispatcher(new Dispatcher() {
+      @Override public MockResponse dispatch(RecordedRequest request) {
+        switch (server.getRequestCount()) {
+          case 1:
+            return new MockResponse().setResponseCode(503);
+          case 2:
+            return new MockResponse().setSocketPolicy(SocketPolicy.DISCONNECT_AT_START);
+          default:
+            return new MockResponse().setBody("{\"id\":\"1\"}");
+        }
+      }
+    });
+
+    RetryCallAdapterFactory retries = new RetryCallAdapterFactory(new RetryPolicy.Builder()
+        .setBackoff(1, 1, TimeUnit.MILLISECONDS)
+        .build());
+    SoundCloudAPI api = newBuilder().setRetries(retries).build();
+
+    assertEquals("1", api.getService().getUser("1").execute().body().id);
+    assertEquals(3, server.getRequestCount());
+    assertEquals(2, retries.getStats("getUser").retryCount);
+  }
+
+  @Test public void retriesStopWhenTheBudgetRunsOut() throws Exception {
+    server.setDispatcher(new Dispatcher() {
+      @Override public MockResponse dispatch(RecordedRequest request) {
+        return new MockResponse().setResponseCode(503);
+      }
+    });
+
+    RetryCallAdapterFactory retries = new RetryCallAdapterFactory(new RetryPolicy.Builder()
+        .setBackoff(1, 1, TimeUnit.MILLISECONDS)
+        .build(), new RetryBudget(0, 1));
+    SoundCloudAPI api = newBuilder().setRetries(retries).build();
+
+    assertEquals(503, api.getService().getUser("1").execute().code());
+    assertEquals(2, server.getRequestCount());
+
+    assertEquals(503, api.getService().getUser("1").execute().code());
+    assertEquals(3, server.getRequestCount());
+
+    RetryCallAdapterFactory.Stats stats = retries.getStats("getUser");
+    assertEquals(1, stats.retryCount);
+    assertEquals(2, stats.budgetExhaustedCount);
+    assertEquals(0, retries.getBudget().getAvailable());
+  }
+
+  @Test public void hedgeWinsOverASlowCall() throws Exception {
+    RetryCallAdapterFactory retries = newHedgingRetries();
+    SoundCloudAPI api = newBuilder().setRetries(retries).build();
+    warmUp(api);
+
+    server.setDispatcher(new Dispatcher() {
+      @Override public MockResponse dispatch(RecordedRequest request) {
+        MockResponse response = new MockResponse().setBody("{\"id\":\"1\"}");
+
+        // The first request stalls, so the hedge sent after it answers first.
+        return server.getRequestCount() == 21
+            ? response.setHeadersDelay(2, TimeUnit.SECONDS)
+            : response;
+      }
+    });
+
+    long start = System.nanoTime();
+    assertEquals("1", api.getService().getUser("1").execute().body().id);
+    long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+    RetryCallAdapterFactory.Stats stats = retries.getStats("getUser");
+    assertEquals(22, server.getRequestCount());
+    assertEquals(1, stats.hedgeCount);
+    assertEquals(1, stats.hedgeWinCount);
+    assertTrue("Took " + elapsed + "ms", elapsed < 1000);
+  }
+
+  @Test public void hedgeLosesToTheOriginalCall() throws Exception {
+    RetryCallAdapterFactory retries = newHedgingRetries();
+    SoundCloudAPI api = newBuilder().setRetries(retries).build();
+    warmUp(api);
+
+    server.setDispatcher(new Dispatcher() {
+      @Override public MockResponse dispatch(RecordedRequest request) {
+        MockResponse response = new MockResponse().setBody("{\"id\":\"1\"}");
+
+        // Both are slow enough to hedge, but the hedge is slower still.
+        return response.setHeadersDelay(server.getRequestCount() == 21 ? 300 : 2000,
+            TimeUnit.MILLISECONDS);
+      }
+    });
+
+    long start = System.nanoTime();
+    assertEquals("1", api.getService().getUser("1").execute().body().id);
+    long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+    RetryCallAdapterFactory.Stats stats = retries.getStats("getUser");
+    assertEquals(22, server.getRequestCount());
+    assertEquals(1, stats.hedgeCount);
+    assertEquals(0, stats.hedgeWinCount);
+    assertTrue("Took " + elapsed + "ms", elapsed < 1000);
+  }
+
+  private static RetryCallAdapterFactory newHedgingRetries() {
+    return new RetryCallAdapterFactory(new RetryPolicy.Builder()
+        .setHedging(0.5, 100, TimeUnit.MILLISECONDS)
+        .build());
+  }
+
+  /**
+   * Records enough fast calls for hedging to have a latency to compare against.
+   */
+  private static void warmUp(SoundCloudAPI api) throws IOException {
+    for (int i = 0; i < 20; i++) {
+      api.getService().getUser("1").execute();
+    }
+  }
+
+  @Test public void cancelingStopsAWaitingRetry() throws Exception {
+    server.setDispatcher(new Dispatcher() {
+      @Override public MockResponse dispatch(RecordedRequest request) {
+        return new MockResponse().setResponseCode(503);
+      }
+    });
+
+    RetryCallAdapterFactory retries = new RetryCallAdapterFactory(new RetryPolicy.Builder()
+        .setMaxAttempts(10)
+        .setBackoff(10, 10, TimeUnit.SECONDS)
+        .setMultiplier(1)
+        .build());
+    SoundCloudAPI api = newBuilder().setRetries(retries).build();
+
+    final retrofit2.Call<User> blocking = api.getService().getUser("1");
+    ScheduledExecutorService canceler = Executors.newSingleThreadScheduledExecutor();
+    canceler.schedule(new Runnable() {
+      @Override public void run() {
+        blocking.cancel();
+      }
+    }, 300, TimeUnit.MILLISECONDS);
+    canceler.shutdown();
+
+    long start = System.nanoTime();
+    try {
+      blocking.execute();
+      fail();
+    } catch (IOException expected) {
+      assertEquals("Canceled", expected.getMessage());
+    }
+    assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 2000);
+
+    final BlockingQueue<Throwable> failures = new LinkedBlockingQueue<>();
+    retrofit2.Call<User> async = api.getService().getUser("1");
+    async.enqueue(new retrofit2.Callback<User>() {
+      @Override public void onResponse(retrofit2.Call<User> call, retrofit2.Response<User> r) {
+        fail();
+      }
+
+      @Override public void onFailure(retrofit2.Call<User> call, Throwable t) {
+        failures.add(t);
+      }
+    });
+
+    Thread.sleep(300);
+    int requests = server.getRequestCount();
+    async.cancel();
+
+    assertEquals("Canceled", failures.poll(1, TimeUnit.SECONDS).getMessage());
+    Thread.sleep(200);
+    assertEquals(requests, server.getRequestCount());
+  }
+
+  @Test public void coalescesIdenticalCallsInFlight() throws Exception {
+    server.setDispatcher(new Dispatcher() {
+      @Override public MockResponse dispatch(RecordedRequest request) {
+        return new MockResponse().setBody("{\"id\":\"1\"}")
+            .setHeadersDelay(300, TimeUnit.MILLISECONDS);
+      }
+    });
+
+    SoundCloudAPI api = newBuilder().setRequestCoalescing(true).build();
+
+    BlockingQueue<Object> results = new LinkedBlockingQueue<>();
+    for (int i = 0; i < 3; i++) {
+      api.getService().getUser("1").enqueue(new QueueingCallback(results));
+    }
+
+    User blocking = api.getService().getUser("1").execute().body();
+
+    for (int i = 0; i < 3; i++) {
+      assertSame(blocking, results.poll(5, TimeUnit.SECONDS));
+    }
+    assertEquals(1, server.getRequestCount());
+  }
+
+  @Test public void cancelingOneCoalescedCallKeepsTheOthers() throws Exception {
+    server.setDispatcher(new Dispatcher() {
+      @Override public MockResponse dispatch(RecordedRequest request) {
+        return new MockResponse().setBody("{\"id\":\"1\"}")
+            .setHeadersDelay(300, TimeUnit.MILLISECONDS);
+      }
+    });
+
+    SoundCloudAPI api = newBuilder().setRequestCoalescing(true).build();
+
+    BlockingQueue<Object> canceled = new LinkedBlockingQueue<>();
+    BlockingQueue<Object> kept = new LinkedBlockingQueue<>();
+    retrofit2.Call<User> first = api.getService().getUser("1");
+    first.enqueue(new QueueingCallback(canceled));
+    api.getService().getUser("1").enqueue(new QueueingCallback(kept));
+
+    first.cancel();
+
+    assertEquals("Canceled", ((IOException) canceled.poll(5, TimeUnit.SECONDS)).getMessage());
+    assertEquals("1", ((User) kept.poll(5, TimeUnit.SECONDS)).id);
+    assertEquals(1, server.getRequestCount());
+  }
+
+  @Test public void cancelingEveryCoalescedCallCancelsTheSharedCall() throws Exception {
+    server.setDispatcher(new Dispatcher() {
+      @Override public MockResponse dispatch(RecordedRequest request) {
+        return new MockResponse().setBody("{\"id\":\"1\"}")
+            .setHeadersDelay(2, TimeUnit.SECONDS);
+      }
+    });
+
+    okhttp3.Dispatcher dispatcher = new okhttp3.Dispatcher();
+    SoundCloudAPI api = newBuilder().setDispatcher(dispatcher).setRequestCoalescing(true).build();
+
+    BlockingQueue<Object> results = new LinkedBlockingQueue<>();
+    retrofit2.Call<User> first = api.getService().getUser("1");
+    retrofit2.Call<User> second = api.getService().getUser("1");
+    first.enqueue(new QueueingCallback(results));
+    second.enqueue(new QueueingCallback(results));
+    server.takeRequest();
+
+    first.cancel();
+    assertEquals(1, dispatcher.runningCallsCount());
+
+    second.cancel();
+    assertTrue(results.poll(1, TimeUnit.SECONDS) instanceof IOException);
+    assertTrue(results.poll(1, TimeUnit.SECONDS) instanceof IOException);
+
+    awaitIdle(dispatcher);
+  }
+
+  @Test public void executedCoalescedCallsBypassTheDispatcher() throws Exception {
+    server.setDispatcher(new Dispatcher() {
+      @Override public MockResponse dispatch(RecordedRequest request) {
+        MockResponse response = new MockResponse().setBody("{\"id\":\"1\"}");
+
+        return request.getPath().startsWith("/users/slow")
+            ? response.setHeadersDelay(2, TimeUnit.SECONDS)
+            : response;
+      }
+    });
+
+    SoundCloudAPI api = newBuilder().setMaxRequestsPerHost(1).setRequestCoalescing(true).build();
+
+    // Takes the only slot the dispatcher has for the host.
+    retrofit2.Call<User> slow = api.getService().getUser("slow");
+    slow.enqueue(new QueueingCallback(new LinkedBlockingQueue<>()));
+    server.takeRequest();
+
+    long start = System.nanoTime();
+    assertEquals("1", api.getService().getUser("1").execute().body().id);
+    assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 1000);
+
+    slow.cancel();
+  }
+
+  @Test public void cancelingAnExecutedCoalescedCallReturnsWhileOthersWait() throws Exception {
+    server.setDispatcher(new Dispatcher() {
+      @Override public MockResponse dispatch(RecordedRequest request) {
+        return new MockResponse().setBody("{\"id\":\"1\"}")
+            .setHeadersDelay(2, TimeUnit.SECONDS);
+      }
+    });
+
+    final SoundCloudAPI api = newBuilder().setRequestCoalescing(true).build();
+
+    final BlockingQueue<Object> kept = new LinkedBlockingQueue<>();
+    final retrofit2.Call<User> leader = api.getService().getUser("1");
+    ExecutorService canceler = Executors.newSingleThreadExecutor();
+    canceler.submit(new Callable<Void>() {
+      @Override public Void call() throws Exception {
+        server.takeRequest();
+        api.getService().getUser("1").enqueue(new QueueingCallback(kept));
+        leader.cancel();
+        return null;
+      }
+    });
+    canceler.shutdown();
+
+    long start = System.nanoTime();
+    try {
+      leader.execute();
+      fail();
+    } catch (IOException expected) {
+      assertEquals("Canceled", expected.getMessage());
+    }
+    assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 1000);
+
+    assertEquals("1", ((User) kept.poll(5, TimeUnit.SECONDS)).id);
+    assertEquals(1, server.getRequestCount());
+  }
+
+  /**
+   * Adds the body, or the failure, of a call to a queue.
+   */
+  private static final class QueueingCallback implements retrofit2.Callback<User> {
+    private final BlockingQueue<Object> results;
+
+    QueueingCallback(BlockingQueue<Object> results) {
+      this.results = results;
+    }
+
+    @Override public void onResponse(retrofit2.Call<User> call, retrofit2.Response<User> response) {
+      results.add(response.body());
+    }
+
+    @Override public void onFailure(retrofit2.Call<User> call, Throwable t) {
+      results.add(t);
+    }
+  }
+
+  @Test public void circuitBreakerTripsProbesAndRecovers() throws Exception {
+    final AtomicReference<MockResponse> next = new AtomicReference<>(
+        new MockResponse().setResponseCode(500));
+    server.setDispatcher(new Dispatcher() {
+      @Override public MockResponse dispatch(RecordedRequest request) {
+        return next.get();
+      }
+    });
+
+    CircuitBreakerCallAdapterFactory breakers = new CircuitBreakerCallAdapterFactory(
+        new CircuitBreakerPolicy.Builder()
+            .setWindow(4, 4)
+            .setOpenDuration(200, TimeUnit.MILLISECONDS)
+            .setHalfOpenProbes(1)
+            .build());
+    SoundCloudAPI api = newBuilder().setCircuitBreakers(breakers).build();
+    CircuitBreaker breaker = breakers.getCircuitBreaker("getUser");
+
+    for (int i = 0; i < 4; i++) {
+      assertEquals(500, api.getService().getUser("1").execute().code());
+    }
+    assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+
+    try {
+      api.getService().getUser("1").execute();
+      fail();
+    } catch (CircuitBreakerOpenException expected) {
+      assertEquals(4, server.getRequestCount());
+    }
+
+    // A failed probe opens the breaker again.
+    Thread.sleep(250);
+    assertEquals(500, api.getService().getUser("1").execute().code());
+    assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+    assertEquals(2, breaker.getTripCount());
+
+    // Only one probe is let through at a time.
+    Thread.sleep(250);
+    next.set(new MockResponse().setBody("{\"id\":\"1\"}")
+        .setHeadersDelay(200, TimeUnit.MILLISECONDS));
+    BlockingQueue<Object> probe = new LinkedBlockingQueue<>();
+    api.getService().getUser("1").enqueue(new QueueingCallback(probe));
+    server.takeRequest();
+    assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+
+    try {
+      api.getService().getUser("1").execute();
+      fail();
+    } catch (CircuitBreakerOpenException expected) {
+    }
+
+    assertEquals("1", ((User) probe.poll(5, TimeUnit.SECONDS)).id);
+    assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    assertEquals(2, breaker.getRejectedCount());
+  }
+
+  @Test public void openCircuitBreakerUsesFallback() throws Exception {
+    server.setDispatcher(new Dispatcher() {
+      @Override public MockResponse dispatch(RecordedRequest request) {
+        return new MockResponse().setResponseCode(503);
+      }
+    });
+
+    final User cached = new User();
+    CircuitBreakerCallAdapterFactory breakers = new CircuitBreakerCallAdapterFactory(
+        new CircuitBreakerPolicy.Builder().setWindow(1, 1).build())
+        .setFallback("getUser", new CircuitBreakerCallAdapterFactory.Fallback() {
+          @Override public Object fallback(okhttp3.Request request) {
+            return cached;
+          }
+        });
+    SoundCloudAPI api = newBuilder().setCircuitBreakers(breakers).build();
+
+    assertEquals(503, api.getService().getUser("1").execute().code());
+
+    retrofit2.Call<User> call = api.getService().getUser("1");
+    assertSame(cached, call.execute().body());
+    assertEquals(1, server.getRequestCount());
+
+    try {
+      call.execute();
+      fail();
+    } catch (IllegalStateException expected) {
+    }
+
+    try {
+      call.enqueue(new QueueingCallback(new LinkedBlockingQueue<>()));
+      fail();
+    } catch (IllegalStateException expected) {
+    }
+  }
+
+  @Test public void prewarmSendsAnUnsignedHeadRequest() throws Exception {
+    SoundCloudAPI api = newBuilder().setToken("default").build();
+
+    api.prewarm();
+
+    RecordedRequest request = server.takeRequest(5, TimeUnit.SECONDS);
+    assertEquals("HEAD", request.getMethod());
+    assertEquals("/", request.getPath());
+    assertNull(request.getHeader("Authorization"));
+  }
+
+  @Test public void blockingFanOutKeepsOrderAndToken() throws Exception {
+    SoundCloudAPI api = newBuilder()
+        .setBlockingCalls(new BlockingCallAdapterFactory(2))
+        .build();
+    final SoundCloudBlockingService service = api.getBlockingService("scoped");
+
+    List<String> ids = FanOut.map(Arrays.asList("1", "2", "3", "4", "5"), 3,
+        new FanOut.Task<String, String>() {
+          @Override public String run(String id) throws IOException {
+            return service.getUser(id).id + " " + id;
+          }
+        });
+
+    assertEquals(Arrays.asList("OAuth scoped 1", "OAuth scoped 2", "OAuth scoped 3",
+        "OAuth scoped 4", "OAuth scoped 5"), ids);
+    assertEquals(5, server.getRequestCount());
+  }
+
+  @Test public void streamsPagesOnDemand() throws Exception {
+    server.setDispatcher(new Dispatcher() {
+      @Override public MockResponse dispatch(RecordedRequest request) {
+        if (request.getRequestUrl().queryParameter("cursor") == null) {
+          return new MockResponse().setBody("{\"collection\":[{\"id\":\"1\"},{\"id\":\"2\"}],"
+              + "\"next_href\":\"" + server.url("/me/followers?cursor=2") + "\"}");
+        }
+
+        return new MockResponse().setBody("{\"collection\":[{\"id\":\"3\"}],\"next_href\":null}");
+      }
+    });
+
+    SoundCloudAPI api = newBuilder().build();
+    final BlockingQueue<Object> signals = new LinkedBlockingQueue<>();
+    final AtomicReference<Subscription> subscription = new AtomicReference<>();
+
+    api.getStreamService("scoped").getMyFollowers().subscribe(new Subscriber<User>() {
+      @Override public void onSubscribe(Subscription s) {
+        subscription.set(s);
+      }
+
+      @Override public void onNext(User user) {
+        signals.add(user.id);
+      }
+
+      @Override public void onError(Throwable t) {
+        signals.add(t);
+      }
+
+      @Override public void onComplete() {
+        signals.add("complete");
+      }
+    });
+
+    subscription.get().request(2);
+    assertEquals("1", signals.poll(5, TimeUnit.SECONDS));
+    assertEquals("2", signals.poll(5, TimeUnit.SECONDS));
+    assertEquals(1, server.getRequestCount());
+
+    subscription.get().request(2);
+    assertEquals("3", signals.poll(5, TimeUnit.SECONDS));
+    assertEquals("complete", signals.poll(5, TimeUnit.SECONDS));
+
+    RecordedRequest first = server.takeRequest();
+    assertEquals("/me/followers?linked_partitioning=1&limit=200&client_id=client",
+        first.getPath());
+    assertEquals("OAuth scoped", server.takeRequest().getHeader("Authorization"));
+  }
+
+  @Test public void refusesNextPagesOnAnotherOrigin() throws Exception {
+    final AtomicReference<String> next = new AtomicReference<>();
+    server.setDispatcher(new Dispatcher() {
+      @Override public MockResponse dispatch(RecordedRequest request) {
+        return new MockResponse().setBody(
+            "{\"collection\":[{\"id\":\"1\"}],\"next_href\":\"" + next.get() + "\"}");
+      }
+    });
+
+    SoundCloudAPI api = newBuilder().build();
+    String otherPort = server.url("/me/followers?cursor=2").newBuilder()
+        .port(server.getPort() + 1)
+        .build()
+        .toString();
+    String otherScheme = server.url("/me/followers?cursor=2").toString()
+        .replaceFirst("^http:", "https:");
+
+    for (String href : Arrays.asList(otherPort, otherScheme)) {
+      next.set(href);
+      final BlockingQueue<Object> signals = new LinkedBlockingQueue<>();
+
+      api.getStreamService("scoped").getMyFollowers().subscribe(new Subscriber<User>() {
+        @Override public void onSubscribe(Subscription s) {
+          s.request(2);
+        }
+
+        @Override public void onNext(User user) {
+          signals.add(user.id);
+        }
+
+        @Override public void onError(Throwable t) {
+          signals.add(t);
+        }
+
+        @Override public void onComplete() {
+          signals.add("complete");
+        }
+      });
+
+      assertEquals("1", signals.poll(5, TimeUnit.SECONDS));
+      Throwable error = (Throwable) signals.poll(5, TimeUnit.SECONDS);
+      assertEquals("Unexpected next_href: " + href, error.getMessage());
+    }
+
+    assertEquals(2, server.getRequestCount());
+  }
+
+  @Test public void readsItemsOneAtATime() throws Exception {
+    server.setDispatcher(new Dispatcher() {
+      @Override public MockResponse dispatch(RecordedRequest request) {
+        if (request.getPath().startsWith("/tracks")) {
+          return new MockResponse().setBody("[{\"id\":\"1\"},{\"id\":\"2\"},{\"id\":\"3\"}]");
+        }
+
+        return new MockResponse().setBody("{\"next_href\":null,"
+            + "\"collection\":[{\"id\":\"4\"},{\"id\":\"5\"}]}");
+      }
+    });
+
+    SoundCloudReaderService service = newBuilder().build().getReaderService();
+
+    final List<String> ids = new ArrayList<>();
+    ItemReader<Track> tracks = service.searchTracks("query").execute().body();
+    int count = tracks.forEach(new ItemReader.Callback<Track>() {
+      @Override public void onItem(Track track) {
+        ids.add(track.id);
+      }
+    });
+
+    assertEquals(3, count);
+    assertEquals(Arrays.asList("1", "2", "3"), ids);
+
+    ItemReader<User> followers = service.getMyFollowers().execute().body();
+    assertTrue(followers.hasNext());
+    assertEquals("4", followers.next().id);
+    followers.close();
+    assertFalse(followers.hasNext());
+  }
+
+  @Test public void projectionSkipsOtherFields() throws Exception {
+    server.setDispatcher(new Dispatcher() {
+      @Override public MockResponse dispatch(RecordedRequest request) {
+        return new MockResponse().setBody("[{\"id\":1,\"title\":\"a\",\"description\":\"d\","
+            + "\"duration\":1000,\"user\":{\"id\":2,\"username\":\"u\"}}]");
+      }
+    });
+
+    SoundCloudAPI api = newBuilder().build();
+    Projection projection = new Projection.Builder()
+        .include(Track.class, "id", "title", "duration", "user")
+        .include(MiniUser.class, "username")
+        .build();
+
+    Track track = api.getService(projection).searchTracks("query").execute().body().get(0);
+
+    assertEquals("1", track.id);
+    assertEquals("a", track.title);
+    assertEquals(1000, track.getDuration());
+    assertNull(track.description);
+    assertNull(track.user.id);
+    assertEquals("u", track.user.username);
+
+    ItemReader<Track> reader = api.getReaderService(projection).searchTracks("query")
+        .execute().body();
+    assertNull(reader.next().description);
+    reader.close();
+
+    assertNotNull(api.getService().searchTracks("query").execute().body().get(0).description);
+  }
+
+  @Test public void projectionIsCheckedWhenBuilt() throws Exception {
+    Projection.Builder unknownField = new Projection.Builder()
+        .include(Track.class, "id", "titel");
+    try {
+      unknownField.build();
+      fail();
+    } catch (IllegalArgumentException expected) {
+      assertEquals("Track has no field \"titel\"", expected.getMessage());
+    }
+
+    Projection.Builder unknownModel = new Projection.Builder()
+        .include(AuthenticationResponse.class, "access_token")
+        .include(Object.class, "id");
+    try {
+      unknownModel.build();
+      fail();
+    } catch (IllegalArgumentException expected) {
+      assertEquals("java.lang.Object can't be projected", expected.getMessage());
+    }
+  }
+
+  @Test public void recordsMetricsPerMethod() throws Exception {
+    InMemoryMetricsRegistry metrics = new InMemoryMetricsRegistry();
+    SoundCloudAPI api = newBuilder().setToken("default").setMetricsRegistry(metrics).build();
+
+    api.getService().getUser("1").execute();
+    api.getService().getUser("2").execute();
+    api.getService().getMe().execute();
+
+    String body = "{\"id\":\"OAuth default\"}";
+
+    assertEquals(2, metrics.getSnapshot("getUser", MetricsRegistry.LATENCY).count);
+    assertEquals(2, metrics.getSnapshot("getUser", MetricsRegistry.PARSE_TIME).count);
+    assertEquals(body.length(),
+        metrics.getSnapshot("getUser", MetricsRegistry.DECOMPRESSED_BYTES).max);
+    assertEquals(body.length(),
+        metrics.getSnapshot("getUser", MetricsRegistry.COMPRESSED_BYTES).max);
+    assertEquals(Long.valueOf(1), metrics.getStatusCounts("getMe").get(200));
+    assertTrue(metrics.getMethods().contains("getMe"));
+
+    assertEquals(1, metrics.getCount("getUser", MetricsEventListener.NEW_CONNECTION));
+    assertEquals(1, metrics.getCount("getUser", MetricsEventListener.POOLED_CONNECTION));
+    assertEquals(1, metrics.getCount("getMe", MetricsEventListener.POOLED_CONNECTION));
+    assertEquals(1, metrics.getSnapshot("getUser", MetricsEventListener.CONNECT).count);
+    assertEquals(2, metrics.getSnapshot("getUser", MetricsEventListener.TIME_TO_FIRST_BYTE).count);
+  }
+
+  @Test public void mapsOnParsingThreadAndDeliversOnCallbackExecutor() throws Exception {
+    final ExecutorService callbackThread = Executors.newSingleThreadExecutor();
+    final AtomicReference<Thread> deliveredOn = new AtomicReference<>();
+    final AtomicReference<Thread> mappedOn = new AtomicReference<>();
+    final AtomicReference<String> result = new AtomicReference<>();
+    final CountDownLatch latch = new CountDownLatch(1);
+
+    SoundCloudAPI api = newBuilder()
+        .setToken("default")
+        .setCallbackExecutor(new Executor() {
+          @Override public void execute(Runnable command) {
+            callbackThread.execute(command);
+          }
+        })
+        .setParsingExecutor(Executors.newCachedThreadPool())
+        .build();
+
+    api.enqueue(api.getService().getMe(), new SoundCloudAPI.Mapper<User, String>() {
+      @Override public String map(User body) {
+        mappedOn.set(Thread.currentThread());
+        return body.id.toUpperCase();
+      }
+    }, new SoundCloudAPI.ResultCallback<String>() {
+      @Override public void onResult(String mapped) {
+        deliveredOn.set(Thread.currentThread());
+        result.set(mapped);
+        latch.countDown();
+      }
+
+      @Override public void onFailure(Throwable t) {
+        latch.countDown();
+      }
+    });
+
+    try {
+      assertTrue(latch.await(5, TimeUnit.SECONDS));
+      assertEquals("OAUTH DEFAULT", result.get());
+      assertTrue(mappedOn.get() != deliveredOn.get());
+      assertEquals(callbackThread.submit(new Callable<Thread>() {
+        @Override public Thread call() {
+          return Thread.currentThread();
+        }
+      }).get(), deliveredOn.get());
+    } finally {
+      callbackThread.shutdown();
+    }
+  }
+
+  @Test public void concurrentCallsUseTheirOwnTokens() throws Exception {
+    final SoundCloudAPI api = newBuilder().setToken("default").build();
+    ExecutorService executor = Executors.newFixedThreadPool(16);
+
+    try {
+      List<Future<String>> results = new ArrayList<>();
+
+      for (int i = 0; i < 200; i++) {
+        final String token = "user-" + i;
+
+        results.add(executor.submit(new Callable<String>() {
+          @Override public String call() throws Exception {
+            // Mix scoped and default calls so they race on the same threads.
+            api.getService().getMe().execute();
+
+            return api.getService(token).getMe().execute().body().id;
+          }
+        }));
+      }
+
+      for (int i = 0; i < results.size(); i++) {
+        assertEquals("OAuth user-" + i, results.get(i).get());
+      }
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  @Test public void tokenChangesAreVisibleToOtherThreads() throws Exception {
+    final SoundCloudAPI api = newBuilder().setToken("first").build();
+    api.setToken("second");
+
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+
+    try {
+      String id = executor.submit(new Callable<String>() {
+        @Override public String call() throws Exception {
+          return api.getService().getMe().execute().body().id;
+        }
+      }).get();
+
+      assertEquals("OAuth second", id);
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  @Test public void modelAdaptersMatchReflection() throws Exception {
+    Gson reflective = new GsonBuilder()
+        .setFieldNamingPolicy(FieldNamingPolicy.LOWER_CASE_WITH_UNDERSCORES)
+        .create();
+    Gson generated = SoundCloudGson.create();
+
+    Class<?>[] models = {Track.class, Tracks.class, MiniUser.class, User.class, Users.class,
+        Playlist.class, Playlists.class, Comment.class, Comments.class, Group.class, Groups.class,
+        Connection.class, Connections.class, CreatorApp.class, SecretToken.class,
+        WebProfiles.class, Pager.class, AuthenticationResponse.class};
+
+    for (Class<?> model : models) {
+      String json = sampleJson(model, 0);
+      String expected = reflective.toJson(reflective.fromJson(json, model));
+      Object actual = generated.fromJson(json, model);
+
+      assertEquals(model.getSimpleName(), expected, reflective.toJson(actual));
+      assertEquals(model.getSimpleName(), expected, generated.toJson(actual));
+    }
+  }
+
+  @Test public void numericFieldsAreParsedOnce() throws Exception {
+    Gson gson = SoundCloudGson.create();
+
+    Track track = gson.fromJson("{\"duration\":409560,\"bpm\":\"120.5\","
+        + "\"playback_count\":12345678901,\"comment_count\":null}", Track.class);
+
+    assertEquals(409560, track.getDuration());
+    assertEquals(120.5, track.getBpm(), 0);
+    assertEquals(12345678901L, track.getPlaybackCount());
+    assertEquals(-1, track.getCommentCount());
+    assertFalse(track.hasCommentCount());
+    assertEquals("409560", track.duration);
+
+    // A real -1 is told apart from a missing value.
+    track.setDuration("-1");
+    assertEquals(-1, track.getDuration());
+    assertTrue(track.hasDuration());
+
+    // Fields assigned before the first call to their getter are parsed by it.
+    User user = new User();
+    user.followers_count = "oops";
+    assertEquals(-1, user.getFollowersCount());
+    assertFalse(user.hasFollowersCount());
+    user.setFollowersCount("7");
+    assertEquals(7, user.getFollowersCount());
+    assertTrue(user.hasFollowersCount());
+  }
+
+  @Test public void lowCardinalityFieldsShareInstances() throws Exception {
+    Gson gson = SoundCloudGson.create();
+    String json = "[{\"genre\":\"Ambient\",\"license\":\"cc-by\",\"title\":\"a\"},"
+        + "{\"genre\":\"Ambient\",\"license\":\"cc-by\",\"title\":\"a\"}]";
+
+    Track[] tracks = gson.fromJson(json, Track[].class);
+    Track first = tracks[0];
+    Track second = tracks[1];
+
+    assertSame(first.genre, second.genre);
+    assertSame(first.license, second.license);
+    assertNotSame(first.title, second.title);
+  }
+
+  /**
+   * Sets every field of a model, with strings given as strings, numbers and nulls, and adds a
+   * field the model doesn't have.
+   */
+  private static String sampleJson(Class<?> type, int depth) {
+    StringBuilder json = new StringBuilder("{\"unknown\":{\"skipped\":[1,true]}");
+    int i = 0;
+
+    for (Field field : type.getFields()) {
+      if (Modifier.isStatic(field.getModifiers())) {
+        continue;
+      }
+
+      SerializedName name = field.getAnnotation(SerializedName.class);
+      json.append(",\"").append(name != null ? name.value() : field.getName()).append("\":");
+
+      Class<?> fieldType = field.getType();
+      if (fieldType == String.class) {
+        i++;
+        json.append(i % 3 == 0 ? "null" : i % 3 == 1 ? "\"" + field.getName() + "\"" : i);
+      } else if (fieldType == boolean.class) {
+        json.append(true);
+      } else if (fieldType == List.class) {
+        Type item = ((ParameterizedType) field.getGenericType()).getActualTypeArguments()[0];
+        json.append(item instanceof Class && depth < 2
+            ? "[" + sampleJson((Class<?>) item, depth + 1) + "]"
+            : "[]");
+      } else {
+        json.append(depth < 2 ? sampleJson(fieldType, depth + 1) : "null");
+      }
+    }
+
+    return json.append('}').toString();
+  }
+}
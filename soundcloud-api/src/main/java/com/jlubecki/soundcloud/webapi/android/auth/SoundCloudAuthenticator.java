@@ -29,6 +29,9 @@ import android.net.Uri;
 import android.os.Build;
 import com.jlubecki.soundcloud.webapi.android.SoundCloudAPI;
 import com.jlubecki.soundcloud.webapi.android.auth.models.AuthenticationResponse;
+import com.jlubecki.soundcloud.webapi.android.http.Prewarmer;
+import com.jlubecki.soundcloud.webapi.android.http.SharedClient;
+import com.jlubecki.soundcloud.webapi.android.json.SoundCloudGson;
 import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
@@ -50,6 +53,8 @@ import retrofit2.http.POST;
 public abstract class SoundCloudAuthenticator {
 
   private AuthService service;
+  private OkHttpClient client;
+  private OkHttpClient baseClient;
 
   private static final String RESPONSE_TYPE = "code";
   private static final String SCOPE = "non-expiring";
@@ -165,6 +170,22 @@ public abstract class SoundCloudAuthenticator {
     @POST("oauth2/token") Call<AuthenticationResponse> authorize(@FieldMap Map<String, String> authMap);
   }
 
+  /**
+   * Makes the {@link AuthService} share the connection pool, dispatcher, timeouts and TLS
+   * configuration of a client, typically {@link SoundCloudAPI#getHttpClient()}, so the token
+   * exchange and the API calls that follow it use the same connection. None of the client's
+   * interceptors are used, so API credentials never reach the token endpoint and vice versa.
+   *
+   * Without a client, the auth service shares the same default connection pool as every
+   * {@link SoundCloudAPI} that wasn't given a client of its own.
+   *
+   * @param client The client whose transport should be shared.
+   */
+  public final void setHttpClient(OkHttpClient client) {
+    this.baseClient = client;
+    this.service = null;
+  }
+
   /**
    * Gets the Auth Service so a user can call
    * {@link AuthService#authorize(Map)}.
@@ -173,14 +194,16 @@ public abstract class SoundCloudAuthenticator {
    */
   public final AuthService getAuthService() {
     if (service == null) {
-      OkHttpClient client = new OkHttpClient.Builder()
+      OkHttpClient base = baseClient != null ? baseClient : SharedClient.get();
+
+      client = SharedClient.newIsolatedBuilder(base)
           .addInterceptor(new AuthInterceptor())
           .build();
 
       Retrofit adapter = new Retrofit.Builder()
           .client(client)
           .baseUrl(SoundCloudAPI.SOUNDCLOUD_API_ENDPOINT)
-          .addConverterFactory(GsonConverterFactory.create())
+          .addConverterFactory(GsonConverterFactory.create(SoundCloudGson.create()))
           .build();
 
       service = adapter.create(AuthService.class);
@@ -189,6 +212,17 @@ public abstract class SoundCloudAuthenticator {
     return service;
   }
 
+  /**
+   * Resolves the host of the {@link AuthService} and opens a connection to it in the background,
+   * so exchanging a code for a token doesn't wait for DNS, TCP and TLS. Best called when the
+   * authentication flow is launched.
+   */
+  public final void prewarm() {
+    getAuthService();
+
+    Prewarmer.prewarm(client, HttpUrl.parse(SoundCloudAPI.SOUNDCLOUD_API_ENDPOINT));
+  }
+
   protected class AuthInterceptor implements Interceptor {
     @Override public Response intercept(Chain chain) throws IOException {
 